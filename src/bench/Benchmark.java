@@ -0,0 +1,48 @@
+package bench;
+
+/**
+ * A single benchmark run by {@link BenchmarkRunner}. Each call to {@link #run()} is one operation; its return
+ * value is consumed by the runner so the JIT can't remove the work being measured.
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public abstract class Benchmark {
+
+    //Declares class fields
+    private final String name;
+
+    /**
+     * Initializes benchmark
+     * @param name unique name of the benchmark, used as its key in baseline files
+     */
+    protected Benchmark(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Prepares state before the benchmark is warmed up, not measured
+     */
+    public void setUp() {
+    }
+
+    /**
+     * Runs one operation
+     * @return returns any value derived from the work done
+     */
+    public abstract long run();
+
+    /**
+     * Releases state after the benchmark has been measured
+     */
+    public void tearDown() {
+    }
+
+    /**
+     * Gets the name of the benchmark
+     * @return returns the name of the benchmark
+     */
+    public String getName() {
+        return name;
+    }
+}
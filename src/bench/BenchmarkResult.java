@@ -0,0 +1,50 @@
+package bench;
+
+/**
+ * Measurements of one benchmark.
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class BenchmarkResult {
+
+    //Declares class fields
+    public final String name;
+    public final double opsPerSecond;
+    public final double opsPerSecondError;
+    public final double bytesPerOp;
+    public final double allocationMBPerSecond;
+    public final long gcCount;
+    public final long gcMillis;
+
+    /**
+     * Initializes result
+     * @param name name of the benchmark
+     * @param opsPerSecond mean throughput across measurement iterations
+     * @param opsPerSecondError standard deviation of throughput across measurement iterations
+     * @param bytesPerOp heap allocated per operation
+     * @param allocationMBPerSecond heap allocation rate while measuring
+     * @param gcCount number of collections while measuring
+     * @param gcMillis time spent collecting while measuring
+     */
+    public BenchmarkResult(String name, double opsPerSecond, double opsPerSecondError, double bytesPerOp,
+                           double allocationMBPerSecond, long gcCount, long gcMillis) {
+        this.name = name;
+        this.opsPerSecond = opsPerSecond;
+        this.opsPerSecondError = opsPerSecondError;
+        this.bytesPerOp = bytesPerOp;
+        this.allocationMBPerSecond = allocationMBPerSecond;
+        this.gcCount = gcCount;
+        this.gcMillis = gcMillis;
+    }
+
+    /**
+     * Formats the result as a report line
+     * @return returns the result as a single line
+     */
+    @Override
+    public String toString() {
+        return String.format("%-40s %14.1f +- %-10.1f ops/s %10.1f B/op %9.1f MB/s  gc %d (%d ms)",
+                name, opsPerSecond, opsPerSecondError, bytesPerOp, allocationMBPerSecond, gcCount, gcMillis);
+    }
+}
@@ -0,0 +1,267 @@
+package bench;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Runs benchmarks with warmup and timed measurement iterations, and reports throughput, allocation per
+ * operation (from the thread's allocated-bytes counter) and garbage collections. Results can be saved as a
+ * baseline and later runs compared against it, so regressions show up as a drop against the baseline.
+ *
+ * <p>Usage: {@code java bench.BenchmarkRunner [filter] [--save file] [--compare file] [--threshold percent]
+ * [--quick]}</p>
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class BenchmarkRunner {
+
+    //Declares class fields
+    private final long warmupMillis;
+    private final int iterations;
+    private final long iterationMillis;
+    // Values returned by benchmarks are folded in here so their work can't be optimised away.
+    private long sink;
+
+    /**
+     * Initializes runner
+     * @param warmupMillis time each benchmark runs before measuring
+     * @param iterations number of measurement iterations
+     * @param iterationMillis length of each measurement iteration
+     */
+    public BenchmarkRunner(long warmupMillis, int iterations, long iterationMillis) {
+        this.warmupMillis = warmupMillis;
+        this.iterations = iterations;
+        this.iterationMillis = iterationMillis;
+    }
+
+    /**
+     * Warms up and measures a benchmark
+     * @param benchmark benchmark to measure
+     * @return returns the measurements
+     */
+    public BenchmarkResult measure(Benchmark benchmark) {
+        benchmark.setUp();
+
+        try {
+            runFor(benchmark, warmupMillis * 1_000_000);
+
+            com.sun.management.ThreadMXBean threads = allocationCounter();
+            long threadId = Thread.currentThread().getId();
+            long allocatedBefore = threads != null ? threads.getThreadAllocatedBytes(threadId) : 0;
+            long[] gcBefore = gcTotals();
+
+            double[] rates = new double[iterations];
+            long totalOps = 0;
+            long totalNanos = 0;
+
+            for (int i = 0; i < iterations; i++) {
+                long start = System.nanoTime();
+                long ops = runFor(benchmark, iterationMillis * 1_000_000);
+                long nanos = System.nanoTime() - start;
+                rates[i] = ops / (nanos / 1e9);
+                totalOps += ops;
+                totalNanos += nanos;
+            }
+
+            long allocated = threads != null ? threads.getThreadAllocatedBytes(threadId) - allocatedBefore : -1;
+            long[] gcAfter = gcTotals();
+
+            double mean = 0;
+            for (double rate : rates) mean += rate;
+            mean /= iterations;
+
+            double variance = 0;
+            for (double rate : rates) variance += (rate - mean) * (rate - mean);
+            double error = iterations > 1 ? Math.sqrt(variance / (iterations - 1)) : 0;
+
+            double bytesPerOp = allocated < 0 ? Double.NaN : (double) allocated / totalOps;
+            double allocationRate = allocated < 0 ? Double.NaN : allocated / (totalNanos / 1e9) / (1024 * 1024);
+
+            return new BenchmarkResult(benchmark.getName(), mean, error, bytesPerOp, allocationRate,
+                    gcAfter[0] - gcBefore[0], gcAfter[1] - gcBefore[1]);
+        } finally {
+            benchmark.tearDown();
+        }
+    }
+
+    /**
+     * Runs a benchmark repeatedly for a length of time, checking the clock in growing batches
+     * @param benchmark benchmark to run
+     * @param nanos time to run for
+     * @return returns the number of operations run
+     */
+    private long runFor(Benchmark benchmark, long nanos) {
+        long end = System.nanoTime() + nanos;
+        long ops = 0;
+        int batch = 1;
+
+        while (System.nanoTime() < end) {
+            for (int i = 0; i < batch; i++) {
+                sink += benchmark.run();
+            }
+            ops += batch;
+            if (batch < 1024) batch *= 2;
+        }
+
+        return ops;
+    }
+
+    /**
+     * Gets the HotSpot thread bean if it can count allocated bytes
+     * @return returns the thread bean, or null if allocation can't be measured on this JVM
+     */
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            if (bean.isThreadAllocatedMemorySupported()) {
+                bean.setThreadAllocatedMemoryEnabled(true);
+                return bean;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the total number of collections and collection time across all collectors
+     * @return returns collection count and milliseconds
+     */
+    private static long[] gcTotals() {
+        long count = 0;
+        long millis = 0;
+
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+
+        return new long[]{count, millis};
+    }
+
+    /**
+     * Saves throughput of results as a baseline file
+     * @param results results to save
+     * @param file file to write
+     * @throws IOException if the file can't be written
+     */
+    public static void saveBaseline(List<BenchmarkResult> results, Path file) throws IOException {
+        Properties baseline = new Properties();
+
+        for (BenchmarkResult result : results) {
+            baseline.setProperty(result.name + ".opsPerSecond", Double.toString(result.opsPerSecond));
+            baseline.setProperty(result.name + ".bytesPerOp", Double.toString(result.bytesPerOp));
+        }
+
+        try (Writer out = Files.newBufferedWriter(file)) {
+            baseline.store(out, "Benchmark baseline");
+        }
+    }
+
+    /**
+     * Compares results against a baseline file and prints the change for each benchmark
+     * @param results results to compare
+     * @param file baseline file to compare against
+     * @param thresholdPercent drop in throughput, or rise in allocation, counted as a regression
+     * @return returns the number of regressions found
+     * @throws IOException if the file can't be read
+     */
+    public static int compareToBaseline(List<BenchmarkResult> results, Path file, double thresholdPercent) throws IOException {
+        Properties baseline = new Properties();
+        try (Reader in = Files.newBufferedReader(file)) {
+            baseline.load(in);
+        }
+
+        int regressions = 0;
+        System.out.println();
+        System.out.println("Compared to " + file + ":");
+
+        for (BenchmarkResult result : results) {
+            String ops = baseline.getProperty(result.name + ".opsPerSecond");
+            if (ops == null) {
+                System.out.printf("%-40s no baseline%n", result.name);
+                continue;
+            }
+
+            double change = 100 * (result.opsPerSecond / Double.parseDouble(ops) - 1);
+            double baseBytes = Double.parseDouble(baseline.getProperty(result.name + ".bytesPerOp", "NaN"));
+            boolean allocationRegressed = result.bytesPerOp > baseBytes * (1 + thresholdPercent / 100) + 8;
+            boolean regressed = change < -thresholdPercent || allocationRegressed;
+
+            if (regressed) regressions++;
+            System.out.printf("%-40s %+7.1f%% ops/s  %8.1f -> %8.1f B/op %s%n",
+                    result.name, change, baseBytes, result.bytesPerOp, regressed ? "REGRESSION" : "");
+        }
+
+        return regressions;
+    }
+
+    /**
+     * Runs the benchmark suite from the command line
+     *
+     * @param args optional name filter, --save file, --compare file, --threshold percent and --quick
+     * @throws IOException if a baseline file can't be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        // Rendering benchmarks draw into off-screen images, so no display is needed
+        if (System.getProperty("java.awt.headless") == null) {
+            System.setProperty("java.awt.headless", "true");
+        }
+
+        String filter = "";
+        Path save = null;
+        Path compare = null;
+        double threshold = 10;
+        boolean quick = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--save":
+                    save = Paths.get(args[++i]);
+                    break;
+                case "--compare":
+                    compare = Paths.get(args[++i]);
+                    break;
+                case "--threshold":
+                    threshold = Double.parseDouble(args[++i]);
+                    break;
+                case "--quick":
+                    quick = true;
+                    break;
+                default:
+                    filter = args[i];
+            }
+        }
+
+        BenchmarkRunner runner = quick ? new BenchmarkRunner(200, 3, 200) : new BenchmarkRunner(2000, 5, 1000);
+        List<BenchmarkResult> results = new ArrayList<>();
+
+        for (Benchmark benchmark : Benchmarks.all()) {
+            if (!benchmark.getName().contains(filter)) continue;
+
+            BenchmarkResult result = runner.measure(benchmark);
+            results.add(result);
+            System.out.println(result);
+        }
+
+        if (save != null) {
+            saveBaseline(results, save);
+            System.out.println("Saved baseline to " + save);
+        }
+
+        if (compare != null && compareToBaseline(results, compare, threshold) > 0) {
+            System.exit(1);
+        }
+
+        // Keeps the sink reachable so the JIT has to keep benchmark results
+        if (runner.sink == 42) System.out.println();
+    }
+}
@@ -0,0 +1,434 @@
+package bench;
+
+import game.Game;
+import game.Phrase;
+import game.PhraseCorpus;
+import game.PhraseSolver;
+import game.Player;
+import game.SpinDistribution;
+import game.Wheel;
+import ui.ConfettiSystem;
+import ui.GameCard;
+import ui.GameFrame;
+import ui.UIPanel;
+import ui.WheelPanel;
+import ui.WheelRenderer;
+import ui.WheelSpriteCache;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The benchmark suite covering the game logic and rendering hot paths.
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public final class Benchmarks {
+
+    //Declares class fields
+    private static final String LETTERS = "ETAOINSHRDLCUMWFGYPBVKJXQZ";
+    private static final String PHRASE = "CLINICALLY PROVEN";
+    private static final long SEED = 1234;
+    // Number of generated phrases the solver benchmark searches.
+    private static final int SOLVER_CORPUS_SIZE = 200_000;
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Builds every benchmark in the suite
+     * @return returns the benchmarks, in the order they should run
+     */
+    public static List<Benchmark> all() {
+        List<Benchmark> benchmarks = new ArrayList<>();
+
+        benchmarks.add(new Benchmark("phrase.matchLetter") {
+            private final Phrase phrase = new Phrase(new Random(SEED));
+            private int next;
+
+            @Override
+            public void setUp() {
+                phrase.setPhrase(PHRASE);
+            }
+
+            @Override
+            public long run() {
+                // Starts the phrase again once every letter has been guessed
+                if (next == LETTERS.length()) {
+                    phrase.setPhrase(PHRASE);
+                    next = 0;
+                }
+                return phrase.matchLetter(LETTERS.charAt(next++));
+            }
+        });
+
+        benchmarks.add(new Benchmark("phrase.getNumOfMissingLetters") {
+            private final Phrase phrase = new Phrase(new Random(SEED));
+
+            @Override
+            public void setUp() {
+                phrase.setPhrase(PHRASE);
+                phrase.matchLetter('L');
+            }
+
+            @Override
+            public long run() {
+                return phrase.getNumOfMissingLetters();
+            }
+        });
+
+        benchmarks.add(new Benchmark("phrase.getCurrentPhrase") {
+            private final Phrase phrase = new Phrase(new Random(SEED));
+            private int next;
+
+            @Override
+            public void setUp() {
+                phrase.setPhrase(PHRASE);
+            }
+
+            @Override
+            public long run() {
+                if (next == LETTERS.length()) {
+                    phrase.setPhrase(PHRASE);
+                    next = 0;
+                }
+                phrase.matchLetter(LETTERS.charAt(next++));
+                return phrase.getCurrentPhrase().length();
+            }
+        });
+
+        benchmarks.add(new Benchmark("game.guessLetter") {
+            private final Game game = new Game(SEED);
+            private int next;
+
+            @Override
+            public void setUp() {
+                for (int i = 0; i < 3; i++) {
+                    game.addPlayer(new Player("Player " + (i + 1)));
+                }
+                game.newGame(SEED);
+            }
+
+            @Override
+            public long run() {
+                // A finished game includes the winner lookup, then a new game starts
+                if (game.getWinner() != null || next == LETTERS.length()) {
+                    game.newGame(SEED);
+                    next = 0;
+                }
+                return game.guessLetter(LETTERS.charAt(next++)).lettersFound;
+            }
+        });
+
+        benchmarks.add(new Benchmark("wheel.spinTickByTick") {
+            private final Wheel wheel = new Wheel(new Random(SEED));
+
+            @Override
+            public long run() {
+                wheel.startSpin();
+                while (wheel.isSpinning()) {
+                    wheel.spin();
+                }
+                return wheel.getSelectedSegment().getValue();
+            }
+        });
+
+        benchmarks.add(new Benchmark("wheel.spinUntilStopped") {
+            private final Wheel wheel = new Wheel(new Random(SEED));
+
+            @Override
+            public long run() {
+                wheel.startSpin();
+                return wheel.spinUntilStopped().getValue();
+            }
+        });
+
+        benchmarks.add(new Benchmark("spinDistribution.sample") {
+            private final Random rand = new Random(SEED);
+            private final SpinDistribution distribution = SpinDistribution.getDefault();
+            private double angle;
+
+            @Override
+            public long run() {
+                angle = (angle + 37.3) % 360;
+                return distribution.sample(angle, rand);
+            }
+        });
+
+        benchmarks.add(phraseSolverSolve());
+
+        for (int count : new int[]{200, 10_000, 50_000, 100_000}) {
+            benchmarks.add(confettiUpdate(count));
+            benchmarks.add(confettiDraw(count));
+        }
+
+        benchmarks.add(wheelSpriteDraw(true));
+        benchmarks.add(wheelSpriteDraw(false));
+        benchmarks.add(wheelPanelPaint(false));
+        benchmarks.add(wheelPanelPaint(true));
+
+        return benchmarks;
+    }
+
+    /**
+     * Builds a benchmark solving the board of a game in progress once per operation, over a large generated corpus.
+     * Each operation guesses one more letter, starting a new phrase every few letters.
+     * @return returns the benchmark
+     */
+    private static Benchmark phraseSolverSolve() {
+        return new Benchmark("phraseSolver.solve") {
+            private Path file;
+            private PhraseSolver solver;
+            private Phrase phrase;
+            private int next;
+
+            @Override
+            public void setUp() {
+                try {
+                    file = Files.createTempFile("phrases", ".txt");
+                    writeCorpus(file, SOLVER_CORPUS_SIZE, new Random(SEED));
+                    PhraseCorpus corpus = PhraseCorpus.open(file);
+                    solver = new PhraseSolver(corpus);
+                    phrase = new Phrase(new Random(SEED), corpus);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+            @Override
+            public long run() {
+                if (next == 8 || phrase.hiddenEqualsCurrent()) {
+                    phrase.setRandomPhrase();
+                    next = 0;
+                }
+                phrase.matchLetter(LETTERS.charAt(next++));
+                return solver.solve(phrase).length;
+            }
+
+            @Override
+            public void tearDown() {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Writes a phrase file of random words, one to three per phrase, with common letters picked more often
+     * @param file file to write
+     * @param count number of phrases
+     * @param rand source of randomness
+     * @throws IOException if the file can't be written
+     */
+    private static void writeCorpus(Path file, int count, Random rand) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < count; i++) {
+                int words = 1 + rand.nextInt(3);
+                for (int w = 0; w < words; w++) {
+                    if (w > 0) out.write(' ');
+                    int length = 2 + rand.nextInt(4) + rand.nextInt(4);
+                    for (int c = 0; c < length; c++) {
+                        out.write(LETTERS.charAt(rand.nextInt(1 + rand.nextInt(LETTERS.length()))));
+                    }
+                }
+                out.write('\n');
+            }
+        }
+    }
+
+    /**
+     * Builds a benchmark updating every piece of confetti once per operation
+     * @param count number of confetti pieces
+     * @return returns the benchmark
+     */
+    private static Benchmark confettiUpdate(int count) {
+        return new Benchmark("confetti.update." + count) {
+            private ConfettiSystem confetti;
+
+            @Override
+            public void setUp() {
+                confetti = createConfetti(count);
+            }
+
+            @Override
+            public long run() {
+                confetti.update();
+                return (long) confetti.getX(0);
+            }
+
+            @Override
+            public void tearDown() {
+                confetti = null;
+            }
+        };
+    }
+
+    /**
+     * Builds a benchmark drawing every piece of confetti into a frame-sized image once per operation
+     * @param count number of confetti pieces
+     * @return returns the benchmark
+     */
+    private static Benchmark confettiDraw(int count) {
+        return new Benchmark("confetti.draw." + count) {
+            private ConfettiSystem confetti;
+            private BufferedImage image;
+            private Graphics2D g2d;
+
+            @Override
+            public void setUp() {
+                confetti = createConfetti(count);
+                image = new BufferedImage(GameFrame.FRAME_WIDTH, GameFrame.FRAME_HEIGHT, BufferedImage.TYPE_INT_RGB);
+                g2d = image.createGraphics();
+            }
+
+            @Override
+            public long run() {
+                confetti.draw(g2d);
+                return image.getRGB(0, 0);
+            }
+
+            @Override
+            public void tearDown() {
+                g2d.dispose();
+                confetti = null;
+                image = null;
+            }
+        };
+    }
+
+    /**
+     * Creates confetti spread over the frame
+     * @param count number of confetti pieces
+     * @return returns the confetti
+     */
+    private static ConfettiSystem createConfetti(int count) {
+        ConfettiSystem confetti = new ConfettiSystem(count, GameFrame.FRAME_WIDTH, GameFrame.FRAME_HEIGHT, Color.BLACK,
+                new Random(SEED));
+
+        // Moves the confetti on screen so draw calls aren't clipped away
+        for (int i = 0; i < 100; i++) {
+            confetti.update();
+        }
+
+        return confetti;
+    }
+
+    /**
+     * Builds a benchmark drawing the wheel at a new angle once per operation, with every sprite pre-rendered
+     * @param exact true to rotate the wheel image live instead of blitting sprites
+     * @return returns the benchmark
+     */
+    private static Benchmark wheelSpriteDraw(boolean exact) {
+        return new Benchmark(exact ? "wheelSprites.drawLive" : "wheelSprites.drawCached") {
+            private WheelSpriteCache sprites;
+            private BufferedImage image;
+            private Graphics2D g2d;
+            private double angle;
+
+            @Override
+            public void setUp() {
+                BufferedImage wheelImage = new WheelRenderer(WheelPanel.WHEEL_SIZE).render(new Wheel().getSegments(), 1);
+                sprites = new WheelSpriteCache(wheelImage, WheelPanel.WHEEL_SPRITE_RESOLUTION, WheelPanel.WHEEL_SPRITE_MAX_BYTES);
+                sprites.prerenderAll();
+                awaitSprites(sprites);
+
+                image = new BufferedImage(GameFrame.FRAME_WIDTH, 600, BufferedImage.TYPE_INT_RGB);
+                g2d = image.createGraphics();
+                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            }
+
+            @Override
+            public long run() {
+                angle = (angle + 7.3) % 360;
+                sprites.draw(g2d, angle, 300, 150, exact);
+                return image.getRGB(500, 300);
+            }
+
+            @Override
+            public void tearDown() {
+                g2d.dispose();
+                sprites.close();
+            }
+        };
+    }
+
+    /**
+     * Waits for every wheel sprite to be pre-rendered, so rendering in the background doesn't skew measurements
+     * @param sprites sprite cache to wait for
+     */
+    private static void awaitSprites(WheelSpriteCache sprites) {
+        try {
+            while (sprites.getSpriteCount() < sprites.getSteps()) {
+                Thread.sleep(10);
+            }
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Builds a benchmark painting the wheel panel into an off-screen image once per operation
+     * @param dirtyOnly true to paint only the wheel's region, as a repaint during a spin does
+     * @return returns the benchmark
+     */
+    private static Benchmark wheelPanelPaint(boolean dirtyOnly) {
+        return new Benchmark(dirtyOnly ? "wheelPanel.paintDirtyRegion" : "wheelPanel.paintComponent") {
+            private final Game game = new Game(SEED);
+            private WheelPanel wheelPanel;
+            private BufferedImage image;
+            private Graphics2D g2d;
+
+            @Override
+            public void setUp() {
+                for (int i = 0; i < 3; i++) {
+                    game.addPlayer(new Player("Player " + (i + 1)));
+                }
+                game.newGame(SEED);
+
+                UIPanel ui = new UIPanel(game);
+                ui.setSize(GameFrame.FRAME_WIDTH, GameFrame.FRAME_HEIGHT);
+                GameCard gameCard = ui.getGameCard();
+                gameCard.setSize(GameFrame.FRAME_WIDTH, GameFrame.FRAME_HEIGHT);
+
+                wheelPanel = new WheelPanel(gameCard, game);
+                wheelPanel.setSize(GameFrame.FRAME_WIDTH, 600);
+                awaitSprites(wheelPanel.getWheelSprites());
+                image = new BufferedImage(GameFrame.FRAME_WIDTH, 600, BufferedImage.TYPE_INT_RGB);
+                g2d = image.createGraphics();
+                if (dirtyOnly) {
+                    g2d.setClip(300, 150, 379, 378);
+                }
+            }
+
+            @Override
+            public long run() {
+                // Keeps the wheel turning fast so every frame draws a new angle from a sprite, as most of a spin does
+                if (game.getWheel().getSpinVelocity() < WheelPanel.WHEEL_SPRITE_RESOLUTION) {
+                    game.getWheel().startSpin();
+                }
+                game.getWheel().spin();
+                wheelPanel.paintComponent(g2d);
+                return image.getRGB(500, 300);
+            }
+
+            @Override
+            public void tearDown() {
+                g2d.dispose();
+            }
+        };
+    }
+}
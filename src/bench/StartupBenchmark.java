@@ -0,0 +1,149 @@
+package bench;
+
+import ui.AssetCache;
+import ui.GameFrame;
+import ui.StartupTrace;
+import ui.UIPanel;
+
+import java.awt.EventQueue;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Measures time to first frame by starting the game in a fresh JVM several times, as startup can only be
+ * timed cold. Each run prints its startup trace and exits once the first frame is painted. Without a display
+ * the game's UI is painted into an off-screen image instead of a window.
+ *
+ * <p>Usage: {@code java bench.StartupBenchmark [--runs count] [--target ms] [--offscreen] [--verbose]}.
+ * Exits with status 1 if the median time to first frame is over the target.</p>
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class StartupBenchmark {
+
+    //Declares class fields
+    private static final Pattern FIRST_FRAME = Pattern.compile("Time to " + StartupTrace.FIRST_FRAME + ": ([0-9.]+) ms");
+
+    /**
+     * Starts the game in a new JVM and waits for it to paint its first frame
+     * @param offscreen true to paint the UI into an image instead of opening a window
+     * @param verbose true to print the run's startup trace
+     * @return returns the time to first frame in milliseconds
+     * @throws IOException if the JVM can't be started or doesn't report a first frame
+     * @throws InterruptedException if interrupted while waiting for the JVM
+     */
+    private static double runOnce(boolean offscreen, boolean verbose) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(Arrays.asList(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                "-Dwheeloffortune.exitAfterFirstFrame=true"));
+        if (offscreen) {
+            command.addAll(Arrays.asList("-Djava.awt.headless=true", StartupBenchmark.class.getName(), "--child"));
+        } else {
+            command.add(GameFrame.class.getName());
+        }
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        double millis = -1;
+
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            for (String line = output.readLine(); line != null; line = output.readLine()) {
+                if (verbose) System.out.println(line);
+
+                Matcher matcher = FIRST_FRAME.matcher(line);
+                if (matcher.find()) {
+                    millis = Double.parseDouble(matcher.group(1));
+                }
+            }
+        }
+
+        process.waitFor();
+        if (millis < 0) {
+            throw new IOException("Game exited with status " + process.exitValue() + " without painting a frame");
+        }
+        return millis;
+    }
+
+    /**
+     * Starts the game as GameFrame does and paints the UI into an image, for machines without a display
+     * @throws InterruptedException if interrupted while waiting for the EDT
+     * @throws InvocationTargetException if starting the UI fails
+     */
+    private static void runChild() throws InterruptedException, InvocationTargetException {
+        AssetCache assets = GameFrame.startLoading();
+
+        EventQueue.invokeAndWait(() -> {
+            UIPanel ui = GameFrame.createUI(assets);
+            ui.setSize(GameFrame.FRAME_WIDTH, GameFrame.FRAME_HEIGHT);
+            ui.validate();
+
+            BufferedImage frame = new BufferedImage(GameFrame.FRAME_WIDTH, GameFrame.FRAME_HEIGHT, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g2d = frame.createGraphics();
+            ui.paint(g2d);
+            g2d.dispose();
+        });
+    }
+
+    /**
+     * Runs the startup benchmark from the command line
+     *
+     * @param args --runs count, --target ms, --offscreen and --verbose
+     * @throws Exception if a run fails
+     */
+    public static void main(String[] args) throws Exception {
+        int runs = 5;
+        double target = 2000;
+        boolean offscreen = GraphicsEnvironment.isHeadless();
+        boolean verbose = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--child":
+                    runChild();
+                    return;
+                case "--runs":
+                    runs = Integer.parseInt(args[++i]);
+                    break;
+                case "--target":
+                    target = Double.parseDouble(args[++i]);
+                    break;
+                case "--offscreen":
+                    offscreen = true;
+                    break;
+                case "--verbose":
+                    verbose = true;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+
+        double[] times = new double[runs];
+        for (int i = 0; i < runs; i++) {
+            times[i] = runOnce(offscreen, verbose);
+            System.out.printf("run %d: %.1f ms%n", i + 1, times[i]);
+        }
+
+        Arrays.sort(times);
+        double median = runs % 2 == 1 ? times[runs / 2] : (times[runs / 2 - 1] + times[runs / 2]) / 2;
+        System.out.printf("time to first frame%s: median %.1f ms, min %.1f ms, max %.1f ms, target %.0f ms%n",
+                offscreen ? " (off-screen)" : "", median, times[0], times[runs - 1], target);
+
+        if (median > target) {
+            System.out.println("Over target");
+            System.exit(1);
+        }
+    }
+}
@@ -1,43 +1,56 @@
-package game;
-
-import java.io.InputStream;
-import java.util.ArrayList;
-import java.util.Scanner;
-
-/**
- * This class handles I/O for text files
- *
- * @author Matthew Ritchie
- * @version 1.0
- */
-public class FileHandler {
-
-    private Scanner scanner;
-    private final InputStream fileStream;
-
-    /**
-     * Initializes file handler to new file path
-     * @param filePath path of file to assign to handler
-     */
-    public FileHandler(String filePath) {
-        fileStream = getClass().getResourceAsStream(filePath);
-        assert fileStream != null;
-    }
-
-    /**
-     * Reads lines from text file to ArrayList
-     * @return returns ArrayList with lines from text file
-     */
-    public ArrayList<String> readLines() {
-        scanner = new Scanner(fileStream);
-        ArrayList<String> list = new ArrayList<>();
-
-        while(scanner.hasNextLine()) {
-            list.add(scanner.nextLine());
-        }
-
-        scanner.close();
-        return list;
-    }
-
-}
+package game;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Scanner;
+
+/**
+ * This class handles I/O for text files
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class FileHandler {
+
+    private Scanner scanner;
+    private final InputStream fileStream;
+
+    /**
+     * Initializes file handler to new file path
+     * @param filePath path of file to assign to handler
+     */
+    public FileHandler(String filePath) {
+        fileStream = getClass().getResourceAsStream(filePath);
+        assert fileStream != null;
+    }
+
+    /**
+     * Reads lines from text file to ArrayList
+     * @return returns ArrayList with lines from text file
+     */
+    public ArrayList<String> readLines() {
+        scanner = new Scanner(fileStream);
+        ArrayList<String> list = new ArrayList<>();
+
+        while(scanner.hasNextLine()) {
+            list.add(scanner.nextLine());
+        }
+
+        scanner.close();
+        return list;
+    }
+
+    /**
+     * Reads the whole file as raw bytes
+     * @return returns the bytes of the file
+     */
+    public byte[] readAllBytes() {
+        try (InputStream in = fileStream) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+}
@@ -0,0 +1,274 @@
+package game;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact record of everything that happened in one game: the seed it started from, the players and the scores
+ * they started with, and every spin, letter guess and phrase guess in order. Together with the seed, the log is enough for
+ * {@link GameReplayer} to rebuild the game exactly.
+ *
+ * <p>Events are packed into a byte array, a spin takes 9 bytes, a letter guess 3 bytes and a phrase guess
+ * 5 bytes plus the phrase text, which is kept separately.</p>
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class GameLog {
+
+    //Declares class fields
+    public static final byte SPIN = 1;
+    public static final byte LETTER = 2;
+    public static final byte PHRASE = 3;
+
+    private long seed;
+    private final ArrayList<String> playerNames = new ArrayList<>();
+    // Score of each seat when the game started, as scores carry over from game to game.
+    private int[] startingScores = new int[0];
+    private final ArrayList<String> phraseGuesses = new ArrayList<>();
+    private byte[] events = new byte[256];
+    private int size;
+    private int eventCount;
+
+    /**
+     * Clears the log and starts recording a new game
+     * @param seed seed the game was started from
+     * @param players players in the game, in seat order
+     */
+    public void start(long seed, List<Player> players) {
+        this.seed = seed;
+        playerNames.clear();
+        if (startingScores.length != players.size()) {
+            startingScores = new int[players.size()];
+        }
+        for (int i = 0; i < players.size(); i++) {
+            playerNames.add(players.get(i).getName());
+            startingScores[i] = players.get(i).getScore();
+        }
+        phraseGuesses.clear();
+        size = 0;
+        eventCount = 0;
+    }
+
+    /**
+     * Records a spin
+     * @param velocity starting velocity of the spin
+     */
+    public void recordSpin(double velocity) {
+        ensureCapacity(9);
+        events[size++] = SPIN;
+        putLong(Double.doubleToRawLongBits(velocity));
+        eventCount++;
+    }
+
+    /**
+     * Records a letter guess
+     * @param letter the letter guessed
+     */
+    public void recordLetter(char letter) {
+        ensureCapacity(3);
+        events[size++] = LETTER;
+        events[size++] = (byte) (letter >>> 8);
+        events[size++] = (byte) letter;
+        eventCount++;
+    }
+
+    /**
+     * Records a phrase guess
+     * @param guess the phrase guessed
+     */
+    public void recordPhrase(String guess) {
+        ensureCapacity(5);
+        events[size++] = PHRASE;
+        putInt(phraseGuesses.size());
+        phraseGuesses.add(guess);
+        eventCount++;
+    }
+
+    /**
+     * Grows the event array if needed
+     * @param bytes number of bytes about to be written
+     */
+    private void ensureCapacity(int bytes) {
+        if (size + bytes > events.length) {
+            events = Arrays.copyOf(events, Math.max(events.length * 2, size + bytes));
+        }
+    }
+
+    /**
+     * Writes a big-endian long to the event array
+     * @param value value to write
+     */
+    private void putLong(long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            events[size++] = (byte) (value >>> shift);
+        }
+    }
+
+    /**
+     * Writes a big-endian int to the event array
+     * @param value value to write
+     */
+    private void putInt(int value) {
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            events[size++] = (byte) (value >>> shift);
+        }
+    }
+
+    /**
+     * Reads a big-endian long from the event array
+     * @param offset position of the first byte
+     * @return returns the value read
+     */
+    long getLong(int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (events[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+    /**
+     * Reads a big-endian int from the event array
+     * @param offset position of the first byte
+     * @return returns the value read
+     */
+    int getInt(int offset) {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            value = (value << 8) | (events[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+    /**
+     * Writes the log in a binary form that can be attached to a bug report
+     * @param out output to write to
+     * @throws IOException if the output can't be written
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeLong(seed);
+        out.writeInt(playerNames.size());
+        for (int i = 0; i < playerNames.size(); i++) {
+            out.writeUTF(playerNames.get(i));
+            out.writeInt(startingScores[i]);
+        }
+        out.writeInt(phraseGuesses.size());
+        for (String guess : phraseGuesses) {
+            out.writeUTF(guess);
+        }
+        out.writeInt(eventCount);
+        out.writeInt(size);
+        out.write(events, 0, size);
+    }
+
+    /**
+     * Reads a log written by {@link #write(DataOutput)}
+     * @param in input to read from
+     * @return returns the log read
+     * @throws IOException if the input can't be read
+     */
+    public static GameLog read(DataInput in) throws IOException {
+        GameLog log = new GameLog();
+        log.seed = in.readLong();
+
+        int players = in.readInt();
+        log.startingScores = new int[players];
+        for (int i = 0; i < players; i++) {
+            log.playerNames.add(in.readUTF());
+            log.startingScores[i] = in.readInt();
+        }
+
+        int guesses = in.readInt();
+        for (int i = 0; i < guesses; i++) {
+            log.phraseGuesses.add(in.readUTF());
+        }
+
+        log.eventCount = in.readInt();
+        log.size = in.readInt();
+        log.events = new byte[Math.max(log.size, 1)];
+        in.readFully(log.events, 0, log.size);
+        return log;
+    }
+
+    //------------------ GETTERS AND SETTERS ---------------------//
+
+    /**
+     * Gets the seed the game was started from
+     * @return returns the seed of the game
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the names of the players, in seat order
+     * @return returns the names of the players
+     */
+    public List<String> getPlayerNames() {
+        return playerNames;
+    }
+
+    /**
+     * Gets the score a player had when the game started
+     * @param seat index of the player in seat order
+     * @return returns the player's starting score
+     */
+    public int getStartingScore(int seat) {
+        return startingScores[seat];
+    }
+
+    /**
+     * Gets the phrase guesses, in the order they were made
+     * @return returns the phrases guessed
+     */
+    public List<String> getPhraseGuesses() {
+        return phraseGuesses;
+    }
+
+    /**
+     * Gets the number of events recorded
+     * @return returns the number of events recorded
+     */
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Gets the capacity of the event buffer, which grows to fit the longest game so far
+     * @return returns the number of bytes of packed events the log can hold without reallocating
+     */
+    public int getCapacity() {
+        return events.length;
+    }
+
+    /**
+     * Gets the number of bytes of packed events
+     * @return returns the number of bytes of packed events
+     */
+    int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the event byte at a position
+     * @param offset position in the packed events
+     * @return returns the byte at the position
+     */
+    byte getByte(int offset) {
+        return events[offset];
+    }
+
+    /**
+     * Gets a recorded phrase guess
+     * @param index index of the phrase guess
+     * @return returns the phrase guessed
+     */
+    String getPhraseGuess(int index) {
+        return phraseGuesses.get(index);
+    }
+}
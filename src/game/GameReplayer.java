@@ -0,0 +1,178 @@
+package game;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Rebuilds game state from a {@link GameLog} without any UI. Spins are replayed with their recorded velocity
+ * and run to a stop instantly, so replaying a game costs about as much as the game logic itself.
+ * A replayer reuses one Game between replays and is not thread-safe, use one per thread.
+ * Running the class checks that many consecutive games played on one Game all replay exactly.
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class GameReplayer {
+
+    //Declares class fields
+    private final Game game;
+
+    /**
+     * Initializes replayer with its own Game
+     */
+    public GameReplayer() {
+        this(new Game());
+    }
+
+    /**
+     * Initializes replayer that replays into an existing Game
+     * @param game game to replay into, its state is replaced by every replay
+     */
+    public GameReplayer(Game game) {
+        this.game = game;
+    }
+
+    /**
+     * Replays a whole game
+     * @param log log of the game to replay
+     * @return returns the game in the state it was in after the last logged event
+     */
+    public Game replay(GameLog log) {
+        return replay(log, log.getEventCount());
+    }
+
+    /**
+     * Replays the start of a game, for finding the event where a game first went wrong
+     * @param log log of the game to replay
+     * @param events number of events to replay
+     * @return returns the game in the state it was in after the given number of events
+     */
+    public Game replay(GameLog log, int events) {
+        game.resetPlayers();
+        for (int i = 0; i < log.getPlayerNames().size(); i++) {
+            Player player = new Player(log.getPlayerNames().get(i));
+            player.setScore(log.getStartingScore(i));
+            game.addPlayer(player);
+        }
+        game.newGame(log.getSeed());
+
+        int offset = 0;
+        for (int i = 0; i < events && offset < log.getSize(); i++) {
+            byte type = log.getByte(offset++);
+
+            switch (type) {
+                case GameLog.SPIN:
+                    game.startSpin(Double.longBitsToDouble(log.getLong(offset)));
+                    game.getWheel().spinUntilStopped();
+                    game.applySpinResult();
+                    offset += 8;
+                    break;
+                case GameLog.LETTER:
+                    game.guessLetter((char) (((log.getByte(offset) & 0xFF) << 8) | (log.getByte(offset + 1) & 0xFF)));
+                    offset += 2;
+                    break;
+                case GameLog.PHRASE:
+                    game.guessPhrase(log.getPhraseGuess(log.getInt(offset)));
+                    offset += 4;
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown event type " + type + " at offset " + (offset - 1));
+            }
+        }
+
+        return game;
+    }
+
+    /**
+     * Describes the state of a game, two games in the same state have the same description
+     * @param game game to describe
+     * @return returns the phrase, board, scores, turn, winner and wheel angle of the game
+     */
+    public static String describe(Game game) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(game.getPhrase().getHiddenPhrase()).append('|').append(game.getPhrase().getCurrentPhrase());
+        for (Player player : game.getPlayerList()) {
+            sb.append('|').append(player.getName()).append('=').append(player.getScore());
+        }
+        sb.append("|turn=").append(game.getPlayerTurn())
+                .append("|winner=").append(game.getPlayerList().indexOf(game.getWinner()))
+                .append("|angle=").append(game.getWheel().getCurrentAngle());
+        return sb.toString();
+    }
+
+    /**
+     * Plays random moves through many consecutive games on one Game, then writes out and reads back each
+     * game's log and replays them in reverse order, printing any game that replayed differently. Replaying out
+     * of order means nothing left over from the game before can line the replay up with the live game.
+     *
+     * @param args optional number of games and seed
+     * @throws IOException if a log can't be written or read back
+     */
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : new Random().nextLong();
+
+        Random moves = new Random(seed);
+        Game game = new Game(seed);
+        for (String name : new String[] {"One", "Two", "Three"}) {
+            game.addPlayer(new Player(name));
+        }
+
+        List<byte[]> logs = new ArrayList<>();
+        List<String> endStates = new ArrayList<>();
+        // Scores are left to carry over from game to game, so the logs must record them
+        for (int g = 0; g < games; g++) {
+            game.newGame();
+
+            // Move limit stops a run of misses from going on forever
+            for (int move = 0; move < 1000 && game.getWinner() == null; move++) {
+                game.startSpin();
+                game.getWheel().spinUntilStopped();
+                if (game.applySpinResult().getType() != SegmentType.MONEY) {
+                    continue;
+                }
+
+                Phrase phrase = game.getPhrase();
+                if (phrase.getNumOfMissingLetters() <= 3 && moves.nextBoolean()) {
+                    game.guessPhrase(moves.nextInt(4) == 0 ? "WRONG GUESS" : phrase.getHiddenPhrase());
+                    continue;
+                }
+                char letter = (char) ('A' + moves.nextInt(26));
+                // A player who can't afford a vowel guesses again in the UI, that retry isn't logged
+                if (Game.guessIsVowel(letter) && !game.playerCanAffordVowel(game.getCurrentPlayer())) {
+                    letter = 'T';
+                }
+                game.guessLetter(letter);
+            }
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            game.getLog().write(new DataOutputStream(bytes));
+            logs.add(bytes.toByteArray());
+            endStates.add(describe(game));
+        }
+
+        GameReplayer replayer = new GameReplayer();
+        int mismatches = 0;
+        for (int g = games - 1; g >= 0; g--) {
+            GameLog log = GameLog.read(new DataInputStream(new ByteArrayInputStream(logs.get(g))));
+            String replayed = describe(replayer.replay(log));
+            if (!replayed.equals(endStates.get(g))) {
+                mismatches++;
+                System.out.println("Game " + g + " with seed " + log.getSeed() + " replayed differently");
+                System.out.println("  live:     " + endStates.get(g));
+                System.out.println("  replayed: " + replayed);
+            }
+        }
+
+        System.out.println(mismatches + " of " + games + " games replayed differently (seed " + seed + ")");
+        if (mismatches > 0) {
+            System.exit(1);
+        }
+    }
+}
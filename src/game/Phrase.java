@@ -1,155 +1,340 @@
-package game;
-
-import java.util.ArrayList;
-import java.util.Random;
-
-/**
- * This class represents a phrase to be used in Wheel of Fortune game
- *
- * @author Matthew Ritchie
- * @version 1.0
- */
-public class Phrase {
-
-    //Declares class fields
-    // Hidden phrase: original, unaltered phrase.
-    private String hiddenPhrase;
-    // Current phrase: current game state of phrase with underscores representing missing letters.
-    private String currentPhrase;
-    private final ArrayList<String> phraseList;
-    private final Random rand = new Random();
-    private final FileHandler fileHandler = new FileHandler("/resources/phrases.txt");
-
-    /**
-     * Initializes and instantiates phrase objects from text file
-     */
-    public Phrase() {
-        phraseList = fileHandler.readLines();
-        setRandomPhrase();
-    }
-
-    /**
-     * Generates the string to display to player by replacing all letters with underscores
-     */
-    private void generateInitialPhrase() {
-        currentPhrase = "";
-        for (int i = 0; i < hiddenPhrase.length(); i++) {
-            if (hiddenPhrase.charAt(i) == ' ') {
-                currentPhrase += " ";
-            } else {
-                currentPhrase += "_";
-            }
-        }
-    }
-
-    /**
-     * Picks a random phrase from phrase list and sets this as new phrase
-     */
-    public void setRandomPhrase() {
-        hiddenPhrase = phraseList.get(rand.nextInt(phraseList.size()));
-        generateInitialPhrase();
-    }
-
-    /**
-     * Matches player input against hidden phrase
-     *
-     * @param c player letter guess
-     * @return returns the number of matches found.
-     */
-    public int matchLetter(String c) {
-        String[] hiddenPhraseArray = hiddenPhrase.split("");
-        String[] currentPhraseArray = currentPhrase.split("");
-
-        int matchCount = 0;
-
-        for (int i = 0; i < hiddenPhraseArray.length; i++) {
-            if (hiddenPhraseArray[i].equalsIgnoreCase(c) && currentPhraseArray[i].equals("_")) {
-                matchCount++;
-                currentPhraseArray[i] = hiddenPhraseArray[i];
-            }
-        }
-
-        currentPhrase = "";
-
-        for (String l : currentPhraseArray) {
-            currentPhrase += l;
-        }
-
-        return matchCount;
-    }
-
-    /**
-     * Gets the number of letters missing from the current game phrase
-     * @return returns the number of letters missing from the current game phrase
-     */
-    public int getNumOfMissingLetters() {
-        int num = 0;
-
-        for (int i = 0; i < currentPhrase.length(); i++) {
-            if (currentPhrase.charAt(i) == '_') {
-                num += 1;
-            }
-        }
-
-        return num;
-    }
-
-    /**
-     * Matches player phrase guess against hidden phrase
-     *
-     * @param phrase player phrase guess
-     * @return returns boolean value representing whether the guess was correct.
-     */
-    public boolean matchPhrase(String phrase) {
-        return phrase.equalsIgnoreCase(hiddenPhrase);
-    }
-
-    /**
-     * Checks to see if the current state of the game phrase equals the hidden, final phrase.
-     *
-     * @return returns boolean value indicating whether the current state of the game phrase equals the hidden, final phrase
-     */
-    public boolean hiddenEqualsCurrent() {
-        return hiddenPhrase.equalsIgnoreCase(currentPhrase);
-    }
-
-    //------------------ GETTERS AND SETTERS ---------------------//
-
-    /**
-     * Gets the current state of the phrase including guesses by player
-     *
-     * @return returns the current state of the phrase including guesses by player
-     */
-    public String getCurrentPhrase() {
-        return currentPhrase;
-    }
-
-    /**
-     * Gets the string representing the hidden WoF phrase
-     *
-     * @return returns the string representing the hidden WoF phrase
-     */
-    public String getHiddenPhrase() {
-        return hiddenPhrase;
-    }
-
-    /**
-     * Sets hidden phrase for testing purposes.
-     *
-     * @param phrase String to set as phrase for testing purposes.
-     */
-    public void setPhrase(String phrase) {
-        hiddenPhrase = phrase;
-        generateInitialPhrase();
-    }
-
-    /**
-     * Sets current phrase for testing purposes
-     *
-     * @param phrase String to set as currentPhrase for testing purposes
-     */
-    public void setCurrentPhrase(String phrase) {
-        currentPhrase = phrase;
-    }
-
-}
+package game;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * This class represents a phrase to be used in Wheel of Fortune game
+ *
+ * <p>The board is kept as a char array with a revealed bitset and a per-letter index of positions, so a
+ * letter guess only touches the positions of that letter and allocates nothing. The current phrase String
+ * is only built when it is asked for.</p>
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class Phrase {
+
+    //Declares class fields
+    private static final int ALPHABET_SIZE = 26;
+
+    // Hidden phrase: original, unaltered phrase, empty until the first phrase is set.
+    private String hiddenPhrase = "";
+    // Current phrase: cached game state of phrase with underscores representing missing letters, null when stale.
+    private String currentPhrase;
+    // Phrases to pick from, null until first needed when the shared corpus is used.
+    private PhraseCorpus corpus;
+    private final Random rand;
+
+    // Board state: characters of the hidden phrase and a bitset of positions revealed so far.
+    private char[] board = new char[0];
+    private long[] revealed = new long[0];
+    private int length;
+    private int missingLetters;
+    // Bitmask of letters guessed so far, bit 0 for A.
+    private int guessedLetters;
+
+    // Letter index: positions of each letter A-Z, grouped by letter. Positions of letter i are
+    // letterPositions[letterStart[i]] up to (but excluding) letterPositions[letterStart[i + 1]].
+    private int[] letterPositions = new int[0];
+    private final int[] letterStart = new int[ALPHABET_SIZE + 1];
+    private final int[] letterFill = new int[ALPHABET_SIZE];
+
+    /**
+     * Initializes and instantiates phrase objects from the shared phrase corpus
+     */
+    public Phrase() {
+        this(new Random());
+    }
+
+    /**
+     * Initializes and instantiates phrase objects from the shared phrase corpus. The board is empty until a
+     * phrase is set, and the corpus isn't loaded until a random phrase is first picked.
+     *
+     * @param rand source of randomness for picking phrases, shared with the rest of the game
+     */
+    public Phrase(Random rand) {
+        this(rand, null);
+    }
+
+    /**
+     * Initializes and instantiates phrase objects. The board is empty until a phrase is set.
+     *
+     * @param rand source of randomness for picking phrases, shared with the rest of the game
+     * @param corpus phrases to pick from, or null for the shared corpus, loaded when first needed
+     */
+    public Phrase(Random rand, PhraseCorpus corpus) {
+        this.rand = rand;
+        this.corpus = corpus;
+    }
+
+    /**
+     * Builds the board for the hidden phrase, with every letter hidden and the letter index filled in.
+     * Buffers are reused when the new phrase fits in them.
+     */
+    private void generateInitialPhrase() {
+        length = hiddenPhrase.length();
+
+        if (board.length < length) {
+            board = new char[length];
+            revealed = new long[(length + 63) >>> 6];
+            letterPositions = new int[length];
+        }
+
+        hiddenPhrase.getChars(0, length, board, 0);
+        Arrays.fill(revealed, 0L);
+        Arrays.fill(letterStart, 0);
+
+        // Counts each letter and hidden character, spaces are shown from the start
+        missingLetters = 0;
+        guessedLetters = 0;
+        for (int i = 0; i < length; i++) {
+            char c = board[i];
+            if (c == ' ') {
+                revealed[i >>> 6] |= 1L << i;
+            } else {
+                missingLetters++;
+                int letter = letterIndex(c);
+                if (letter >= 0) {
+                    letterStart[letter + 1]++;
+                }
+            }
+        }
+
+        // Turns counts into start offsets, then fills in the positions of each letter
+        for (int i = 0; i < ALPHABET_SIZE; i++) {
+            letterStart[i + 1] += letterStart[i];
+        }
+
+        System.arraycopy(letterStart, 0, letterFill, 0, ALPHABET_SIZE);
+        for (int i = 0; i < length; i++) {
+            int letter = letterIndex(board[i]);
+            if (letter >= 0) {
+                letterPositions[letterFill[letter]++] = i;
+            }
+        }
+
+        currentPhrase = null;
+    }
+
+    /**
+     * Gets the alphabet index of a character
+     * @param c character to check
+     * @return returns 0-25 for letters A-Z in either case, or -1 if the character is not a letter
+     */
+    private static int letterIndex(char c) {
+        int upper = (c >= 'a' && c <= 'z') ? c - 32 : c;
+        return (upper >= 'A' && upper <= 'Z') ? upper - 'A' : -1;
+    }
+
+    /**
+     * Picks a random phrase from phrase corpus and sets this as new phrase
+     */
+    public void setRandomPhrase() {
+        hiddenPhrase = getCorpus().random(rand);
+        generateInitialPhrase();
+    }
+
+    /**
+     * Matches player input against hidden phrase
+     *
+     * @param c player letter guess
+     * @return returns the number of matches found.
+     */
+    public int matchLetter(String c) {
+        if (c.length() != 1) {
+            return 0;
+        }
+
+        return matchLetter(c.charAt(0));
+    }
+
+    /**
+     * Matches a single character against hidden phrase, revealing every hidden occurrence of it
+     *
+     * @param c player letter guess
+     * @return returns the number of matches found.
+     */
+    public int matchLetter(char c) {
+        int letter = letterIndex(c);
+        int matchCount = 0;
+
+        if (letter >= 0) {
+            guessedLetters |= 1 << letter;
+            for (int p = letterStart[letter]; p < letterStart[letter + 1]; p++) {
+                matchCount += reveal(letterPositions[p]);
+            }
+        } else {
+            // Characters outside A-Z are not indexed, so falls back to scanning the board
+            for (int i = 0; i < length; i++) {
+                if (Character.toUpperCase(board[i]) == Character.toUpperCase(c)) {
+                    matchCount += reveal(i);
+                }
+            }
+        }
+
+        if (matchCount > 0) {
+            missingLetters -= matchCount;
+            currentPhrase = null;
+        }
+
+        return matchCount;
+    }
+
+    /**
+     * Reveals a position on the board
+     * @param i position to reveal
+     * @return returns 1 if the position was hidden, 0 if it was already revealed
+     */
+    private int reveal(int i) {
+        long bit = 1L << i;
+        if ((revealed[i >>> 6] & bit) != 0) {
+            return 0;
+        }
+        revealed[i >>> 6] |= bit;
+        return 1;
+    }
+
+    /**
+     * Checks whether a position on the board has been revealed
+     * @param i position on the board
+     * @return returns true if the character at the position is shown to players
+     */
+    public boolean isRevealed(int i) {
+        return (revealed[i >>> 6] & (1L << i)) != 0;
+    }
+
+    /**
+     * Checks whether a letter has already been guessed for this phrase
+     * @param c letter to check, in either case
+     * @return returns true if the letter has been guessed since the phrase was set
+     */
+    public boolean isLetterGuessed(char c) {
+        int letter = letterIndex(c);
+        return letter >= 0 && (guessedLetters & (1 << letter)) != 0;
+    }
+
+    /**
+     * Gets the letters guessed so far as a bitmask
+     * @return returns a bitmask of guessed letters, bit 0 for A through bit 25 for Z
+     */
+    public int getGuessedLetters() {
+        return guessedLetters;
+    }
+
+    /**
+     * Gets the number of letters missing from the current game phrase
+     * @return returns the number of letters missing from the current game phrase
+     */
+    public int getNumOfMissingLetters() {
+        return missingLetters;
+    }
+
+    /**
+     * Matches player phrase guess against hidden phrase
+     *
+     * @param phrase player phrase guess
+     * @return returns boolean value representing whether the guess was correct.
+     */
+    public boolean matchPhrase(String phrase) {
+        return phrase.equalsIgnoreCase(hiddenPhrase);
+    }
+
+    /**
+     * Checks to see if the current state of the game phrase equals the hidden, final phrase.
+     *
+     * @return returns boolean value indicating whether the current state of the game phrase equals the hidden, final phrase
+     */
+    public boolean hiddenEqualsCurrent() {
+        return missingLetters == 0;
+    }
+
+    //------------------ GETTERS AND SETTERS ---------------------//
+
+    /**
+     * Gets the current state of the phrase including guesses by player
+     *
+     * @return returns the current state of the phrase including guesses by player
+     */
+    public String getCurrentPhrase() {
+        if (currentPhrase == null) {
+            char[] chars = new char[length];
+            for (int i = 0; i < length; i++) {
+                chars[i] = isRevealed(i) ? board[i] : '_';
+            }
+            currentPhrase = new String(chars);
+        }
+
+        return currentPhrase;
+    }
+
+    /**
+     * Gets the string representing the hidden WoF phrase
+     *
+     * @return returns the string representing the hidden WoF phrase
+     */
+    public String getHiddenPhrase() {
+        return hiddenPhrase;
+    }
+
+    /**
+     * Gets the length of the phrase on the board
+     *
+     * @return returns the number of characters in the phrase, including spaces
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Gets the corpus that random phrases are picked from
+     *
+     * @return returns the corpus that random phrases are picked from, loading the shared corpus if needed
+     */
+    public PhraseCorpus getCorpus() {
+        if (corpus == null) {
+            corpus = PhraseCorpus.getDefault();
+        }
+        return corpus;
+    }
+
+    /**
+     * Gets the capacity of the board buffers, which grow to fit the longest phrase set so far
+     *
+     * @return returns the number of characters the board can hold without reallocating
+     */
+    public int getBoardCapacity() {
+        return board.length;
+    }
+
+    /**
+     * Sets hidden phrase for testing purposes.
+     *
+     * @param phrase String to set as phrase for testing purposes.
+     */
+    public void setPhrase(String phrase) {
+        hiddenPhrase = phrase;
+        generateInitialPhrase();
+    }
+
+    /**
+     * Sets current phrase for testing purposes, every character that isn't an underscore is treated as revealed
+     *
+     * @param phrase String to set as currentPhrase for testing purposes
+     */
+    public void setCurrentPhrase(String phrase) {
+        Arrays.fill(revealed, 0L);
+        missingLetters = 0;
+
+        for (int i = 0; i < length; i++) {
+            if (i < phrase.length() && phrase.charAt(i) != '_') {
+                revealed[i >>> 6] |= 1L << i;
+            } else if (board[i] != ' ') {
+                missingLetters++;
+            }
+        }
+
+        currentPhrase = phrase;
+    }
+
+}
@@ -0,0 +1,308 @@
+package game;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+/**
+ * Read-only list of phrases, one per line of a UTF-8 text file. The text is memory-mapped and indexed by
+ * line offset, so picking a phrase only decodes that one line and the phrases themselves never sit on the
+ * heap. The default corpus is loaded once and shared by every Game.
+ *
+ * <p>For large phrase lists an index file can be written next to the text file with
+ * {@link #writeIndex(Path)}. It holds the start offset and length of every line and is mapped as well, so
+ * opening a corpus of millions of phrases doesn't need to scan the text. Without an index file, the index
+ * is built in memory when the corpus is opened.</p>
+ *
+ * <p>Index file format, big-endian: magic, version, text file size and last-modified time in milliseconds
+ * (longs), phrase count, then a start offset and byte length for each phrase (ints). An index is only used if
+ * the text file still has the same size and time and the index holds every phrase it claims to, otherwise the
+ * index is built in memory as if there were no index file.</p>
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public final class PhraseCorpus {
+
+    //Declares class fields
+    public static final String DEFAULT_RESOURCE = "/resources/phrases.txt";
+    // System property naming a phrase file to use instead of the bundled phrases.
+    public static final String FILE_PROPERTY = "wheeloffortune.phrases";
+    public static final String INDEX_SUFFIX = ".idx";
+
+    private static final int MAGIC = 0x574F4649;
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 28;
+
+    private final ByteBuffer text;
+    // Start offset and byte length of each phrase, two ints per phrase.
+    private final IntBuffer index;
+    private final int size;
+
+    /**
+     * Initializes corpus over already indexed text
+     * @param text phrase text, only read with absolute gets so it can be shared between threads
+     * @param index start offset and length of each phrase
+     */
+    private PhraseCorpus(ByteBuffer text, IntBuffer index) {
+        this.text = text;
+        this.index = index;
+        this.size = index.limit() / 2;
+
+        if (size == 0) {
+            throw new IllegalArgumentException("Phrase corpus is empty");
+        }
+    }
+
+    /**
+     * Holds the default corpus, loaded the first time it is used
+     */
+    private static final class DefaultHolder {
+        static final PhraseCorpus DEFAULT = loadDefault();
+    }
+
+    /**
+     * Gets the corpus shared by every Game, loading it on first use. Uses the file named by the
+     * {@value #FILE_PROPERTY} system property if set, otherwise the bundled phrase list.
+     * @return returns the default corpus
+     */
+    public static PhraseCorpus getDefault() {
+        return DefaultHolder.DEFAULT;
+    }
+
+    /**
+     * Loads the default corpus
+     * @return returns the default corpus
+     */
+    private static PhraseCorpus loadDefault() {
+        String file = System.getProperty(FILE_PROPERTY);
+
+        if (file == null) {
+            return fromResource(DEFAULT_RESOURCE);
+        }
+
+        try {
+            return open(Paths.get(file));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Loads a corpus from a classpath resource. Resources can't be mapped, so the text is read onto the heap,
+     * which is fine for the small bundled list.
+     * @param resourcePath path of the resource
+     * @return returns the loaded corpus
+     */
+    public static PhraseCorpus fromResource(String resourcePath) {
+        ByteBuffer text = ByteBuffer.wrap(new FileHandler(resourcePath).readAllBytes());
+        return new PhraseCorpus(text, IntBuffer.wrap(buildIndex(text)));
+    }
+
+    /**
+     * Opens a corpus by memory-mapping a phrase file, using its index file if there is an up-to-date one
+     * @param textFile path of the phrase file
+     * @return returns the opened corpus
+     * @throws IOException if the files can't be read
+     */
+    public static PhraseCorpus open(Path textFile) throws IOException {
+        long modified = Files.getLastModifiedTime(textFile).toMillis();
+        ByteBuffer text = map(textFile);
+        Path indexFile = indexPath(textFile);
+
+        if (Files.exists(indexFile)) {
+            IntBuffer index = readIndex(map(indexFile), text, modified);
+            if (index != null) {
+                return new PhraseCorpus(text, index);
+            }
+        }
+
+        return new PhraseCorpus(text, IntBuffer.wrap(buildIndex(text)));
+    }
+
+    /**
+     * Checks a mapped index file against its phrase file
+     * @param indexBytes mapped index file
+     * @param text mapped phrase file
+     * @param modified last-modified time of the phrase file in milliseconds
+     * @return returns the start offset and length of each phrase, or null if the index is stale or damaged
+     */
+    private static IntBuffer readIndex(ByteBuffer indexBytes, ByteBuffer text, long modified) {
+        // Only trusted if built from the file as it is now, a same-size edit still changes the time
+        if (indexBytes.limit() < HEADER_BYTES
+                || indexBytes.getInt(0) != MAGIC
+                || indexBytes.getInt(4) != VERSION
+                || indexBytes.getLong(8) != text.limit()
+                || indexBytes.getLong(16) != modified) {
+            return null;
+        }
+
+        int count = indexBytes.getInt(24);
+        IntBuffer index = indexBytes.position(HEADER_BYTES).slice().asIntBuffer();
+        // A truncated index holds fewer phrases than its header says
+        if (count <= 0 || 2L * count > index.capacity()) {
+            return null;
+        }
+
+        // Phrases are in file order, so the last one ending inside the text means none end beyond it
+        long lastEnd = (long) index.get(2 * count - 2) + index.get(2 * count - 1);
+        if (lastEnd > text.limit()) {
+            return null;
+        }
+        return index.limit(count * 2);
+    }
+
+    /**
+     * Writes an index file next to a phrase file so later opens don't need to scan the text
+     * @param textFile path of the phrase file
+     * @return returns the path of the index file written
+     * @throws IOException if the files can't be read or written
+     */
+    public static Path writeIndex(Path textFile) throws IOException {
+        // Read before the text, so an edit made while indexing leaves the index looking stale
+        long modified = Files.getLastModifiedTime(textFile).toMillis();
+        ByteBuffer text = map(textFile);
+        int[] index = buildIndex(text);
+        Path indexFile = indexPath(textFile);
+
+        try (OutputStream file = Files.newOutputStream(indexFile);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(text.limit());
+            out.writeLong(modified);
+            out.writeInt(index.length / 2);
+            for (int value : index) {
+                out.writeInt(value);
+            }
+        }
+
+        return indexFile;
+    }
+
+    /**
+     * Gets the path of the index file for a phrase file
+     * @param textFile path of the phrase file
+     * @return returns the path of the index file
+     */
+    private static Path indexPath(Path textFile) {
+        return textFile.resolveSibling(textFile.getFileName() + INDEX_SUFFIX);
+    }
+
+    /**
+     * Maps a whole file read-only
+     * @param file path of the file
+     * @return returns the mapped file
+     * @throws IOException if the file can't be mapped
+     */
+    private static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(file + " is larger than 2 GB");
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * Scans text for line breaks and records the start and length of every non-empty line
+     * @param text phrase text
+     * @return returns start offset and length of each phrase, two ints per phrase
+     */
+    private static int[] buildIndex(ByteBuffer text) {
+        int limit = text.limit();
+
+        // First pass counts phrases so the index is allocated once
+        int count = 0;
+        int lineStart = 0;
+        for (int i = 0; i <= limit; i++) {
+            if (i == limit || text.get(i) == '\n') {
+                if (lineLength(text, lineStart, i) > 0) count++;
+                lineStart = i + 1;
+            }
+        }
+
+        int[] index = new int[count * 2];
+        int n = 0;
+        lineStart = 0;
+        for (int i = 0; i <= limit; i++) {
+            if (i == limit || text.get(i) == '\n') {
+                int length = lineLength(text, lineStart, i);
+                if (length > 0) {
+                    index[n++] = lineStart;
+                    index[n++] = length;
+                }
+                lineStart = i + 1;
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Gets the length of a line without its carriage return, if it has one
+     * @param text phrase text
+     * @param start offset of the first byte of the line
+     * @param end offset of the line break, or the end of the text
+     * @return returns the length of the line content
+     */
+    private static int lineLength(ByteBuffer text, int start, int end) {
+        if (end > start && text.get(end - 1) == '\r') {
+            end--;
+        }
+        return end - start;
+    }
+
+    /**
+     * Gets a phrase, decoding only that phrase
+     * @param i index of the phrase
+     * @return returns the phrase
+     */
+    public String get(int i) {
+        int start = index.get(2 * i);
+        int length = index.get(2 * i + 1);
+        byte[] bytes = new byte[length];
+        text.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Picks a random phrase
+     * @param rand source of randomness
+     * @return returns a random phrase
+     */
+    public String random(Random rand) {
+        return get(rand.nextInt(size));
+    }
+
+    /**
+     * Gets the number of phrases in the corpus
+     * @return returns the number of phrases
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Writes index files for phrase files from the command line
+     *
+     * @param args paths of phrase files to index
+     * @throws IOException if a file can't be read or its index can't be written
+     */
+    public static void main(String[] args) throws IOException {
+        for (String arg : args) {
+            Path indexFile = writeIndex(Paths.get(arg));
+            System.out.println("Indexed " + open(Paths.get(arg)).size() + " phrases into " + indexFile);
+        }
+    }
+}
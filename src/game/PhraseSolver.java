@@ -0,0 +1,646 @@
+package game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Finds every phrase in a corpus that could be the hidden phrase, given the board as players see it and the
+ * letters guessed so far. A phrase fits the board if it has the same shape, every revealed character matches,
+ * and no hidden position holds a letter that has already been guessed.
+ *
+ * <p>Phrases are grouped by shape: their length and where their spaces are, which the board always shows. Only
+ * the group with the board's shape is searched. Within a group each phrase's characters are stored by
+ * position, along with a bitmask of the letters each phrase contains and, for groups too big to scan, a posting
+ * list of the phrases with each letter at each position and a bitset of the phrases containing each letter. A
+ * search starts from the shortest posting list of the revealed letters, drops phrases containing a wrongly guessed
+ * letter by their bitmask and only then checks the remaining positions, so it looks at a small fraction of even a
+ * corpus of millions.</p>
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public final class PhraseSolver {
+
+    //Declares class fields
+    private static final int ALPHABET_SIZE = 26;
+    // Stored in place of characters outside ASCII, which no board character matches.
+    private static final byte OTHER = 0x7F;
+    // Groups with fewer phrases than this are scanned rather than given posting lists and letter bitsets.
+    private static final int POSTINGS_MIN_PHRASES = 64;
+    private static final int[] NO_MATCHES = new int[0];
+
+    private final PhraseCorpus corpus;
+    // Groups of phrases keyed by shape, spaces kept and every other character replaced by an underscore.
+    private final Map<String, Group> groups = new HashMap<>();
+
+    /**
+     * Phrases of one shape
+     */
+    private static final class Group {
+
+        // Corpus index of each phrase in the group.
+        private final int[] ids;
+        private final int length;
+        // Upper case characters of each phrase, one phrase after another: chars[phrase * length + position].
+        private final byte[] chars;
+        // Bitmask of the letters in each phrase, bit 0 for A.
+        private final int[] letterMasks;
+        // Phrases in the group with each letter at each position, postings[position * 26 + letter], or null for
+        // groups small enough to scan.
+        private final int[][] postings;
+        // Phrases in the group containing each letter, one bitset per letter: letterBits[letter * words + phrase / 64],
+        // or null for groups small enough to scan.
+        private final long[] letterBits;
+        // Number of phrases in the group containing each letter, counted the first time it is needed.
+        private int[] letterCounts;
+
+        /**
+         * Initializes group, indexing its phrases
+         * @param ids corpus index of each phrase in the group
+         * @param phrases phrases in the group, all of the same shape
+         */
+        private Group(int[] ids, List<String> phrases) {
+            int count = ids.length;
+            int length = phrases.get(0).length();
+            this.ids = ids;
+            this.length = length;
+            this.chars = new byte[length * count];
+            this.letterMasks = new int[count];
+
+            // First pass stores the characters and counts each posting list so they are allocated once
+            int[] counts = new int[length * ALPHABET_SIZE];
+            for (int i = 0; i < count; i++) {
+                String phrase = phrases.get(i);
+                for (int p = 0; p < length; p++) {
+                    byte c = toCode(phrase.charAt(p));
+                    chars[i * length + p] = c;
+
+                    int letter = letterIndex(c);
+                    if (letter >= 0) {
+                        letterMasks[i] |= 1 << letter;
+                        counts[p * ALPHABET_SIZE + letter]++;
+                    }
+                }
+            }
+
+            if (count < POSTINGS_MIN_PHRASES) {
+                this.postings = null;
+                this.letterBits = null;
+                return;
+            }
+
+            int words = (count + 63) >>> 6;
+            this.letterBits = new long[ALPHABET_SIZE * words];
+            for (int i = 0; i < count; i++) {
+                for (int letters = letterMasks[i]; letters != 0; letters &= letters - 1) {
+                    letterBits[Integer.numberOfTrailingZeros(letters) * words + (i >>> 6)] |= 1L << i;
+                }
+            }
+
+            this.postings = new int[counts.length][];
+            for (int k = 0; k < counts.length; k++) {
+                postings[k] = counts[k] == 0 ? NO_MATCHES : new int[counts[k]];
+            }
+
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < count; i++) {
+                for (int p = 0; p < length; p++) {
+                    int letter = letterIndex(chars[i * length + p]);
+                    if (letter >= 0) {
+                        int k = p * ALPHABET_SIZE + letter;
+                        postings[k][counts[k]++] = i;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Gets the character of a phrase at a position
+         * @param i index of the phrase in the group
+         * @param p position in the phrase
+         * @return returns the stored character code
+         */
+        private byte charAt(int i, int p) {
+            return chars[i * length + p];
+        }
+
+        /**
+         * Gets the number of phrases in the group containing each letter
+         * @return returns 26 counts, index 0 for A
+         */
+        private synchronized int[] getLetterCounts() {
+            if (letterCounts == null) {
+                int[] counts = new int[ALPHABET_SIZE];
+                for (int letters : letterMasks) {
+                    for (; letters != 0; letters &= letters - 1) {
+                        counts[Integer.numberOfTrailingZeros(letters)]++;
+                    }
+                }
+                letterCounts = counts;
+            }
+            return letterCounts;
+        }
+    }
+
+    /**
+     * Initializes solver, indexing every phrase in a corpus
+     * @param corpus phrases to search
+     */
+    public PhraseSolver(PhraseCorpus corpus) {
+        this.corpus = corpus;
+        int size = corpus.size();
+
+        // First pass numbers each shape and counts its phrases, so no object is kept per phrase
+        Map<String, Integer> shapeIds = new HashMap<>();
+        int[] shapeOfPhrase = new int[size];
+        int[] shapeCounts = new int[16];
+        for (int i = 0; i < size; i++) {
+            int shape = shapeIds.computeIfAbsent(shapeOf(corpus.get(i)), k -> shapeIds.size());
+            if (shape == shapeCounts.length) {
+                shapeCounts = Arrays.copyOf(shapeCounts, shape * 2);
+            }
+            shapeOfPhrase[i] = shape;
+            shapeCounts[shape]++;
+        }
+
+        int[][] members = new int[shapeIds.size()][];
+        for (int shape = 0; shape < members.length; shape++) {
+            members[shape] = new int[shapeCounts[shape]];
+        }
+        Arrays.fill(shapeCounts, 0);
+        for (int i = 0; i < size; i++) {
+            int shape = shapeOfPhrase[i];
+            members[shape][shapeCounts[shape]++] = i;
+        }
+
+        for (Map.Entry<String, Integer> shape : shapeIds.entrySet()) {
+            int[] ids = members[shape.getValue()];
+            List<String> phrases = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                phrases.add(corpus.get(id));
+            }
+            groups.put(shape.getKey(), new Group(ids, phrases));
+        }
+    }
+
+    /**
+     * Holds the solver over the default corpus, built the first time it is used
+     */
+    private static final class DefaultHolder {
+        static final PhraseSolver DEFAULT = new PhraseSolver(PhraseCorpus.getDefault());
+    }
+
+    /**
+     * Gets the solver over the corpus shared by every Game, building it on first use
+     * @return returns the default solver
+     */
+    public static PhraseSolver getDefault() {
+        return DefaultHolder.DEFAULT;
+    }
+
+    /**
+     * Finds every phrase that fits a phrase's board and the letters guessed for it so far
+     * @param phrase phrase being played
+     * @return returns the corpus indexes of the matching phrases, in ascending order
+     */
+    public int[] solve(Phrase phrase) {
+        return solve(phrase.getCurrentPhrase(), phrase.getGuessedLetters());
+    }
+
+    /**
+     * Finds every phrase that fits a board and the letters guessed so far. Letters shown on the board count as
+     * guessed even if they are missing from the bitmask.
+     * @param board board as players see it, with underscores for hidden characters
+     * @param guessedLetters bitmask of the letters guessed so far, bit 0 for A through bit 25 for Z
+     * @return returns the corpus indexes of the matching phrases, in ascending order
+     */
+    public int[] solve(String board, int guessedLetters) {
+        Group group = groups.get(shapeOf(board));
+        if (group == null) {
+            return NO_MATCHES;
+        }
+
+        Query query = new Query(board, guessedLetters);
+        int[] candidates = query.shortestPosting(group);
+        int candidateCount = candidates == null ? group.ids.length : candidates.length;
+
+        int[] matches = new int[candidateCount];
+        int matchCount = 0;
+
+        for (int c = 0; c < candidateCount; c++) {
+            int i = candidates == null ? c : candidates[c];
+            if (query.fits(group, i)) {
+                matches[matchCount++] = group.ids[i];
+            }
+        }
+
+        return matchCount == matches.length ? matches : Arrays.copyOf(matches, matchCount);
+    }
+
+    /**
+     * A board split into its revealed characters and hidden positions, ready to check phrases against
+     */
+    private static final class Query {
+
+        private final String board;
+        private final int[] shown;
+        private final int[] hidden;
+        private int shownCount;
+        private int hiddenCount;
+        // Bitmask of the letters shown on the board.
+        private int boardLetters;
+        // Bitmask of guessed letters that aren't on the board, so can't be anywhere in the phrase.
+        private final int missed;
+
+        /**
+         * Initializes query
+         * @param board board as players see it
+         * @param guessedLetters bitmask of the letters guessed so far
+         */
+        private Query(String board, int guessedLetters) {
+            this.board = board;
+            int length = board.length();
+            shown = new int[length];
+            hidden = new int[length];
+
+            for (int p = 0; p < length; p++) {
+                char c = board.charAt(p);
+                if (c == '_') {
+                    hidden[hiddenCount++] = p;
+                } else if (c != ' ') {
+                    shown[shownCount++] = p;
+                    int letter = letterIndex(toCode(c));
+                    if (letter >= 0) boardLetters |= 1 << letter;
+                }
+            }
+
+            missed = guessedLetters & ~boardLetters & ((1 << ALPHABET_SIZE) - 1);
+        }
+
+        /**
+         * Gets the shortest posting list of the letters revealed on the board, which every fitting phrase is in
+         * @param group group of the board's shape
+         * @return returns the posting list, or null if no letters are shown or the group has no postings
+         */
+        private int[] shortestPosting(Group group) {
+            int[] shortest = null;
+
+            for (int k = 0; k < shownCount && group.postings != null; k++) {
+                int p = shown[k];
+                int letter = letterIndex(toCode(board.charAt(p)));
+                if (letter >= 0) {
+                    int[] posting = group.postings[p * ALPHABET_SIZE + letter];
+                    if (shortest == null || posting.length < shortest.length) {
+                        shortest = posting;
+                    }
+                }
+            }
+            return shortest;
+        }
+
+        /**
+         * Checks a phrase of the board's shape against the board
+         * @param group group holding the phrase
+         * @param i index of the phrase in the group
+         * @return returns true if the phrase has no missed letter, every revealed character matches and no
+         * hidden position holds a letter shown elsewhere
+         */
+        private boolean fits(Group group, int i) {
+            int letters = group.letterMasks[i];
+            if ((letters & missed) != 0) {
+                return false;
+            }
+
+            for (int k = 0; k < shownCount; k++) {
+                int p = shown[k];
+                if (group.charAt(i, p) != toCode(board.charAt(p))) {
+                    return false;
+                }
+            }
+
+            // A letter on the board is shown everywhere it appears, so it can't also be hidden
+            if ((letters & boardLetters) != 0) {
+                for (int k = 0; k < hiddenCount; k++) {
+                    int letter = letterIndex(group.charAt(i, hidden[k]));
+                    if (letter >= 0 && (boardLetters & (1 << letter)) != 0) {
+                        return false;
+                    }
+                }
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * Starts tracking the phrases that fit a board as a game goes on
+     * @return returns an empty set of candidates, filled in by its first update
+     */
+    public Candidates newCandidates() {
+        return new Candidates();
+    }
+
+    /**
+     * The phrases that still fit the board of a game in progress. As letters are revealed, each update only
+     * rechecks the phrases that fitted the board before, so the set narrows without searching the corpus again.
+     * The set is a bitset over the phrases of the board's shape, so wrongly guessed letters are removed and
+     * letters counted a word at a time. A board that doesn't follow on from the previous one, such as the board
+     * of a new game, starts again from the corpus.
+     */
+    public final class Candidates {
+
+        private Group group;
+        // Bitset of the phrases in the group that fit, bit i for phrase i, or null while the whole group fits.
+        private long[] members;
+        private int count;
+        private String board = "";
+        private int guessedLetters;
+        // Guessed letters that weren't on the board as of the last update.
+        private int missed;
+
+        /**
+         * Initializes an empty set of candidates
+         */
+        private Candidates() {
+        }
+
+        /**
+         * Narrows the candidates to those that fit a phrase's board
+         * @param phrase phrase being played
+         */
+        public void update(Phrase phrase) {
+            update(phrase.getCurrentPhrase(), phrase.getGuessedLetters());
+        }
+
+        /**
+         * Narrows the candidates to those that fit a board
+         * @param board board as players see it, with underscores for hidden characters
+         * @param guessedLetters bitmask of the letters guessed so far
+         */
+        public void update(String board, int guessedLetters) {
+            if (board.equals(this.board) && guessedLetters == this.guessedLetters) {
+                return;
+            }
+
+            Query query = new Query(board, guessedLetters);
+            boolean revealed = !board.equals(this.board);
+
+            if (!followsOn(board, guessedLetters)) {
+                group = groups.get(shapeOf(board));
+                members = null;
+                count = group == null ? 0 : group.ids.length;
+                missed = 0;
+                revealed = query.shownCount > 0;
+            }
+            this.board = board;
+            this.guessedLetters = guessedLetters;
+
+            int newlyMissed = query.missed & ~missed;
+            missed = query.missed;
+            if (group == null || (newlyMissed == 0 && !revealed)) {
+                return;
+            }
+
+            int words = (group.ids.length + 63) >>> 6;
+            if (members == null) {
+                members = new long[words];
+                Arrays.fill(members, -1L);
+                members[words - 1] = -1L >>> (64 * words - group.ids.length);
+            }
+
+            // Drops phrases containing a wrongly guessed letter
+            if (newlyMissed != 0 && group.letterBits != null) {
+                for (int letters = newlyMissed; letters != 0; letters &= letters - 1) {
+                    int offset = Integer.numberOfTrailingZeros(letters) * words;
+                    for (int w = 0; w < words; w++) {
+                        members[w] &= ~group.letterBits[offset + w];
+                    }
+                }
+            } else if (newlyMissed != 0) {
+                for (int w = 0; w < words; w++) {
+                    for (long bits = members[w]; bits != 0; bits &= bits - 1) {
+                        int i = (w << 6) + Long.numberOfTrailingZeros(bits);
+                        if ((group.letterMasks[i] & newlyMissed) != 0) members[w] &= ~(1L << i);
+                    }
+                }
+            }
+
+            // Rechecks the remaining phrases against the new board, starting from the shortest posting list
+            if (revealed) {
+                int[] posting = query.shortestPosting(group);
+                if (posting != null) {
+                    long[] narrowed = new long[words];
+                    for (int i : posting) {
+                        narrowed[i >>> 6] |= members[i >>> 6] & (1L << i);
+                    }
+                    members = narrowed;
+                }
+
+                for (int w = 0; w < words; w++) {
+                    for (long bits = members[w]; bits != 0; bits &= bits - 1) {
+                        int i = (w << 6) + Long.numberOfTrailingZeros(bits);
+                        if (!query.fits(group, i)) members[w] &= ~(1L << i);
+                    }
+                }
+            }
+
+            count = 0;
+            for (long bits : members) {
+                count += Long.bitCount(bits);
+            }
+        }
+
+        /**
+         * Checks whether a board is the previous board with more revealed or guessed
+         * @param board new board
+         * @param guessedLetters new guessed letters
+         * @return returns true if the board has the same shape, keeps every revealed character and its guessed
+         * letters include the previous ones
+         */
+        private boolean followsOn(String board, int guessedLetters) {
+            if (group == null || board.length() != this.board.length()
+                    || (guessedLetters & this.guessedLetters) != this.guessedLetters) {
+                return false;
+            }
+
+            for (int p = 0; p < board.length(); p++) {
+                char previous = this.board.charAt(p);
+                if (previous != '_' && previous != board.charAt(p)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Counts the candidates containing each letter
+         * @param counts array of 26 counts to fill in, index 0 for A
+         * @return returns the counts
+         */
+        public int[] countLetters(int[] counts) {
+            Arrays.fill(counts, 0);
+            if (group == null) {
+                return counts;
+            }
+            if (members == null) {
+                System.arraycopy(group.getLetterCounts(), 0, counts, 0, ALPHABET_SIZE);
+                return counts;
+            }
+
+            if (group.letterBits != null) {
+                int words = members.length;
+                for (int letter = 0; letter < ALPHABET_SIZE; letter++) {
+                    int offset = letter * words;
+                    int n = 0;
+                    for (int w = 0; w < words; w++) {
+                        n += Long.bitCount(members[w] & group.letterBits[offset + w]);
+                    }
+                    counts[letter] = n;
+                }
+            } else {
+                for (int w = 0; w < members.length; w++) {
+                    for (long bits = members[w]; bits != 0; bits &= bits - 1) {
+                        int i = (w << 6) + Long.numberOfTrailingZeros(bits);
+                        for (int letters = group.letterMasks[i]; letters != 0; letters &= letters - 1) {
+                            counts[Integer.numberOfTrailingZeros(letters)]++;
+                        }
+                    }
+                }
+            }
+            return counts;
+        }
+
+        /**
+         * Picks candidates at random, each equally likely, visiting every candidate once
+         * @param max most candidates to pick
+         * @param rand source of randomness
+         * @return returns the corpus indexes of up to max candidates, all of them if there are no more than max
+         */
+        public int[] sample(int max, Random rand) {
+            int needed = Math.min(max, count);
+            int[] picked = new int[needed];
+            int remaining = count;
+            int n = 0;
+
+            // Selection sampling: each candidate is picked with chance needed / remaining
+            for (int i = 0; n < needed; i++) {
+                if (members != null && (members[i >>> 6] & (1L << i)) == 0) continue;
+                if (rand.nextInt(remaining--) < needed - n) {
+                    picked[n++] = group.ids[i];
+                }
+            }
+            return picked;
+        }
+
+        /**
+         * Gets a candidate's index in the corpus
+         * @param k index of the candidate, from 0 to size() - 1
+         * @return returns the corpus index of the phrase
+         */
+        public int get(int k) {
+            if (members == null) {
+                return group.ids[k];
+            }
+
+            for (int w = 0; w < members.length; w++) {
+                int n = Long.bitCount(members[w]);
+                if (k < n) {
+                    long bits = members[w];
+                    for (int skip = 0; skip < k; skip++) {
+                        bits &= bits - 1;
+                    }
+                    return group.ids[(w << 6) + Long.numberOfTrailingZeros(bits)];
+                }
+                k -= n;
+            }
+            throw new IndexOutOfBoundsException("Candidate " + k + " of " + count);
+        }
+
+        /**
+         * Gets a candidate phrase
+         * @param k index of the candidate, from 0 to size() - 1
+         * @return returns the phrase
+         */
+        public String getPhrase(int k) {
+            return corpus.get(get(k));
+        }
+
+        /**
+         * Gets the number of phrases that fit the board
+         * @return returns the number of candidates
+         */
+        public int size() {
+            return count;
+        }
+    }
+
+    /**
+     * Finds every phrase that fits a board, decoding each one
+     * @param board board as players see it, with underscores for hidden characters
+     * @param guessedLetters bitmask of the letters guessed so far
+     * @return returns the matching phrases
+     */
+    public List<String> solutions(String board, int guessedLetters) {
+        int[] matches = solve(board, guessedLetters);
+        List<String> phrases = new ArrayList<>(matches.length);
+
+        for (int id : matches) {
+            phrases.add(corpus.get(id));
+        }
+        return phrases;
+    }
+
+    /**
+     * Gets the shape of a phrase or board: its spaces, with every other character replaced by an underscore
+     * @param phrase phrase or board
+     * @return returns the shape key
+     */
+    private static String shapeOf(String phrase) {
+        char[] shape = new char[phrase.length()];
+        for (int i = 0; i < shape.length; i++) {
+            shape[i] = phrase.charAt(i) == ' ' ? ' ' : '_';
+        }
+        return new String(shape);
+    }
+
+    /**
+     * Gets the stored code of a character, its upper case ASCII value
+     * @param c character of a phrase
+     * @return returns the character's code
+     */
+    private static byte toCode(char c) {
+        char upper = (c >= 'a' && c <= 'z') ? (char) (c - 32) : c;
+        return upper < 0x7F ? (byte) upper : OTHER;
+    }
+
+    /**
+     * Gets the alphabet index of a stored character
+     * @param code stored character code
+     * @return returns 0-25 for letters A-Z, or -1 if the character is not a letter
+     */
+    private static int letterIndex(byte code) {
+        return (code >= 'A' && code <= 'Z') ? code - 'A' : -1;
+    }
+
+    //------------------ GETTERS AND SETTERS ---------------------//
+
+    /**
+     * Gets the corpus being searched
+     * @return returns the corpus
+     */
+    public PhraseCorpus getCorpus() {
+        return corpus;
+    }
+
+    /**
+     * Gets the number of distinct phrase shapes in the corpus
+     * @return returns the number of shape groups
+     */
+    public int getShapeCount() {
+        return groups.size();
+    }
+}
@@ -0,0 +1,114 @@
+package game;
+
+/**
+ * Lifetime statistics of one player, by name. Also used for the change one game makes to them, which is added to
+ * the stored totals when the game ends.
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public final class PlayerStats {
+
+    //Declares class fields
+    private final String name;
+    private final long gamesPlayed;
+    private final long wins;
+    private final long totalWinnings;
+    private final long bankrupts;
+    private final long vowelsBought;
+
+    /**
+     * Initializes player statistics
+     * @param name name of the player
+     * @param gamesPlayed number of games played
+     * @param wins number of games won
+     * @param totalWinnings sum of the player's final scores
+     * @param bankrupts number of spins that landed on bankrupt
+     * @param vowelsBought number of vowels bought
+     */
+    public PlayerStats(String name, long gamesPlayed, long wins, long totalWinnings, long bankrupts, long vowelsBought) {
+        this.name = name;
+        this.gamesPlayed = gamesPlayed;
+        this.wins = wins;
+        this.totalWinnings = totalWinnings;
+        this.bankrupts = bankrupts;
+        this.vowelsBought = vowelsBought;
+    }
+
+    /**
+     * Gets the statistics of one finished game for a player
+     * @param game game that has ended
+     * @param player player in the game
+     * @return returns one game's statistics, counting the player's final score as their winnings
+     */
+    public static PlayerStats fromGame(Game game, Player player) {
+        return new PlayerStats(player.getName(), 1, game.getWinner() == player ? 1 : 0, player.getScore(),
+                player.getBankrupts(), player.getVowelsBought());
+    }
+
+    /**
+     * Adds statistics of the same player to these
+     * @param other statistics to add
+     * @return returns the combined statistics
+     */
+    public PlayerStats add(PlayerStats other) {
+        return new PlayerStats(name, gamesPlayed + other.gamesPlayed, wins + other.wins,
+                totalWinnings + other.totalWinnings, bankrupts + other.bankrupts, vowelsBought + other.vowelsBought);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d games, %d wins, %d winnings, %d bankrupts, %d vowels bought", name, gamesPlayed,
+                wins, totalWinnings, bankrupts, vowelsBought);
+    }
+
+    //------------------ GETTERS AND SETTERS ---------------------//
+
+    /**
+     * Gets the name of the player
+     * @return returns the player's name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the number of games the player has played
+     * @return returns the number of games played
+     */
+    public long getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    /**
+     * Gets the number of games the player has won
+     * @return returns the number of wins
+     */
+    public long getWins() {
+        return wins;
+    }
+
+    /**
+     * Gets the sum of the player's final scores
+     * @return returns the player's total winnings
+     */
+    public long getTotalWinnings() {
+        return totalWinnings;
+    }
+
+    /**
+     * Gets the number of the player's spins that landed on bankrupt
+     * @return returns the number of bankrupts
+     */
+    public long getBankrupts() {
+        return bankrupts;
+    }
+
+    /**
+     * Gets the number of vowels the player has bought
+     * @return returns the number of vowels bought
+     */
+    public long getVowelsBought() {
+        return vowelsBought;
+    }
+}
@@ -0,0 +1,809 @@
+package game;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * Lifetime statistics of every player by name, kept in two files in a directory: an append-only log and an
+ * indexed snapshot. Updating a player appends a record of their new totals to the log, so the latest record for a
+ * name is always the current one. Once the log passes a size limit it is compacted: the current record of every
+ * player is copied into a new snapshot, which replaces the old one, and the log is emptied.
+ *
+ * <p>Records stay on disk. The heap only holds a hash index from a 64-bit hash of each name to the file and offset of
+ * its current record, 16 bytes a slot, so a lookup is one probe and one read. The snapshot ends with a copy of the
+ * index, so opening the store reads the index in one go and only scans the log written since the last
+ * compaction. Because log records hold totals rather than changes, replaying a log over a snapshot it was already
+ * compacted into gives the same totals, and a crash part way through compaction loses nothing.</p>
+ *
+ * <p>Updates are queued from any thread, usually the EDT, and written in batches by one background thread, which
+ * is the only thread that changes the files or the index.</p>
+ *
+ * <p>Record format, big-endian: name length in bytes (unsigned short), UTF-8 name, games played, wins, total
+ * winnings, bankrupts and vowels bought (longs), then a CRC32 of the record (int). Snapshot format: magic,
+ * version, player count, index capacity (ints), index offset (long), the records, then the hash of every index
+ * slot followed by the location of every slot (longs).</p>
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public final class PlayerStatsStore implements Closeable {
+
+    //Declares class fields
+    // System property naming the directory the statistics are kept in.
+    public static final String DIR_PROPERTY = "wheeloffortune.stats";
+    public static final String LOG_FILE = "players.log";
+    public static final String SNAPSHOT_FILE = "players.snapshot";
+    // Log size at which the log is compacted into the snapshot.
+    public static final long DEFAULT_COMPACT_BYTES = 64L << 20;
+    // Time updates wait so that updates close together are written as one batch.
+    public static final long BATCH_DELAY_MILLIS = 50;
+
+    private static final int MAGIC = 0x57505354;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 24;
+    // Bytes of a record other than the name.
+    private static final int RECORD_OVERHEAD = 2 + 5 * 8 + 4;
+    private static final int MAX_NAME_BYTES = 0xFFFF;
+    // Bytes read for a record lookup, enough for any usual name in one read.
+    private static final int READ_AHEAD = 128;
+    private static final int CHUNK_BYTES = 1 << 20;
+    // Marks an index location in the log rather than the snapshot.
+    private static final long LOG_BIT = 1L << 62;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final double MAX_LOAD = 0.7;
+
+    private final Path logPath;
+    private final Path snapshotPath;
+    private final long compactBytes;
+    private FileChannel log;
+    private FileChannel snapshot;
+    private long logSize;
+
+    // Open-addressing hash index: hash of each slot's name, 0 for an empty slot, and where its record is.
+    private long[] hashes;
+    private long[] locations;
+    private int count;
+    // Guards the index and the files against lookups while the writer changes them.
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Queue<PlayerStats> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean writeScheduled = new AtomicBoolean();
+    // Null for a store that keeps nothing
+    private final ScheduledExecutorService writer;
+    private volatile boolean closed;
+
+    /**
+     * Holds the default store, opened the first time it is used, or a store that keeps nothing if it can't be
+     */
+    private static final class DefaultHolder {
+        static final PlayerStatsStore DEFAULT = openDefault();
+    }
+
+    /**
+     * Opens a store in a directory, creating it if needed, and rebuilds its index
+     * @param dir directory holding the store's files
+     * @param compactBytes log size at which the log is compacted into the snapshot
+     * @throws IOException if the files can't be read or created
+     */
+    public PlayerStatsStore(Path dir, long compactBytes) throws IOException {
+        Files.createDirectories(dir);
+        this.logPath = dir.resolve(LOG_FILE);
+        this.snapshotPath = dir.resolve(SNAPSHOT_FILE);
+        this.compactBytes = compactBytes;
+
+        // A snapshot left half written by a crash during compaction is dropped, the old one is still whole
+        Files.deleteIfExists(tempSnapshotPath());
+        if (!Files.exists(snapshotPath)) {
+            writeEmptySnapshot();
+        }
+        snapshot = FileChannel.open(snapshotPath, StandardOpenOption.READ);
+        try {
+            log = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            loadSnapshotIndex();
+            replayLog();
+        } catch (IOException | RuntimeException e) {
+            snapshot.close();
+            if (log != null) {
+                log.close();
+            }
+            throw e;
+        }
+
+        writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "player-stats");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Initializes a store that keeps nothing, for when the default store can't be opened. Updates are dropped
+     * and every player reads as never having played.
+     */
+    private PlayerStatsStore() {
+        this.logPath = null;
+        this.snapshotPath = null;
+        this.compactBytes = 0;
+        this.hashes = new long[INITIAL_CAPACITY];
+        this.locations = new long[INITIAL_CAPACITY];
+        this.writer = null;
+    }
+
+    /**
+     * Opens a store in a directory with the default compaction size
+     * @param dir directory holding the store's files
+     * @throws IOException if the files can't be read or created
+     */
+    public PlayerStatsStore(Path dir) throws IOException {
+        this(dir, DEFAULT_COMPACT_BYTES);
+    }
+
+    /**
+     * Opens the store in the directory named by the {@value #DIR_PROPERTY} system property, or in .wheeloffortune
+     * in the user's home directory. Pending updates are written when the program exits. If the directory can't be
+     * written or the files can't be read, says so once and gives a store that keeps nothing, so the game plays on
+     * without statistics.
+     * @return returns the opened store, or a store that keeps nothing
+     */
+    private static PlayerStatsStore openDefault() {
+        String dir = System.getProperty(DIR_PROPERTY);
+        Path path = dir != null ? Paths.get(dir) : Paths.get(System.getProperty("user.home"), ".wheeloffortune");
+
+        try {
+            PlayerStatsStore store = new PlayerStatsStore(path);
+            Runtime.getRuntime().addShutdownHook(new Thread(store::close, "player-stats-shutdown"));
+            return store;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Player statistics unavailable, not saving them: " + e);
+            return new PlayerStatsStore();
+        }
+    }
+
+    /**
+     * Gets the store shared by the game, opening it on first use. Never fails, see {@link #isPersistent()}.
+     * @return returns the default store
+     */
+    public static PlayerStatsStore getDefault() {
+        return DefaultHolder.DEFAULT;
+    }
+
+    /**
+     * Queues the statistics of every player in a finished game, to be added to their totals in the background
+     * @param game game that has ended
+     */
+    public void recordGame(Game game) {
+        for (Player player : game.getPlayerList()) {
+            record(PlayerStats.fromGame(game, player));
+        }
+    }
+
+    /**
+     * Queues statistics to add to a player's totals in the background. Updates queued close together are written
+     * as one batch. Updates are dropped once the store is closed, or if it keeps nothing.
+     * @param change statistics to add
+     */
+    public void record(PlayerStats change) {
+        if (change.getName().getBytes(StandardCharsets.UTF_8).length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("Player name is too long to store");
+        }
+        if (writer == null || closed) {
+            return;
+        }
+
+        pending.add(change);
+        if (writeScheduled.compareAndSet(false, true)) {
+            try {
+                writer.schedule(() -> {
+                    writeScheduled.set(false);
+                    writePending();
+                }, BATCH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // The store was closed since the check above, so the update is dropped like any after closing
+            }
+        }
+    }
+
+    /**
+     * Writes every update queued so far without waiting for the batch delay
+     * @return returns a future completed once the updates are written
+     */
+    public CompletableFuture<Void> flush() {
+        if (writer == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(this::writePending, writer);
+    }
+
+    /**
+     * Compacts the log into the snapshot on the background thread, whatever the size of the log
+     * @return returns a future completed once the compaction is done
+     */
+    public CompletableFuture<Void> compact() {
+        if (writer == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> {
+            writePending();
+            try {
+                compactLog();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }, writer);
+    }
+
+    /**
+     * Gets a player's lifetime statistics, as of the last batch written
+     * @param name name of the player
+     * @return returns the player's statistics, or null if they have never finished a game
+     */
+    public PlayerStats get(String name) {
+        long hash = hash(name);
+        lock.readLock().lock();
+        try {
+            int slot = findSlot(name, hash);
+            return slot >= 0 ? readRecord(locations[slot]) : null;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the queued updates to the players' totals and appends them to the log in one write. Runs on the
+     * background thread only.
+     */
+    private void writePending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Several games for one player in a batch become one record
+        Map<String, PlayerStats> batch = new LinkedHashMap<>();
+        for (PlayerStats change; (change = pending.poll()) != null; ) {
+            batch.merge(change.getName(), change, PlayerStats::add);
+        }
+
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(batch.size() * (RECORD_OVERHEAD + 32));
+            int[] offsets = new int[batch.size()];
+            long[] batchHashes = new long[batch.size()];
+            String[] names = new String[batch.size()];
+
+            int i = 0;
+            for (PlayerStats change : batch.values()) {
+                String name = change.getName();
+                long hash = hash(name);
+                int slot = findSlot(name, hash);
+                PlayerStats total = slot >= 0 ? readRecord(locations[slot]).add(change) : change;
+
+                byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+                if (buffer.remaining() < RECORD_OVERHEAD + nameBytes.length) {
+                    buffer = grow(buffer, RECORD_OVERHEAD + nameBytes.length);
+                }
+                offsets[i] = buffer.position();
+                batchHashes[i] = hash;
+                names[i] = name;
+                putRecord(buffer, nameBytes, total);
+                i++;
+            }
+
+            buffer.flip();
+            long start = logSize;
+            while (buffer.hasRemaining()) {
+                log.write(buffer, start + buffer.position());
+            }
+            log.force(false);
+
+            lock.writeLock().lock();
+            try {
+                logSize = start + buffer.limit();
+                for (int k = 0; k < names.length; k++) {
+                    put(names[k], batchHashes[k], (start + offsets[k]) | LOG_BIT);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            if (logSize >= compactBytes) {
+                compactLog();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Copies the current record of every player into a new snapshot, swaps it in and empties the log. Runs on
+     * the background thread only, which is the only writer, so lookups go on while the records are copied.
+     * @throws IOException if the files can't be read or written
+     */
+    private void compactLog() throws IOException {
+        Path temp = tempSnapshotPath();
+        long[] newLocations = new long[locations.length];
+
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(CHUNK_BYTES);
+            long position = HEADER_BYTES;
+
+            for (int slot = 0; slot < hashes.length; slot++) {
+                if (hashes[slot] == 0) continue;
+
+                PlayerStats stats = readRecord(locations[slot]);
+                byte[] nameBytes = stats.getName().getBytes(StandardCharsets.UTF_8);
+                if (buffer.remaining() < RECORD_OVERHEAD + nameBytes.length) {
+                    position += writeBuffer(out, buffer, position);
+                }
+                newLocations[slot] = position + buffer.position();
+                putRecord(buffer, nameBytes, stats);
+            }
+            position += writeBuffer(out, buffer, position);
+
+            writeIndex(out, position, hashes, newLocations);
+            writeHeader(out, count, hashes.length, position);
+            out.force(true);
+        }
+        Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        lock.writeLock().lock();
+        try {
+            snapshot.close();
+            snapshot = FileChannel.open(snapshotPath, StandardOpenOption.READ);
+            locations = newLocations;
+            log.truncate(0);
+            log.force(true);
+            logSize = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Writes a snapshot holding no players
+     * @throws IOException if the file can't be written
+     */
+    private void writeEmptySnapshot() throws IOException {
+        Path temp = tempSnapshotPath();
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            writeIndex(out, HEADER_BYTES, new long[INITIAL_CAPACITY], new long[INITIAL_CAPACITY]);
+            writeHeader(out, 0, INITIAL_CAPACITY, HEADER_BYTES);
+            out.force(true);
+        }
+        Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Writes the header of a snapshot
+     * @param out snapshot file
+     * @param players number of players in the snapshot
+     * @param capacity number of index slots
+     * @param indexOffset offset of the index, after the records
+     * @throws IOException if the file can't be written
+     */
+    private static void writeHeader(FileChannel out, int players, int capacity, long indexOffset) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putInt(players).putInt(capacity).putLong(indexOffset).flip();
+        while (header.hasRemaining()) {
+            out.write(header, header.position());
+        }
+    }
+
+    /**
+     * Writes the hash index at the end of a snapshot, every slot's hash and then every slot's location
+     * @param out snapshot file
+     * @param position offset to write the index at
+     * @param slotHashes hash of each slot
+     * @param slotLocations location of each slot's record in the snapshot
+     * @throws IOException if the file can't be written
+     */
+    private static void writeIndex(FileChannel out, long position, long[] slotHashes, long[] slotLocations)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK_BYTES);
+        for (long[] values : new long[][] { slotHashes, slotLocations }) {
+            for (long value : values) {
+                if (buffer.remaining() < Long.BYTES) {
+                    position += writeBuffer(out, buffer, position);
+                }
+                buffer.putLong(value);
+            }
+        }
+        writeBuffer(out, buffer, position);
+    }
+
+    /**
+     * Writes out and clears a buffer of records
+     * @param out file to write to
+     * @param buffer buffer filled up to its position
+     * @param position offset in the file to write at
+     * @return returns the number of bytes written
+     * @throws IOException if the file can't be written
+     */
+    private static int writeBuffer(FileChannel out, ByteBuffer buffer, long position) throws IOException {
+        buffer.flip();
+        int bytes = buffer.limit();
+        while (buffer.hasRemaining()) {
+            out.write(buffer, position + buffer.position());
+        }
+        buffer.clear();
+        return bytes;
+    }
+
+    /**
+     * Reads the hash index stored at the end of the snapshot
+     * @throws IOException if the snapshot can't be read or isn't a snapshot
+     */
+    private void loadSnapshotIndex() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        readFully(snapshot, header, 0);
+        if (header.position() < HEADER_BYTES || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IOException(snapshotPath + " is not a player statistics snapshot");
+        }
+
+        count = header.getInt(8);
+        int capacity = header.getInt(12);
+        long indexOffset = header.getLong(16);
+        hashes = new long[capacity];
+        locations = new long[capacity];
+
+        // Read rather than mapped, as a mapped file can't be replaced on some systems until it is unmapped
+        ByteBuffer chunk = ByteBuffer.allocate(CHUNK_BYTES);
+        long position = indexOffset;
+        for (long[] values : new long[][] { hashes, locations }) {
+            for (int i = 0; i < capacity; ) {
+                chunk.clear().limit(Math.min(CHUNK_BYTES, (capacity - i) * Long.BYTES));
+                readFully(snapshot, chunk, position);
+                if (chunk.hasRemaining()) {
+                    throw new IOException(snapshotPath + " is truncated");
+                }
+                position += chunk.limit();
+
+                LongBuffer longs = chunk.flip().asLongBuffer();
+                int n = longs.remaining();
+                longs.get(values, i, n);
+                i += n;
+            }
+        }
+    }
+
+    /**
+     * Adds every whole record in the log to the index, and cuts off a record left half written by a crash
+     * @throws IOException if the log can't be read
+     */
+    private void replayLog() throws IOException {
+        long size = log.size();
+        long offset = 0;
+        ByteBuffer chunk = ByteBuffer.allocate(CHUNK_BYTES);
+
+        while (offset < size) {
+            chunk.clear();
+            readFully(log, chunk, offset);
+            int end = chunk.position();
+
+            // A chunk always holds at least one whole record, so stopping at its start means the log ends early
+            int position = 0;
+            while (true) {
+                int length = recordLength(chunk, position, end);
+                if (length < 0 || !checksumMatches(chunk, position, length)) break;
+
+                String name = readName(chunk, position);
+                put(name, hash(name), (offset + position) | LOG_BIT);
+                position += length;
+            }
+
+            if (position == 0) break;
+            offset += position;
+            if (position < end && end < chunk.capacity()) break;
+        }
+
+        if (offset < size) {
+            log.truncate(offset);
+        }
+        logSize = offset;
+    }
+
+    /**
+     * Finds the index slot of a name
+     * @param name name to find
+     * @param hash hash of the name
+     * @return returns the slot holding the name, or -1 - the empty slot where it would go
+     * @throws IOException if a record with the same hash can't be read
+     */
+    private int findSlot(String name, long hash) throws IOException {
+        int mask = hashes.length - 1;
+        for (int slot = (int) mix(hash) & mask; ; slot = (slot + 1) & mask) {
+            if (hashes[slot] == 0) {
+                return -1 - slot;
+            }
+            // Names with the same 64-bit hash are told apart by reading their records
+            if (hashes[slot] == hash && readRecord(locations[slot]).getName().equals(name)) {
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Points the index at a name's newest record, adding the name if it is new
+     * @param name name of the player
+     * @param hash hash of the name
+     * @param location file and offset of the record
+     * @throws IOException if a record with the same hash can't be read
+     */
+    private void put(String name, long hash, long location) throws IOException {
+        int slot = findSlot(name, hash);
+        if (slot >= 0) {
+            locations[slot] = location;
+            return;
+        }
+
+        if (count + 1 > hashes.length * MAX_LOAD) {
+            resize();
+            slot = findSlot(name, hash);
+        }
+        slot = -1 - slot;
+        hashes[slot] = hash;
+        locations[slot] = location;
+        count++;
+    }
+
+    /**
+     * Doubles the number of index slots, which only needs the stored hashes
+     */
+    private void resize() {
+        long[] oldHashes = hashes;
+        long[] oldLocations = locations;
+        hashes = new long[oldHashes.length * 2];
+        locations = new long[oldHashes.length * 2];
+
+        int mask = hashes.length - 1;
+        for (int i = 0; i < oldHashes.length; i++) {
+            if (oldHashes[i] == 0) continue;
+
+            int slot = (int) mix(oldHashes[i]) & mask;
+            while (hashes[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            hashes[slot] = oldHashes[i];
+            locations[slot] = oldLocations[i];
+        }
+    }
+
+    /**
+     * Reads the record at an index location
+     * @param location file and offset of the record
+     * @return returns the statistics in the record
+     * @throws IOException if the record can't be read or is damaged
+     */
+    private PlayerStats readRecord(long location) throws IOException {
+        FileChannel channel = (location & LOG_BIT) != 0 ? log : snapshot;
+        long offset = location & ~LOG_BIT;
+
+        ByteBuffer buffer = ByteBuffer.allocate(READ_AHEAD);
+        readFully(channel, buffer, offset);
+        int length = recordLength(buffer, 0, buffer.position());
+        if (length < 0 && buffer.position() >= 2) {
+            // Name longer than the read-ahead
+            buffer = ByteBuffer.allocate(RECORD_OVERHEAD + (buffer.getShort(0) & 0xFFFF));
+            readFully(channel, buffer, offset);
+            length = recordLength(buffer, 0, buffer.position());
+        }
+        if (length < 0 || !checksumMatches(buffer, 0, length)) {
+            throw new IOException("Damaged player statistics record at " + offset);
+        }
+
+        int position = 2 + (buffer.getShort(0) & 0xFFFF);
+        return new PlayerStats(readName(buffer, 0), buffer.getLong(position), buffer.getLong(position + 8),
+                buffer.getLong(position + 16), buffer.getLong(position + 24), buffer.getLong(position + 32));
+    }
+
+    /**
+     * Appends a record to a buffer
+     * @param buffer buffer with room for the record
+     * @param nameBytes UTF-8 name of the player
+     * @param stats statistics to write
+     */
+    private static void putRecord(ByteBuffer buffer, byte[] nameBytes, PlayerStats stats) {
+        int start = buffer.position();
+        buffer.putShort((short) nameBytes.length).put(nameBytes)
+                .putLong(stats.getGamesPlayed()).putLong(stats.getWins()).putLong(stats.getTotalWinnings())
+                .putLong(stats.getBankrupts()).putLong(stats.getVowelsBought());
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), buffer.arrayOffset() + start, buffer.position() - start);
+        buffer.putInt((int) crc.getValue());
+    }
+
+    /**
+     * Gets the length of the record starting at a position of a buffer
+     * @param buffer buffer holding records
+     * @param position start of the record
+     * @param end end of the bytes read into the buffer
+     * @return returns the record length, or -1 if the whole record isn't in the buffer
+     */
+    private static int recordLength(ByteBuffer buffer, int position, int end) {
+        if (end - position < 2) {
+            return -1;
+        }
+        int length = RECORD_OVERHEAD + (buffer.getShort(position) & 0xFFFF);
+        return end - position >= length ? length : -1;
+    }
+
+    /**
+     * Checks the CRC32 at the end of a record
+     * @param buffer buffer holding the record
+     * @param position start of the record
+     * @param length length of the record
+     * @return returns true if the record is undamaged
+     */
+    private static boolean checksumMatches(ByteBuffer buffer, int position, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), buffer.arrayOffset() + position, length - 4);
+        return (int) crc.getValue() == buffer.getInt(position + length - 4);
+    }
+
+    /**
+     * Decodes the name of the record starting at a position of a buffer
+     * @param buffer buffer holding the record
+     * @param position start of the record
+     * @return returns the player's name
+     */
+    private static String readName(ByteBuffer buffer, int position) {
+        int length = buffer.getShort(position) & 0xFFFF;
+        return new String(buffer.array(), buffer.arrayOffset() + position + 2, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads from a file until the buffer is full or the file ends
+     * @param channel file to read
+     * @param buffer empty buffer to fill
+     * @param offset offset in the file to read from
+     * @throws IOException if the file can't be read
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) break;
+        }
+    }
+
+    /**
+     * Makes a buffer with room for more records
+     * @param buffer buffer filled up to its position
+     * @param needed bytes still to fit
+     * @return returns a bigger buffer holding the same records
+     */
+    private static ByteBuffer grow(ByteBuffer buffer, int needed) {
+        ByteBuffer bigger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + needed));
+        buffer.flip();
+        return bigger.put(buffer);
+    }
+
+    /**
+     * Gets the 64-bit FNV-1a hash of a name, never 0 since 0 marks an empty slot
+     * @param name name to hash
+     * @return returns the hash
+     */
+    private static long hash(String name) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < name.length(); i++) {
+            hash ^= name.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * Spreads a hash's bits so that its low bits pick a slot evenly
+     * @param hash hash to mix
+     * @return returns the mixed hash
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        return hash ^ (hash >>> 33);
+    }
+
+    /**
+     * Gets the path a new snapshot is written to before it replaces the old one
+     * @return returns the temporary snapshot path
+     */
+    private Path tempSnapshotPath() {
+        return snapshotPath.resolveSibling(SNAPSHOT_FILE + ".tmp");
+    }
+
+    /**
+     * Writes the queued updates and closes the files
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (writer == null) {
+            return;
+        }
+
+        try {
+            flush().join();
+            writer.shutdown();
+            writer.awaitTermination(1, TimeUnit.MINUTES);
+            log.close();
+            snapshot.close();
+        } catch (IOException | InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    //------------------ GETTERS AND SETTERS ---------------------//
+
+    /**
+     * Checks whether the store keeps statistics on disk
+     * @return returns false for the store that keeps nothing, used when the default store couldn't be opened
+     */
+    public boolean isPersistent() {
+        return writer != null;
+    }
+
+    /**
+     * Gets the number of players with statistics
+     * @return returns the number of players
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the size of the log written since the last compaction
+     * @return returns the log size in bytes
+     */
+    public long getLogSize() {
+        lock.readLock().lock();
+        try {
+            return logSize;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Prints the lifetime statistics of players from the command line
+     *
+     * @param args names of the players
+     */
+    public static void main(String[] args) {
+        PlayerStatsStore store = getDefault();
+        for (String name : args) {
+            PlayerStats stats = store.get(name);
+            System.out.println(stats != null ? stats : name + ": no games played");
+        }
+    }
+}
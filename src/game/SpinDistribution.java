@@ -0,0 +1,288 @@
+package game;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Exact chance of a random spin stopping on each segment of the wheel, for every angle the wheel can start at.
+ *
+ * <p>A random spin starts with a velocity drawn uniformly from {@link Wheel#MIN_SPIN_VELOCITY} to
+ * {@link Wheel#MIN_SPIN_VELOCITY} + {@link Wheel#SPIN_VELOCITY_RANGE} and loses {@link Wheel#WHEEL_FRICTION} each
+ * tick. The distance it turns is a continuous, increasing function of the velocity, linear between the velocities
+ * at which the number of ticks changes. It can therefore be inverted exactly. The chance of stopping on a
+ * segment is the total width of the velocities whose distance lands in that segment, divided by the range of
+ * velocities.</p>
+ *
+ * <p>The chances are tabulated at {@link #START_ANGLE_STEPS} start angles. Each start angle has an alias table,
+ * so a spin outcome can be sampled in constant time. Between two tabulated angles, the sample comes from one of
+ * the two neighbouring rows, picked in proportion to how close the angle is. The result follows the linear
+ * interpolation of the two rows.</p>
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public final class SpinDistribution {
+
+    //Declares class fields
+    // Tabulated start angles, one every quarter of a degree.
+    public static final int START_ANGLE_STEPS = 1440;
+    private static final double MAX_SPIN_VELOCITY = Wheel.MIN_SPIN_VELOCITY + Wheel.SPIN_VELOCITY_RANGE;
+    private static final double MIN_DISTANCE = distance(Wheel.MIN_SPIN_VELOCITY);
+    private static final double MAX_DISTANCE = distance(MAX_SPIN_VELOCITY);
+
+    private final int segmentCount;
+    private final double segmentAngle;
+    // Chance of each segment from each tabulated start angle: probabilities[step * segmentCount + segment].
+    private final double[] probabilities;
+    // Alias tables laid out like probabilities: keep segment j with chance aliasChances[i], otherwise use aliases[i].
+    private final double[] aliasChances;
+    private final int[] aliases;
+
+    private static final class DefaultHolder {
+        static final SpinDistribution DEFAULT = new SpinDistribution(new Wheel().getSegments().size());
+    }
+
+    /**
+     * Initializes distribution and builds its tables
+     * @param segmentCount number of equal segments on the wheel
+     */
+    public SpinDistribution(int segmentCount) {
+        this.segmentCount = segmentCount;
+        this.segmentAngle = 360.0 / segmentCount;
+        probabilities = new double[START_ANGLE_STEPS * segmentCount];
+        aliasChances = new double[probabilities.length];
+        aliases = new int[probabilities.length];
+
+        for (int step = 0; step < START_ANGLE_STEPS; step++) {
+            int row = step * segmentCount;
+            for (int segment = 0; segment < segmentCount; segment++) {
+                probabilities[row + segment] = probability(getStartAngle(step), segment);
+            }
+            buildAliasTable(row);
+        }
+    }
+
+    /**
+     * Gets the distribution for the standard wheel, building it on first use
+     * @return returns the default distribution
+     */
+    public static SpinDistribution getDefault() {
+        return DefaultHolder.DEFAULT;
+    }
+
+    /**
+     * Gets the distance a spin turns the wheel, in degrees, as Wheel does
+     * @param velocity starting velocity of the spin
+     * @return returns the total distance turned before the wheel stops
+     */
+    private static double distance(double velocity) {
+        int ticks = Wheel.ticksToStop(velocity);
+        return ticks * velocity - Wheel.WHEEL_FRICTION * ticks * (ticks - 1) / 2.0;
+    }
+
+    /**
+     * Gets the starting velocity of the spin that turns the wheel a distance, the inverse of distance(velocity).
+     * A spin lasting t ticks starts faster than (t - 1) * friction and turns the wheel more than
+     * friction * t * (t - 1) / 2 degrees.
+     * @param distance distance turned, between the shortest and longest random spin
+     * @return returns the starting velocity
+     */
+    private static double velocity(double distance) {
+        double friction = Wheel.WHEEL_FRICTION;
+        int ticks = (int) Math.ceil((Math.sqrt(1 + 8 * distance / friction) - 1) / 2);
+        // Corrects the rounding of the square root at the boundaries between tick counts
+        while (ticks > 1 && friction * ticks * (ticks - 1) / 2.0 >= distance) ticks--;
+        while (friction * ticks * (ticks + 1) / 2.0 < distance) ticks++;
+        return (distance + friction * ticks * (ticks - 1) / 2.0) / ticks;
+    }
+
+    /**
+     * Works out the exact chance of a random spin stopping on a segment
+     * @param startAngle angle of the wheel before the spin
+     * @param segment index of the segment
+     * @return returns the chance of the spin stopping on the segment
+     */
+    public double probability(double startAngle, int segment) {
+        // The wheel stops on the segment when the distance turned is in one of these windows, a turn apart
+        double low = segment * segmentAngle - startAngle;
+        double high = low + segmentAngle;
+        int firstTurn = (int) Math.floor((MIN_DISTANCE - high) / 360);
+        int lastTurn = (int) Math.ceil((MAX_DISTANCE - low) / 360);
+
+        double width = 0;
+        for (int turn = firstTurn; turn <= lastTurn; turn++) {
+            double from = Math.max(low + 360.0 * turn, MIN_DISTANCE);
+            double to = Math.min(high + 360.0 * turn, MAX_DISTANCE);
+            if (to > from) {
+                width += velocity(to) - velocity(from);
+            }
+        }
+        return width / Wheel.SPIN_VELOCITY_RANGE;
+    }
+
+    /**
+     * Builds the alias table of one start angle with Vose's method
+     * @param row index of the start angle's first segment in the tables
+     */
+    private void buildAliasTable(int row) {
+        double[] scaled = new double[segmentCount];
+        Deque<Integer> small = new ArrayDeque<>();
+        Deque<Integer> large = new ArrayDeque<>();
+        for (int j = 0; j < segmentCount; j++) {
+            scaled[j] = probabilities[row + j] * segmentCount;
+            (scaled[j] < 1 ? small : large).push(j);
+        }
+
+        while (!small.isEmpty() && !large.isEmpty()) {
+            int less = small.pop();
+            int more = large.pop();
+            aliasChances[row + less] = scaled[less];
+            aliases[row + less] = more;
+            scaled[more] -= 1 - scaled[less];
+            (scaled[more] < 1 ? small : large).push(more);
+        }
+        // Whatever is left is 1 up to rounding
+        while (!large.isEmpty()) {
+            int j = large.pop();
+            aliasChances[row + j] = 1;
+            aliases[row + j] = j;
+        }
+        while (!small.isEmpty()) {
+            int j = small.pop();
+            aliasChances[row + j] = 1;
+            aliases[row + j] = j;
+        }
+    }
+
+    /**
+     * Samples the segment a random spin stops on, in constant time
+     * @param startAngle angle of the wheel before the spin
+     * @param rand source of randomness
+     * @return returns the index of the segment the spin stops on
+     */
+    public int sample(double startAngle, Random rand) {
+        double position = normalize(startAngle) / 360 * START_ANGLE_STEPS;
+        int step = (int) position;
+        if (rand.nextDouble() < position - step) {
+            step++;
+        }
+        int row = (step % START_ANGLE_STEPS) * segmentCount;
+
+        int j = rand.nextInt(segmentCount);
+        return rand.nextDouble() < aliasChances[row + j] ? j : aliases[row + j];
+    }
+
+    /**
+     * Wraps an angle into the range 0 to 360
+     * @param angle angle in degrees
+     * @return returns the same angle, between 0 and 360
+     */
+    private static double normalize(double angle) {
+        double wrapped = angle % 360;
+        return wrapped < 0 ? wrapped + 360 : wrapped;
+    }
+
+    /**
+     * Builds a report of how far the odds of each segment stray from an even share, for auditing the wheel
+     * @param segments segments of the wheel, in wheel order
+     * @param startAngle start angle to show the odds from, such as the angle a new wheel starts at
+     * @return returns multi-line report text
+     */
+    public String fairnessReport(List<WheelSegment> segments, double startAngle) {
+        double fair = 1.0 / segmentCount;
+        StringBuilder sb = new StringBuilder();
+
+        sb.append(String.format("Spin velocity %.0f to %.0f, friction %.2f per tick, %d segments of %.0f degrees%n",
+                Wheel.MIN_SPIN_VELOCITY, MAX_SPIN_VELOCITY, Wheel.WHEEL_FRICTION, segmentCount, segmentAngle));
+        sb.append(String.format("Even share per segment: %.4f%%%n%n", 100 * fair));
+
+        // Odds of each segment from the given start angle
+        sb.append(String.format("From %.1f degrees:%n", startAngle));
+        sb.append(String.format("%-4s %-12s %10s %10s%n", "Seg", "Type", "Chance", "Off share"));
+        for (int segment = 0; segment < segmentCount; segment++) {
+            double p = probability(startAngle, segment);
+            WheelSegment wheelSegment = segments.get(segment);
+            String type = wheelSegment.getType() == SegmentType.MONEY
+                    ? "$" + wheelSegment.getValue() : wheelSegment.getTypeAsString();
+            sb.append(String.format("%-4d %-12s %9.4f%% %+9.2f%%%n", segment, type, 100 * p, 100 * (p - fair) / fair));
+        }
+
+        // Every segment meets every start angle as the wheel turns, so one range covers them all. The chance of
+        // losing the turn and the expected winnings depend on how the segments are laid out.
+        double lowest = 1;
+        double highest = 0;
+        double[] lossRange = { 1, 0 };
+        double[] valueRange = { Double.MAX_VALUE, 0 };
+        for (int step = 0; step < START_ANGLE_STEPS; step++) {
+            double loss = 0;
+            double value = 0;
+            for (int segment = 0; segment < segmentCount; segment++) {
+                double p = probabilities[step * segmentCount + segment];
+                lowest = Math.min(lowest, p);
+                highest = Math.max(highest, p);
+
+                SegmentType type = segments.get(segment).getType();
+                if (type == SegmentType.BANKRUPT || type == SegmentType.LOSE_A_TURN) {
+                    loss += p;
+                } else if (type == SegmentType.MONEY) {
+                    value += p * segments.get(segment).getValue();
+                }
+            }
+            lossRange[0] = Math.min(lossRange[0], loss);
+            lossRange[1] = Math.max(lossRange[1], loss);
+            valueRange[0] = Math.min(valueRange[0], value);
+            valueRange[1] = Math.max(valueRange[1], value);
+        }
+
+        sb.append(String.format("%nOver every start angle:%n"));
+        sb.append(String.format("Chance of any one segment: %.4f%% to %.4f%%, %+.2f%% to %+.2f%% off an even share%n",
+                100 * lowest, 100 * highest, 100 * (lowest - fair) / fair, 100 * (highest - fair) / fair));
+        sb.append(String.format("Chance of bankrupt or lose a turn: %.4f%% to %.4f%%%n",
+                100 * lossRange[0], 100 * lossRange[1]));
+        sb.append(String.format("Expected money segment value per spin: %.2f to %.2f%n", valueRange[0], valueRange[1]));
+        sb.append("From a uniformly random start angle every segment has exactly an even share")
+                .append(System.lineSeparator());
+
+        return sb.toString();
+    }
+
+    //------------------ GETTERS AND SETTERS ---------------------//
+
+    /**
+     * Gets a tabulated start angle
+     * @param step index of the start angle, from 0 to START_ANGLE_STEPS - 1
+     * @return returns the start angle in degrees
+     */
+    public double getStartAngle(int step) {
+        return 360.0 * step / START_ANGLE_STEPS;
+    }
+
+    /**
+     * Gets the tabulated chance of a segment from a tabulated start angle
+     * @param step index of the start angle, from 0 to START_ANGLE_STEPS - 1
+     * @param segment index of the segment
+     * @return returns the chance of a spin from that angle stopping on the segment
+     */
+    public double getTabulatedProbability(int step, int segment) {
+        return probabilities[step * segmentCount + segment];
+    }
+
+    /**
+     * Gets the number of segments the distribution covers
+     * @return returns the number of segments
+     */
+    public int getSegmentCount() {
+        return segmentCount;
+    }
+
+    /**
+     * Prints the fairness report of the standard wheel, from a new wheel's start angle
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        System.out.print(getDefault().fairnessReport(new Wheel().getSegments(), 0));
+    }
+}
@@ -1,133 +1,284 @@
-package game;
-
-import java.util.ArrayList;
-import java.util.Random;
-
-/**
- * This class represents the Wheel of Fortune's main logic
- *
- * @author Matthew Ritchie
- * @version 1.0
- */
-public class Wheel {
-
-    //Declares class fields
-    private final double WHEEL_FRICTION = 0.08;
-    private final ArrayList<WheelSegment> segments;
-    private double currentAngle;
-    private double spinVelocity;
-    private final Random rand = new Random();
-
-    /**
-     * Initializes and instantiates wheel objects and values.
-     */
-    public Wheel() {
-        this.segments = new ArrayList<>();
-        initializeSegments();
-        currentAngle = 0;
-        spinVelocity = 0;
-    }
-
-    /**
-     * Adds segments to Wheel of Fortune
-     */
-    private void initializeSegments() {
-        segments.add(new WheelSegment(SegmentType.MONEY, 400));
-        segments.add(new WheelSegment(SegmentType.LOSE_A_TURN, 0));
-        segments.add(new WheelSegment(SegmentType.MONEY, 200));
-        segments.add(new WheelSegment(SegmentType.MONEY, 300));
-        segments.add(new WheelSegment(SegmentType.MONEY, 500));
-        segments.add(new WheelSegment(SegmentType.MONEY, 250));
-        segments.add(new WheelSegment(SegmentType.MONEY, 800));
-        segments.add(new WheelSegment(SegmentType.MONEY, 1000));
-        segments.add(new WheelSegment(SegmentType.BANKRUPT, 0));
-        segments.add(new WheelSegment(SegmentType.MONEY, 400));
-        segments.add(new WheelSegment(SegmentType.MONEY, 600));
-        segments.add(new WheelSegment(SegmentType.MONEY, 150));
-        segments.add(new WheelSegment(SegmentType.MONEY, 400));
-        segments.add(new WheelSegment(SegmentType.MONEY, 750));
-        segments.add(new WheelSegment(SegmentType.FREE_SPIN, 0));
-        segments.add(new WheelSegment(SegmentType.MONEY, 400));
-        segments.add(new WheelSegment(SegmentType.MONEY, 1000));
-        segments.add(new WheelSegment(SegmentType.MONEY, 450));
-        segments.add(new WheelSegment(SegmentType.MONEY, 700));
-        segments.add(new WheelSegment(SegmentType.BANKRUPT, 0));
-        segments.add(new WheelSegment(SegmentType.MONEY, 200));
-        segments.add(new WheelSegment(SegmentType.MONEY, 500));
-        segments.add(new WheelSegment(SegmentType.MONEY, 900));
-        segments.add(new WheelSegment(SegmentType.MONEY, 1000));
-    }
-
-    /**
-     * Gets the currently selected segment of the Wheel Of Fortune by angle
-     *
-     * @return returns the currently selected segment of the Wheel of Fortune by angle
-     */
-    public WheelSegment getSelectedSegment() {
-        return segments.get((int) (currentAngle / 15));
-    }
-
-    /**
-     * Sets starting velocity of wheel to a random value.
-     */
-    public void startSpin() {
-        spinVelocity = 8 + (rand.nextDouble() * 15);
-    }
-
-    /**
-     * Rotates the wheel according to spin velocity
-     */
-    public void spin() {
-        if (currentAngle + spinVelocity >= 360) {
-            currentAngle = (currentAngle + spinVelocity) - 360;
-        } else {
-            currentAngle += spinVelocity;
-        }
-        spinVelocity -= WHEEL_FRICTION;
-    }
-
-    //------------------ GETTERS AND SETTERS ---------------------//
-
-    /**
-     * Gets the current angle of the wheel
-     *
-     * @return returns the current angle of the wheel
-     */
-    public double getCurrentAngle() {
-        return currentAngle;
-    }
-
-    /**
-     * Gets the current velocity of the wheel
-     *
-     * @return returns the current velocity of the wheel.
-     */
-    public double getSpinVelocity() {
-        return spinVelocity;
-    }
-
-    /**
-     * Sets the angle of wheel, for testing purposes
-     * @param angle the angle to set wheel to
-     */
-    public void setCurrentAngle(double angle) {
-        this.currentAngle = angle;
-    }
-
-    /**
-     * Retrieves a wheel segment from segments list, for testing purposes
-     * @param index index of wheel segment in list
-     * @return returns the wheel segment at index in segments list
-     */
-    public WheelSegment getSegmentFromList(int index) {
-        return segments.get(index);
-    }
-
-    /**
-     * Gets segment list, for testing purposes
-     * @return returns segment list
-     */
-    public ArrayList<WheelSegment> getSegments() {
-        return segments;
-    }
-}
+package game;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * This class represents the Wheel of Fortune's main logic
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class Wheel {
+
+    //Declares class fields
+    public static final double WHEEL_FRICTION = 0.08;
+    // Random spins start with a velocity between MIN_SPIN_VELOCITY and MIN_SPIN_VELOCITY + SPIN_VELOCITY_RANGE.
+    public static final double MIN_SPIN_VELOCITY = 8;
+    public static final double SPIN_VELOCITY_RANGE = 15;
+    private final ArrayList<WheelSegment> segments;
+    private double currentAngle;
+    private double spinVelocity;
+    private final Random rand;
+
+    // State of the current spin. The angle after each tick is worked out from these in closed form, so the
+    // animation, instant spins and predictions always agree on where the wheel stops.
+    private double spinStartAngle;
+    private double spinStartVelocity;
+    private int spinTick;
+    private int spinTicks;
+
+    /**
+     * Initializes and instantiates wheel objects and values.
+     */
+    public Wheel() {
+        this(new Random());
+    }
+
+    /**
+     * Initializes and instantiates wheel objects and values.
+     *
+     * @param rand source of randomness for spin velocities, shared with the rest of the game
+     */
+    public Wheel(Random rand) {
+        this.rand = rand;
+        this.segments = new ArrayList<>();
+        initializeSegments();
+        currentAngle = 0;
+        spinVelocity = 0;
+    }
+
+    /**
+     * Adds segments to Wheel of Fortune
+     */
+    private void initializeSegments() {
+        segments.add(new WheelSegment(SegmentType.MONEY, 400));
+        segments.add(new WheelSegment(SegmentType.LOSE_A_TURN, 0));
+        segments.add(new WheelSegment(SegmentType.MONEY, 200));
+        segments.add(new WheelSegment(SegmentType.MONEY, 300));
+        segments.add(new WheelSegment(SegmentType.MONEY, 500));
+        segments.add(new WheelSegment(SegmentType.MONEY, 250));
+        segments.add(new WheelSegment(SegmentType.MONEY, 800));
+        segments.add(new WheelSegment(SegmentType.MONEY, 1000));
+        segments.add(new WheelSegment(SegmentType.BANKRUPT, 0));
+        segments.add(new WheelSegment(SegmentType.MONEY, 400));
+        segments.add(new WheelSegment(SegmentType.MONEY, 600));
+        segments.add(new WheelSegment(SegmentType.MONEY, 150));
+        segments.add(new WheelSegment(SegmentType.MONEY, 400));
+        segments.add(new WheelSegment(SegmentType.MONEY, 750));
+        segments.add(new WheelSegment(SegmentType.FREE_SPIN, 0));
+        segments.add(new WheelSegment(SegmentType.MONEY, 400));
+        segments.add(new WheelSegment(SegmentType.MONEY, 1000));
+        segments.add(new WheelSegment(SegmentType.MONEY, 450));
+        segments.add(new WheelSegment(SegmentType.MONEY, 700));
+        segments.add(new WheelSegment(SegmentType.BANKRUPT, 0));
+        segments.add(new WheelSegment(SegmentType.MONEY, 200));
+        segments.add(new WheelSegment(SegmentType.MONEY, 500));
+        segments.add(new WheelSegment(SegmentType.MONEY, 900));
+        segments.add(new WheelSegment(SegmentType.MONEY, 1000));
+    }
+
+    /**
+     * Gets the currently selected segment of the Wheel Of Fortune by angle
+     *
+     * @return returns the currently selected segment of the Wheel of Fortune by angle
+     */
+    public WheelSegment getSelectedSegment() {
+        return segmentAt(currentAngle);
+    }
+
+    /**
+     * Sets starting velocity of wheel to a random value.
+     */
+    public void startSpin() {
+        startSpin(MIN_SPIN_VELOCITY + (rand.nextDouble() * SPIN_VELOCITY_RANGE));
+    }
+
+    /**
+     * Sets starting velocity of wheel to a known value, used when replaying a recorded spin.
+     *
+     * @param velocity starting velocity of the wheel
+     */
+    public void startSpin(double velocity) {
+        spinVelocity = velocity;
+        spinStartAngle = currentAngle;
+        spinStartVelocity = velocity;
+        spinTick = 0;
+        spinTicks = ticksToStop(velocity);
+    }
+
+    /**
+     * Rotates the wheel by one tick according to spin velocity. Each tick moves the wheel by the current
+     * velocity, then friction slows it down.
+     */
+    public void spin() {
+        if (spinTick >= spinTicks) {
+            return;
+        }
+
+        spinTick++;
+        currentAngle = angleAfterTicks(spinStartAngle, spinStartVelocity, spinTick);
+        spinVelocity = spinStartVelocity - spinTick * WHEEL_FRICTION;
+
+        // Rounding can leave a tiny positive velocity on the final tick, the wheel has stopped regardless
+        if (spinTick == spinTicks) {
+            spinVelocity = Math.min(spinVelocity, 0);
+        }
+    }
+
+    /**
+     * Stops the wheel where the current spin would end, without running through each tick
+     *
+     * @return returns the segment the wheel stopped on
+     */
+    public WheelSegment spinUntilStopped() {
+        if (spinTick < spinTicks) {
+            spinTick = spinTicks - 1;
+            spin();
+        }
+        return getSelectedSegment();
+    }
+
+    /**
+     * Checks whether the wheel is still moving
+     *
+     * @return returns true if the current spin has ticks left to run
+     */
+    public boolean isSpinning() {
+        return spinTick < spinTicks;
+    }
+
+    /**
+     * Gets the angle the current spin will stop at
+     *
+     * @return returns the final angle of the current spin, or the current angle if the wheel isn't spinning
+     */
+    public double predictStopAngle() {
+        return angleAfterTicks(spinStartAngle, spinStartVelocity, spinTicks);
+    }
+
+    /**
+     * Gets the segment the current spin will stop on
+     *
+     * @return returns the segment the current spin will stop on
+     */
+    public WheelSegment predictStopSegment() {
+        return segmentAt(predictStopAngle());
+    }
+
+    /**
+     * Gets the number of ticks left before the current spin stops
+     *
+     * @return returns the number of ticks left in the current spin
+     */
+    public int getTicksRemaining() {
+        return spinTicks - spinTick;
+    }
+
+    /**
+     * Gets the number of ticks a spin lasts. The wheel moves on every tick that starts with a positive
+     * velocity, so a spin lasts for the smallest number of ticks that takes friction to zero or below.
+     *
+     * @param velocity starting velocity of the spin
+     * @return returns the number of ticks the spin lasts
+     */
+    public static int ticksToStop(double velocity) {
+        return velocity > 0 ? (int) Math.ceil(velocity / WHEEL_FRICTION) : 0;
+    }
+
+    /**
+     * Gets the angle of the wheel after a number of ticks of a spin. The wheel moves by
+     * velocity - k * friction on tick k, which sums to ticks * velocity - friction * ticks * (ticks - 1) / 2.
+     *
+     * @param startAngle angle of the wheel when the spin started
+     * @param velocity starting velocity of the spin
+     * @param ticks number of ticks run
+     * @return returns the angle of the wheel, between 0 and 360
+     */
+    public static double angleAfterTicks(double startAngle, double velocity, int ticks) {
+        double distance = ticks * velocity - WHEEL_FRICTION * ticks * (ticks - 1) / 2.0;
+        double angle = (startAngle + distance) % 360;
+        return angle < 0 ? angle + 360 : angle;
+    }
+
+    /**
+     * Gets the angle a spin will stop at
+     *
+     * @param startAngle angle of the wheel when the spin starts
+     * @param velocity starting velocity of the spin
+     * @return returns the angle the wheel stops at, between 0 and 360
+     */
+    public static double stopAngle(double startAngle, double velocity) {
+        return angleAfterTicks(startAngle, velocity, ticksToStop(velocity));
+    }
+
+    /**
+     * Gets the segment at an angle of the wheel. Segment i is selected while the angle is between i and i + 1
+     * segment widths.
+     *
+     * @param angle angle of the wheel, between 0 and 360
+     * @return returns the segment at that angle
+     */
+    public WheelSegment segmentAt(double angle) {
+        int index = (int) (angle / getSegmentAngle());
+        return segments.get(Math.min(Math.max(index, 0), segments.size() - 1));
+    }
+
+    /**
+     * Gets the angle each segment takes up, as every segment is the same width
+     *
+     * @return returns the width of a segment in degrees
+     */
+    public double getSegmentAngle() {
+        return 360.0 / segments.size();
+    }
+
+    //------------------ GETTERS AND SETTERS ---------------------//
+
+    /**
+     * Gets the current angle of the wheel
+     *
+     * @return returns the current angle of the wheel
+     */
+    public double getCurrentAngle() {
+        return currentAngle;
+    }
+
+    /**
+     * Gets the current velocity of the wheel
+     *
+     * @return returns the current velocity of the wheel.
+     */
+    public double getSpinVelocity() {
+        return spinVelocity;
+    }
+
+    /**
+     * Sets the angle of wheel, for testing purposes
+     * @param angle the angle to set wheel to
+     */
+    public void setCurrentAngle(double angle) {
+        this.currentAngle = angle;
+        this.spinStartAngle = angle;
+        this.spinStartVelocity = 0;
+        this.spinTick = 0;
+        this.spinTicks = 0;
+    }
+
+    /**
+     * Retrieves a wheel segment from segments list, for testing purposes
+     * @param index index of wheel segment in list
+     * @return returns the wheel segment at index in segments list
+     */
+    public WheelSegment getSegmentFromList(int index) {
+        return segments.get(index);
+    }
+
+    /**
+     * Gets segment list, for testing purposes
+     * @return returns segment list
+     */
+    public ArrayList<WheelSegment> getSegments() {
+        return segments;
+    }
+}
@@ -0,0 +1,355 @@
+package server;
+
+import game.Game;
+import game.GameLog;
+import game.Phrase;
+import game.Player;
+import game.SegmentType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A single game table hosted by a {@link GameSessionRegistry}. The session's Game is never touched directly,
+ * actions are queued in the session's mailbox and run one at a time on a shared pool, so the Game is only
+ * ever used by one thread at a time and needs no locking.
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class GameSession {
+
+    //Declares class fields
+    // Number of queued actions run before the session gives its pool thread to other sessions.
+    private static final int ACTIONS_PER_DRAIN = 64;
+
+    // Approximate sizes on a 64-bit JVM with compressed references, used for memory accounting.
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+
+    private final String id;
+    private final Game game;
+    private final Executor executor;
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile long lastAccessNanos;
+    private volatile boolean closed;
+
+    /**
+     * Initializes session
+     * @param id unique id of the session
+     * @param game game hosted by the session
+     * @param executor pool that runs the session's actions
+     */
+    GameSession(String id, Game game, Executor executor) {
+        this.id = id;
+        this.game = game;
+        this.executor = executor;
+        touch();
+    }
+
+    /**
+     * Queues an action that reads or changes the game, and returns its result once it has run
+     * @param action action to run against the session's game
+     * @param <T> type of result
+     * @return returns a future completed with the action's result, or exceptionally if the session is closed
+     */
+    public <T> CompletableFuture<T> submit(Function<Game, T> action) {
+        touch();
+        return enqueue(action);
+    }
+
+    /**
+     * Queues an action without counting it as a use of the session
+     * @param action action to run against the session's game
+     * @param <T> type of result
+     * @return returns a future completed with the action's result, or exceptionally if the session is closed
+     */
+    private <T> CompletableFuture<T> enqueue(Function<Game, T> action) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        if (closed) {
+            future.completeExceptionally(new IllegalStateException("Session " + id + " has expired"));
+            return future;
+        }
+
+        mailbox.add(() -> {
+            try {
+                future.complete(action.apply(game));
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        schedule();
+        return future;
+    }
+
+    /**
+     * Queues an action that changes the game
+     * @param action action to run against the session's game
+     * @return returns a future completed once the action has run
+     */
+    public CompletableFuture<Void> execute(Consumer<Game> action) {
+        return submit(g -> {
+            action.accept(g);
+            return null;
+        });
+    }
+
+    /**
+     * Schedules the mailbox to be drained if it isn't already scheduled or running
+     */
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    /**
+     * Runs queued actions in order, then reschedules itself if more actions arrived
+     */
+    private void drain() {
+        for (int i = 0; i < ACTIONS_PER_DRAIN; i++) {
+            Runnable action = mailbox.poll();
+            if (action == null) break;
+            action.run();
+        }
+
+        scheduled.set(false);
+
+        // Actions added after the last poll but before the flag was cleared would otherwise be missed
+        if (!mailbox.isEmpty()) {
+            schedule();
+        }
+    }
+
+    /**
+     * Closes the session, actions already queued still run but new actions are rejected
+     */
+    void close() {
+        closed = true;
+    }
+
+    /**
+     * Records that the session has been used, delaying its expiry
+     */
+    void touch() {
+        lastAccessNanos = System.nanoTime();
+    }
+
+    /**
+     * Estimates the heap retained by this session's game state. The estimate is queued like any other
+     * action so it sees a consistent game, but doesn't count as a use of the session.
+     *
+     * @return returns a future completed with the approximate number of bytes retained by the session
+     */
+    public CompletableFuture<Long> estimateRetainedBytes() {
+        return enqueue(GameSession::estimateBytes);
+    }
+
+    /**
+     * Estimates the heap retained by a session's game state, must run on the session's pool thread. The field
+     * counts are kept by hand, so {@link #main(String[])} checks them against the heap. Covers the
+     * session and its mailbox, the Game and its Random, the phrase's board buffers, letter index and strings, the
+     * wheel and its segments, the players and their names, and the game log's event buffer, lists and phrase
+     * guesses. The shared phrase corpus, queued actions and the session id aren't counted.
+     *
+     * @param game the session's game
+     * @return returns the approximate number of bytes retained by the session
+     */
+    private static long estimateBytes(Game game) {
+        long bytes = align(OBJECT_HEADER + 5 * REFERENCE + 8 + 1)   // session
+                + align(OBJECT_HEADER + 3 * REFERENCE)              // mailbox
+                + align(OBJECT_HEADER + 4)                          // scheduled flag
+                + align(OBJECT_HEADER + 6 * REFERENCE + 4 + 8);     // game
+
+        // The one Random shared by the game, wheel and phrase, and its seed object
+        bytes += align(OBJECT_HEADER + REFERENCE + 8 + 1) + align(OBJECT_HEADER + 8);
+
+        // Phrase board buffers and letter index
+        Phrase phrase = game.getPhrase();
+        int capacity = phrase.getBoardCapacity();
+        bytes += align(OBJECT_HEADER + 9 * REFERENCE + 3 * 4)
+                + align(ARRAY_HEADER + 2L * capacity)
+                + align(ARRAY_HEADER + 8L * ((capacity + 63) / 64))
+                + align(ARRAY_HEADER + 4L * capacity)
+                + align(ARRAY_HEADER + 4L * 27)
+                + align(ARRAY_HEADER + 4L * 26);
+
+        // Current phrase; the phrase corpus is shared by every session so it isn't counted here
+        bytes += stringBytes(phrase.getHiddenPhrase()) + stringBytes(phrase.getCurrentPhrase());
+
+        // Wheel and its segments
+        int segments = game.getWheel().getSegments().size();
+        bytes += align(OBJECT_HEADER + 2 * REFERENCE + 4 * 8 + 2 * 4)
+                + listBytes(segments)
+                + segments * align(OBJECT_HEADER + REFERENCE + 4);
+
+        // Players
+        bytes += listBytes(game.getPlayerList().size());
+        for (Player player : game.getPlayerList()) {
+            bytes += align(OBJECT_HEADER + REFERENCE + 3 * 4) + stringBytes(player.getName());
+        }
+
+        // Game log; its player names are the players' own strings, counted above
+        GameLog log = game.getLog();
+        bytes += align(OBJECT_HEADER + 8 + 4 * REFERENCE + 2 * 4)
+                + align(ARRAY_HEADER + (long) log.getCapacity())
+                + align(ARRAY_HEADER + 4L * game.getPlayerList().size())
+                + listBytes(log.getPlayerNames().size())
+                + listBytes(log.getPhraseGuesses().size());
+        for (String guess : log.getPhraseGuesses()) {
+            bytes += stringBytes(guess);
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Estimates the size of an ArrayList and its backing array, which holds at least the default 10 elements
+     * @param size number of elements in the list
+     * @return returns the approximate number of bytes used by the list, not counting its elements
+     */
+    private static long listBytes(int size) {
+        return align(OBJECT_HEADER + 2 * 4 + REFERENCE) + align(ARRAY_HEADER + (long) REFERENCE * Math.max(size, 10));
+    }
+
+    /**
+     * Estimates the size of a String and its backing array
+     * @param s string to measure
+     * @return returns the approximate number of bytes used by the string
+     */
+    private static long stringBytes(String s) {
+        return align(OBJECT_HEADER + REFERENCE + 4 + 1 + 1) + align(ARRAY_HEADER + s.length());
+    }
+
+    /**
+     * Rounds a size up to the 8-byte object alignment
+     * @param bytes unaligned size
+     * @return returns the aligned size
+     */
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    //------------------ GETTERS AND SETTERS ---------------------//
+
+    /**
+     * Gets the id of the session
+     * @return returns the id of the session
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Gets the time the session was last used
+     * @return returns the System.nanoTime() value of the last use
+     */
+    public long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    /**
+     * Gets whether the session has been closed
+     * @return returns true if the session has expired or been removed
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Checks the session size estimate against the heap. Creates many sessions, plays a game in each, and
+     * compares the estimate with how much the heap grew per session after a full collection. Exits with an
+     * error if they are further apart than the tolerance, which usually means a class gained or lost fields
+     * without {@link #estimateBytes(Game)} being updated.
+     *
+     * @param args optional number of sessions and tolerance in percent
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        double tolerance = args.length > 1 ? Double.parseDouble(args[1]) : 15;
+
+        // Loads the classes and the shared phrase corpus before measuring, as neither belongs to a session
+        playCalibrationGame(new GameSession("calibration", new Game(0), Runnable::run), 0);
+
+        List<GameSession> sessions = new ArrayList<>(count);
+        long before = usedHeap();
+        for (int i = 0; i < count; i++) {
+            GameSession session = new GameSession("calibration", new Game(i), Runnable::run);
+            playCalibrationGame(session, i);
+            sessions.add(session);
+        }
+        long measured = (usedHeap() - before) / count;
+
+        long estimated = 0;
+        for (GameSession session : sessions) {
+            estimated += session.estimateRetainedBytes().join();
+        }
+        estimated /= count;
+
+        double error = 100.0 * (estimated - measured) / measured;
+        System.out.printf("Sessions: %d, measured %d bytes each, estimated %d bytes each, error %+.1f%%%n",
+                sessions.size(), measured, estimated, error);
+        if (Math.abs(error) > tolerance) {
+            System.out.printf("Estimate is off by more than %.1f%%, check the field counts in estimateBytes%n", tolerance);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Plays a game of random moves in a session, so its board, log and phrase guesses are the size a real
+     * game leaves them
+     * @param session session to play in
+     * @param seed seed of the game and its moves
+     */
+    private static void playCalibrationGame(GameSession session, long seed) {
+        session.execute(game -> {
+            Random moves = new Random(seed);
+            for (String name : new String[] {"One", "Two", "Three"}) {
+                game.addPlayer(new Player(name + " " + seed));
+            }
+            game.newGame(seed);
+
+            for (int move = 0; move < 200 && game.getWinner() == null; move++) {
+                game.startSpin();
+                game.getWheel().spinUntilStopped();
+                if (game.applySpinResult().getType() != SegmentType.MONEY) {
+                    continue;
+                }
+
+                Phrase phrase = game.getPhrase();
+                if (phrase.getNumOfMissingLetters() <= 3 && moves.nextBoolean()) {
+                    // Guesses are new strings, as guesses from players would be
+                    game.guessPhrase(moves.nextInt(4) == 0 ? "WRONG " + move : new String(phrase.getHiddenPhrase()));
+                } else {
+                    char letter = (char) ('A' + moves.nextInt(26));
+                    game.guessLetter(Game.guessIsVowel(letter) && !game.playerCanAffordVowel(game.getCurrentPlayer())
+                            ? 'T' : letter);
+                }
+                phrase.getCurrentPhrase();
+            }
+        }).join();
+    }
+
+    /**
+     * Gets the heap in use after collecting garbage
+     * @return returns the bytes of heap in use
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,186 @@
+package server;
+
+import game.Game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hosts many game tables in one JVM. Sessions are created, looked up and expired by id, and their actions
+ * run on a shared pool sized to the number of cores. Each session runs its actions one at a time, so the
+ * registry needs no locks beyond its concurrent map.
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class GameSessionRegistry implements AutoCloseable {
+
+    //Declares class fields
+    private final Map<String, GameSession> sessions = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+    private final ScheduledExecutorService reaper;
+    private final long idleTimeoutNanos;
+
+    /**
+     * Initializes registry
+     * @param threads number of threads that run session actions
+     * @param idleTimeout time a session can go unused before it expires, 0 to never expire sessions
+     * @param unit unit of idleTimeout
+     */
+    public GameSessionRegistry(int threads, long idleTimeout, TimeUnit unit) {
+        executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "game-session");
+            thread.setDaemon(true);
+            return thread;
+        });
+        idleTimeoutNanos = unit.toNanos(idleTimeout);
+
+        reaper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "game-session-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // Checks for idle sessions a few times per timeout period
+        if (idleTimeoutNanos > 0) {
+            long period = Math.max(1, idleTimeoutNanos / 4);
+            reaper.scheduleAtFixedRate(this::expireIdle, period, period, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Initializes registry with one thread per core
+     * @param idleTimeout time a session can go unused before it expires, 0 to never expire sessions
+     * @param unit unit of idleTimeout
+     */
+    public GameSessionRegistry(long idleTimeout, TimeUnit unit) {
+        this(Runtime.getRuntime().availableProcessors(), idleTimeout, unit);
+    }
+
+    /**
+     * Creates a session with a new random id
+     * @return returns the new session
+     */
+    public GameSession create() {
+        return create(UUID.randomUUID().toString());
+    }
+
+    /**
+     * Creates a session with a given id
+     * @param id id of the new session
+     * @return returns the new session
+     */
+    public GameSession create(String id) {
+        GameSession session = new GameSession(id, new Game(), executor);
+
+        if (sessions.putIfAbsent(id, session) != null) {
+            throw new IllegalArgumentException("Session " + id + " already exists");
+        }
+
+        return session;
+    }
+
+    /**
+     * Looks up a session by id, counting as a use of the session
+     * @param id id of the session
+     * @return returns the session, or null if there is no session with that id
+     */
+    public GameSession get(String id) {
+        GameSession session = sessions.get(id);
+
+        if (session != null) {
+            session.touch();
+        }
+
+        return session;
+    }
+
+    /**
+     * Removes a session straight away
+     * @param id id of the session
+     * @return returns true if the session existed
+     */
+    public boolean expire(String id) {
+        GameSession session = sessions.remove(id);
+
+        if (session == null) {
+            return false;
+        }
+
+        session.close();
+        return true;
+    }
+
+    /**
+     * Removes every session that has gone unused for longer than the idle timeout
+     * @return returns the number of sessions removed
+     */
+    public int expireIdle() {
+        if (idleTimeoutNanos <= 0) {
+            return 0;
+        }
+
+        long now = System.nanoTime();
+        int removed = 0;
+
+        for (GameSession session : sessions.values()) {
+            // Only removes the session if it hasn't been replaced or used since it was read
+            if (now - session.getLastAccessNanos() > idleTimeoutNanos && sessions.remove(session.getId(), session)) {
+                session.close();
+                removed++;
+            }
+        }
+
+        return removed;
+    }
+
+    /**
+     * Estimates the heap retained by all sessions, waiting for each session to measure its own game
+     * @return returns the approximate number of bytes retained by all live sessions
+     */
+    public long estimateRetainedBytes() {
+        List<CompletableFuture<Long>> estimates = new ArrayList<>();
+
+        for (GameSession session : sessions.values()) {
+            estimates.add(session.estimateRetainedBytes());
+        }
+
+        long bytes = 0;
+        for (CompletableFuture<Long> estimate : estimates) {
+            // Sessions that expire while being measured no longer count
+            bytes += estimate.exceptionally(t -> 0L).join();
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Gets the number of live sessions
+     * @return returns the number of live sessions
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Closes every session and stops the registry's threads
+     */
+    @Override
+    public void close() {
+        reaper.shutdownNow();
+
+        for (String id : sessions.keySet()) {
+            expire(id);
+        }
+
+        executor.shutdown();
+    }
+}
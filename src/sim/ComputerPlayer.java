@@ -0,0 +1,43 @@
+package sim;
+
+import game.Player;
+
+/**
+ * A player whose moves are made by a {@link PlayerStrategy} rather than a person at the screen.
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class ComputerPlayer extends Player {
+
+    //Declares class fields
+    private final PlayerStrategy strategy;
+
+    /**
+     * Initializes computer player
+     * @param name name of player
+     * @param strategy strategy making the player's moves
+     */
+    public ComputerPlayer(String name, PlayerStrategy strategy) {
+        super(name);
+        this.strategy = strategy;
+    }
+
+    /**
+     * Initializes computer player guided by the phrase list
+     * @param name name of player
+     */
+    public ComputerPlayer(String name) {
+        this(name, new ComputerStrategy());
+    }
+
+    //------------------ GETTERS AND SETTERS ---------------------//
+
+    /**
+     * Gets the strategy making the player's moves
+     * @return returns the player's strategy
+     */
+    public PlayerStrategy getStrategy() {
+        return strategy;
+    }
+}
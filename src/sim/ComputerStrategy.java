@@ -0,0 +1,152 @@
+package sim;
+
+import game.Game;
+import game.Phrase;
+import game.PhraseCorpus;
+import game.PhraseSolver;
+
+/**
+ * Strategy for computer players that reasons from the phrase list rather than reading the hidden phrase. It
+ * keeps the set of corpus phrases that still fit the board, narrowing it as letters are revealed, and from it
+ * works out the chance that each unguessed letter is in the phrase. It solves once only one phrase fits, and
+ * otherwise guesses whichever of the best consonant and the best affordable vowel is worth more at the value the
+ * wheel landed on, less the cost of the vowel.
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class ComputerStrategy implements PlayerStrategy {
+
+    //Declares class fields
+    private static final int ALPHABET_SIZE = 26;
+    // Letters from most to least common in English, guessed in turn if the phrase isn't in the corpus.
+    private static final String FALLBACK_ORDER = "ETAOINSHRDLCUMWFGYPBVKJXQZ";
+
+    private PhraseSolver solver;
+    private PhraseSolver.Candidates candidates;
+    private final int[] letterCounts = new int[ALPHABET_SIZE];
+
+    /**
+     * Initializes strategy over the default corpus
+     */
+    public ComputerStrategy() {
+        this(PhraseSolver.getDefault());
+    }
+
+    /**
+     * Initializes strategy
+     * @param solver solver over the corpus the game picks its phrases from
+     */
+    public ComputerStrategy(PhraseSolver solver) {
+        this.solver = solver;
+    }
+
+    @Override
+    public void newGame(Game game) {
+        PhraseCorpus corpus = game.getPhrase().getCorpus();
+        if (solver.getCorpus() != corpus) {
+            solver = new PhraseSolver(corpus);
+        }
+        candidates = solver.newCandidates();
+    }
+
+    @Override
+    public boolean shouldSolve(Game game) {
+        update(game);
+
+        if (candidates.size() == 1) {
+            return true;
+        }
+        if (candidates.size() == 0) {
+            return false;
+        }
+
+        // Solves if no unguessed letter would tell the remaining phrases apart
+        Phrase phrase = game.getPhrase();
+        for (int letter = 0; letter < ALPHABET_SIZE; letter++) {
+            int count = letterCounts[letter];
+            if (count > 0 && count < candidates.size() && !phrase.isLetterGuessed((char) ('A' + letter))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String solve(Game game) {
+        update(game);
+        return candidates.size() > 0 ? candidates.getPhrase(0) : game.getPhrase().getCurrentPhrase();
+    }
+
+    @Override
+    public char chooseLetter(Game game) {
+        update(game);
+        Phrase phrase = game.getPhrase();
+
+        if (candidates.size() == 0) {
+            for (int i = 0; i < FALLBACK_ORDER.length(); i++) {
+                char c = FALLBACK_ORDER.charAt(i);
+                if (!phrase.isLetterGuessed(c) && (!Game.guessIsVowel(c) || game.playerCanAffordVowel(game.getCurrentPlayer()))) {
+                    return c;
+                }
+            }
+            return FALLBACK_ORDER.charAt(0);
+        }
+
+        // Most likely unguessed consonant and vowel
+        char consonant = 0;
+        char vowel = 0;
+        for (int letter = 0; letter < ALPHABET_SIZE; letter++) {
+            char c = (char) ('A' + letter);
+            if (phrase.isLetterGuessed(c)) continue;
+
+            if (Game.guessIsVowel(c)) {
+                if (vowel == 0 || letterCounts[letter] > letterCounts[vowel - 'A']) vowel = c;
+            } else {
+                if (consonant == 0 || letterCounts[letter] > letterCounts[consonant - 'A']) consonant = c;
+            }
+        }
+
+        // Expected winnings of each, a vowel costs the same whether or not it is found
+        int wheelValue = game.getWheel().getSelectedSegment().getValue();
+        boolean canBuyVowel = vowel != 0 && game.playerCanAffordVowel(game.getCurrentPlayer());
+        boolean consonantUseless = consonant == 0 || letterCounts[consonant - 'A'] == 0;
+
+        if (canBuyVowel && (consonantUseless
+                || probability(vowel) * wheelValue - Game.VOWEL_COST > probability(consonant) * wheelValue)) {
+            return vowel;
+        }
+        return consonant != 0 ? consonant : FALLBACK_ORDER.charAt(0);
+    }
+
+    /**
+     * Narrows the candidate phrases to the board and counts the letters in them
+     * @param game game being played
+     */
+    private void update(Game game) {
+        if (candidates == null) {
+            newGame(game);
+        }
+        candidates.update(game.getPhrase());
+        candidates.countLetters(letterCounts);
+    }
+
+    /**
+     * Gets the chance a letter is in the phrase, given the phrases that still fit the board
+     * @param c letter to check
+     * @return returns the fraction of candidate phrases containing the letter
+     */
+    private double probability(char c) {
+        return (double) letterCounts[c - 'A'] / candidates.size();
+    }
+
+    //------------------ GETTERS AND SETTERS ---------------------//
+
+    /**
+     * Gets the phrases that fitted the board when the strategy last decided
+     * @return returns the candidate phrases, or null before the first game
+     */
+    public PhraseSolver.Candidates getCandidates() {
+        return candidates;
+    }
+}
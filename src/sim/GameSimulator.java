@@ -0,0 +1,167 @@
+package sim;
+
+import game.Game;
+import game.GuessOutcome;
+import game.GuessOutcomeType;
+import game.Player;
+import game.SegmentType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Runs full Wheel of Fortune games without the UI, with each seat played by a {@link PlayerStrategy}.
+ * Spins are resolved instantly and each thread reuses one Game for all of its games.
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class GameSimulator {
+
+    //Declares class fields
+    // Spin limit per game, stops strategies that never solve from running forever.
+    public static final int MAX_MOVES = 1000;
+    private final List<Supplier<? extends PlayerStrategy>> seats;
+
+    /**
+     * Initializes simulator
+     * @param seats one strategy factory per seat, called once per seat on each simulation thread
+     */
+    public GameSimulator(List<Supplier<? extends PlayerStrategy>> seats) {
+        if (seats.isEmpty()) {
+            throw new IllegalArgumentException("At least one seat is needed");
+        }
+        this.seats = new ArrayList<>(seats);
+    }
+
+    /**
+     * Runs games on every available core
+     * @param games number of games to run
+     * @return returns the merged statistics of all games
+     */
+    public SimulationResult run(long games) {
+        return run(games, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Runs games split evenly across a number of threads
+     * @param games number of games to run
+     * @param threads number of threads to run games on
+     * @return returns the merged statistics of all games
+     */
+    public SimulationResult run(long games, int threads) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<SimulationResult>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+
+        try {
+            for (int t = 0; t < threads; t++) {
+                long share = games / threads + (t < games % threads ? 1 : 0);
+                futures.add(executor.submit(() -> runOnThread(share)));
+            }
+
+            SimulationResult result = new SimulationResult(seats.size());
+            for (Future<SimulationResult> future : futures) {
+                result.merge(future.get());
+            }
+            result.setElapsedNanos(System.nanoTime() - start);
+            return result;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs games on the calling thread with its own Game and strategies
+     * @param games number of games to run
+     * @return returns the statistics of the games run
+     */
+    private SimulationResult runOnThread(long games) {
+        Game game = new Game();
+        PlayerStrategy[] strategies = new PlayerStrategy[seats.size()];
+
+        for (int i = 0; i < strategies.length; i++) {
+            strategies[i] = seats.get(i).get();
+            game.addPlayer(new Player("Seat " + (i + 1)));
+        }
+
+        SimulationResult result = new SimulationResult(strategies.length);
+        for (long g = 0; g < games; g++) {
+            playGame(game, strategies, result);
+        }
+        return result;
+    }
+
+    /**
+     * Plays one game to completion, or until the move limit, and records it
+     * @param game game to play, reused between games
+     * @param strategies strategy for each seat
+     * @param result result to record the game in
+     */
+    public static void playGame(Game game, PlayerStrategy[] strategies, SimulationResult result) {
+        for (Player player : game.getPlayerList()) {
+            player.setScore(0);
+        }
+        game.newGame();
+
+        for (PlayerStrategy strategy : strategies) {
+            strategy.newGame(game);
+        }
+
+        int moves = 0;
+        while (game.getWinner() == null && moves < MAX_MOVES) {
+            moves++;
+            PlayerStrategy strategy = strategies[game.getPlayerTurn()];
+
+            game.startSpin();
+            game.getWheel().spinUntilStopped();
+
+            // Bankrupt and lose a turn are applied by the game, free spin spins again
+            if (game.applySpinResult().getType() != SegmentType.MONEY) {
+                continue;
+            }
+
+            if (strategy.shouldSolve(game)) {
+                game.guessPhrase(strategy.solve(game));
+            } else {
+                GuessOutcome outcome = game.guessLetter(strategy.chooseLetter(game));
+                // The UI lets the player guess again, here play passes so a bad strategy can't stall the game
+                if (outcome.type == GuessOutcomeType.VOWEL_CANT_AFFORD) {
+                    game.nextTurn();
+                }
+            }
+        }
+
+        if (game.getWinner() != null) {
+            int seat = game.getPlayerList().indexOf(game.getWinner());
+            result.recordWin(seat, game.getWinner().getScore(), moves);
+        } else {
+            result.recordUnfinished(moves);
+        }
+    }
+
+    /**
+     * Runs a simulation from the command line and prints the report
+     *
+     * @param args optional number of games, number of seats and number of threads
+     */
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000;
+        int seatCount = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        List<Supplier<? extends PlayerStrategy>> seats = new ArrayList<>();
+        for (int i = 0; i < seatCount; i++) {
+            seats.add(RandomStrategy::new);
+        }
+
+        SimulationResult result = new GameSimulator(seats).run(games, threads);
+        System.out.print(result.report());
+    }
+}
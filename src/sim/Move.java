@@ -0,0 +1,22 @@
+package sim;
+
+/**
+ * Enumeration structure for the moves a player can make on their turn, each starting with a spin.
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public enum Move {
+    /**
+     * Player spins and guesses a consonant
+     */
+    SPIN,
+    /**
+     * Player spins and buys a vowel
+     */
+    BUY_VOWEL,
+    /**
+     * Player spins and guesses the full phrase
+     */
+    SOLVE
+}
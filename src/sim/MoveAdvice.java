@@ -0,0 +1,219 @@
+package sim;
+
+/**
+ * Expected score of each move estimated by {@link MoveAdvisor}, with its 95% confidence interval. Each rollout
+ * task fills its own advice, which are merged as the tasks finish.
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class MoveAdvice {
+
+    //Declares class fields
+    // Normal quantile of a two-sided 95% confidence interval.
+    public static final double Z_95 = 1.96;
+    private static final Move[] MOVES = Move.values();
+
+    private final long[] rollouts = new long[MOVES.length];
+    private final double[] scoreSums = new double[MOVES.length];
+    private final double[] scoreSquareSums = new double[MOVES.length];
+    private final long[] solves = new long[MOVES.length];
+    private final boolean[] available = new boolean[MOVES.length];
+    private long elapsedNanos;
+    private boolean converged;
+
+    /**
+     * Records one rollout of a move
+     * @param move move the rollout started with
+     * @param scoreChange change in the player's score by the end of their turn
+     * @param solved true if the player solved the phrase during the rollout
+     */
+    public void record(Move move, int scoreChange, boolean solved) {
+        int i = move.ordinal();
+        rollouts[i]++;
+        scoreSums[i] += scoreChange;
+        scoreSquareSums[i] += (double) scoreChange * scoreChange;
+        if (solved) solves[i]++;
+    }
+
+    /**
+     * Adds the rollouts of another advice to this advice
+     * @param other advice to add
+     */
+    public void merge(MoveAdvice other) {
+        for (int i = 0; i < MOVES.length; i++) {
+            rollouts[i] += other.rollouts[i];
+            scoreSums[i] += other.scoreSums[i];
+            scoreSquareSums[i] += other.scoreSquareSums[i];
+            solves[i] += other.solves[i];
+        }
+    }
+
+    /**
+     * Gets the estimated expected score of a move
+     * @param move move to check
+     * @return returns the mean change in the player's score over the rest of their turn, or 0 without rollouts
+     */
+    public double getExpectedScore(Move move) {
+        int i = move.ordinal();
+        return rollouts[i] == 0 ? 0 : scoreSums[i] / rollouts[i];
+    }
+
+    /**
+     * Gets the half-width of the 95% confidence interval of a move's expected score
+     * @param move move to check
+     * @return returns the half-width in points, or infinity with fewer than two rollouts
+     */
+    public double getHalfWidth(Move move) {
+        int i = move.ordinal();
+        long n = rollouts[i];
+        if (n < 2) return Double.POSITIVE_INFINITY;
+
+        double mean = scoreSums[i] / n;
+        double variance = Math.max(0, (scoreSquareSums[i] - n * mean * mean) / (n - 1));
+        return Z_95 * Math.sqrt(variance / n);
+    }
+
+    /**
+     * Checks whether every available move's estimate is tight enough
+     * @param halfWidth widest confidence interval half-width allowed, in points
+     * @param minRollouts fewest rollouts of each move before the estimates are trusted
+     * @return returns true if every available move has enough rollouts and a narrow enough interval
+     */
+    public boolean isWithin(double halfWidth, long minRollouts) {
+        for (Move move : MOVES) {
+            if (available[move.ordinal()] && (getRollouts(move) < minRollouts || getHalfWidth(move) > halfWidth)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the best move is clearly ahead, which is often settled long before every interval is narrow
+     * @param minRollouts fewest rollouts of each move before the estimates are trusted
+     * @return returns true if every available move has enough rollouts and the best move's confidence interval lies
+     * wholly above every other available move's
+     */
+    public boolean isDecided(long minRollouts) {
+        Move best = getBestMove();
+        if (best == null) return false;
+
+        double bestLow = getExpectedScore(best) - getHalfWidth(best);
+        for (Move move : MOVES) {
+            if (!available[move.ordinal()]) continue;
+            if (getRollouts(move) < minRollouts) return false;
+            if (move != best && getExpectedScore(move) + getHalfWidth(move) >= bestLow) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the available move with the highest expected score
+     * @return returns the best move
+     */
+    public Move getBestMove() {
+        Move best = null;
+        for (Move move : MOVES) {
+            if (available[move.ordinal()] && (best == null || getExpectedScore(move) > getExpectedScore(best))) {
+                best = move;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Builds a readable report of the advice
+     * @return returns multi-line report text
+     */
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        long total = 0;
+        for (long n : rollouts) total += n;
+
+        sb.append(String.format("Rollouts: %d in %.2f ms%s%n", total, elapsedNanos / 1e6,
+                converged ? ", stopped early" : ""));
+        for (Move move : MOVES) {
+            if (!isAvailable(move)) {
+                sb.append(String.format("  %-10s unavailable%n", move));
+                continue;
+            }
+            sb.append(String.format("  %-10s %8.1f +- %-6.1f solves %5.1f%%  (%d rollouts)%n", move,
+                    getExpectedScore(move), getHalfWidth(move), 100 * getSolveRate(move), getRollouts(move)));
+        }
+        sb.append("Best move: ").append(getBestMove()).append(System.lineSeparator());
+
+        return sb.toString();
+    }
+
+    //------------------ GETTERS AND SETTERS ---------------------//
+
+    /**
+     * Gets the number of rollouts of a move
+     * @param move move to check
+     * @return returns the number of rollouts
+     */
+    public long getRollouts(Move move) {
+        return rollouts[move.ordinal()];
+    }
+
+    /**
+     * Gets the fraction of a move's rollouts in which the player solved the phrase
+     * @param move move to check
+     * @return returns the solve rate, or 0 without rollouts
+     */
+    public double getSolveRate(Move move) {
+        int i = move.ordinal();
+        return rollouts[i] == 0 ? 0 : (double) solves[i] / rollouts[i];
+    }
+
+    /**
+     * Checks whether a move could be made from the position advised on
+     * @param move move to check
+     * @return returns true if the move was available
+     */
+    public boolean isAvailable(Move move) {
+        return available[move.ordinal()];
+    }
+
+    /**
+     * Sets whether a move could be made from the position advised on
+     * @param move move to set
+     * @param available true if the move was available
+     */
+    public void setAvailable(Move move, boolean available) {
+        this.available[move.ordinal()] = available;
+    }
+
+    /**
+     * Gets the wall-clock time taken to advise
+     * @return returns elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Sets the wall-clock time taken to advise
+     * @param elapsedNanos elapsed time in nanoseconds
+     */
+    public void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Checks whether the best move became clear or the estimates tight enough before the latency budget ran out
+     * @return returns true if the advisor stopped early
+     */
+    public boolean isConverged() {
+        return converged;
+    }
+
+    /**
+     * Sets whether the best move became clear or the estimates tight enough before the latency budget ran out
+     * @param converged true if the advisor stopped early
+     */
+    public void setConverged(boolean converged) {
+        this.converged = converged;
+    }
+}
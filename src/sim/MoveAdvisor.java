@@ -0,0 +1,455 @@
+package sim;
+
+import game.Game;
+import game.Phrase;
+import game.PhraseCorpus;
+import game.PhraseSolver;
+import game.SegmentType;
+import game.Wheel;
+import game.WheelSegment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Estimates the expected score of each move from a game position by playing out the rest of the turn many times
+ * at random. Rollouts run on a fork/join pool in rounds, one task per worker, and run against a flat copy of the
+ * position rather than the Game, so no rollout touches shared state. The hidden phrase is drawn from the corpus
+ * phrases that still fit the board rather than read from the game. The one exception is a board no corpus phrase
+ * fits, such as a phrase added outside the corpus, where the rollouts fall back to the real phrase; the advice
+ * then knows more than a player could. Rounds stop as soon as the best move's 95% confidence interval clears every
+ * other move's, or every interval is narrow enough, or when the latency budget runs out.
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class MoveAdvisor {
+
+    //Declares class fields
+    public static final long DEFAULT_BUDGET_NANOS = 5_000_000;
+    // Smallest money value on the wheel, so estimates this close differ by less than one letter.
+    public static final double DEFAULT_HALF_WIDTH = 150;
+    // Rollouts of each move before the confidence interval is trusted.
+    private static final int MIN_ROLLOUTS = 256;
+    private static final int FIRST_BATCH = 64;
+    private static final int MAX_BATCH = 4096;
+    // Fitting phrases a rollout draws its hidden phrase from.
+    private static final int MAX_SAMPLED_PHRASES = 1024;
+    // Missing letters at which a rollout solves rather than guessing on.
+    private static final int SOLVE_THRESHOLD = 3;
+    // Spin limit per rollout, only reached on a wheel of free spins.
+    private static final int MAX_SPINS = 100;
+    // Rollouts between checks of the clock.
+    private static final int DEADLINE_CHECK_INTERVAL = 16;
+    private static final int ALPHABET_SIZE = 26;
+    private static final Move[] MOVES = Move.values();
+
+    private final ForkJoinPool pool;
+    private final long budgetNanos;
+    private final double halfWidth;
+    private PhraseSolver solver;
+
+    /**
+     * Initializes advisor on the common pool with the default budget and precision
+     */
+    public MoveAdvisor() {
+        this(ForkJoinPool.commonPool(), DEFAULT_BUDGET_NANOS, DEFAULT_HALF_WIDTH);
+    }
+
+    /**
+     * Initializes advisor
+     * @param pool pool the rollouts run on, one task per worker each round
+     * @param budgetNanos longest time to spend on one piece of advice
+     * @param halfWidth confidence interval half-width, in points, at which to stop early even if the best move is
+     *                  not yet clear of the others
+     */
+    public MoveAdvisor(ForkJoinPool pool, long budgetNanos, double halfWidth) {
+        this.pool = pool;
+        this.budgetNanos = budgetNanos;
+        this.halfWidth = halfWidth;
+        this.solver = PhraseSolver.getDefault();
+    }
+
+    /**
+     * Advises the current player of a game whose wheel has not been spun yet
+     * @param game game to advise on, which is only read
+     * @return returns the estimated expected score of each move
+     */
+    public MoveAdvice advise(Game game) {
+        return advise(game, new Random().nextLong());
+    }
+
+    /**
+     * Advises the current player of a game whose wheel has not been spun yet. The same seed gives the same
+     * rollouts on the same number of workers, though how many rounds fit in the budget depends on timing.
+     * @param game game to advise on, which is only read
+     * @param seed seed of the rollouts
+     * @return returns the estimated expected score of each move
+     */
+    public MoveAdvice advise(Game game, long seed) {
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+        SplittableRandom rand = new SplittableRandom(seed);
+
+        Position position = new Position(game, candidatesFor(game), new Random(rand.nextLong()));
+        MoveAdvice advice = new MoveAdvice();
+        for (Move move : MOVES) {
+            advice.setAvailable(move, position.isAvailable(move));
+        }
+
+        int batch = FIRST_BATCH;
+        int workers = pool.getParallelism();
+        while (true) {
+            List<Rollouts> round = new ArrayList<>(workers);
+            for (int w = 0; w < workers; w++) {
+                Rollouts task = new Rollouts(position, batch, deadline, rand.split());
+                pool.execute(task);
+                round.add(task);
+            }
+            for (Rollouts task : round) {
+                advice.merge(task.join());
+            }
+
+            if (advice.isDecided(MIN_ROLLOUTS) || advice.isWithin(halfWidth, MIN_ROLLOUTS)) {
+                advice.setConverged(true);
+                break;
+            }
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+            batch = Math.min(batch * 2, MAX_BATCH);
+        }
+
+        advice.setElapsedNanos(System.nanoTime() - start);
+        return advice;
+    }
+
+    /**
+     * Narrows the game's corpus to the phrases that fit the board
+     * @param game game to advise on
+     * @return returns the fitting phrases
+     */
+    private PhraseSolver.Candidates candidatesFor(Game game) {
+        PhraseCorpus corpus = game.getPhrase().getCorpus();
+        if (solver.getCorpus() != corpus) {
+            solver = new PhraseSolver(corpus);
+        }
+
+        PhraseSolver.Candidates candidates = solver.newCandidates();
+        candidates.update(game.getPhrase());
+        return candidates;
+    }
+
+    /**
+     * Flat, read-only copy of everything a rollout needs from the game, shared by all rollout tasks
+     */
+    private static final class Position {
+
+        //Declares class fields
+        private final SegmentType[] types;
+        private final int[] values;
+        private final double segmentAngle;
+        private final double angle;
+        private final int score;
+        private final int guessedLetters;
+        private final int missing;
+        // Count of each letter in each sampled phrase, phrase-major.
+        private final int[] letterCounts;
+        private final int phraseCount;
+        // Whether each sampled phrase is the one a solve would guess.
+        private final boolean[] isGuess;
+        // Unguessed letters in at least one sampled phrase, from most to least likely.
+        private final int[] consonants;
+        private final int[] vowels;
+
+        /**
+         * Copies a game position
+         * @param game game to copy
+         * @param candidates phrases that fit the board
+         * @param rand randomness for picking the sampled phrases
+         */
+        private Position(Game game, PhraseSolver.Candidates candidates, Random rand) {
+            Wheel wheel = game.getWheel();
+            List<WheelSegment> segments = wheel.getSegments();
+            types = new SegmentType[segments.size()];
+            values = new int[segments.size()];
+            for (int i = 0; i < types.length; i++) {
+                types[i] = segments.get(i).getType();
+                values[i] = segments.get(i).getValue();
+            }
+            segmentAngle = wheel.getSegmentAngle();
+            angle = wheel.getCurrentAngle();
+
+            Phrase phrase = game.getPhrase();
+            score = game.getCurrentPlayer().getScore();
+            guessedLetters = phrase.getGuessedLetters();
+            missing = phrase.getNumOfMissingLetters();
+
+            // Without a fitting phrase in the corpus the rollouts can only play against the real one, which is
+            // the one place the advice reads the hidden phrase (see the class comment)
+            String[] sampled;
+            if (candidates.size() > 0) {
+                int[] ids = candidates.sample(MAX_SAMPLED_PHRASES, rand);
+                sampled = new String[ids.length];
+                for (int k = 0; k < ids.length; k++) {
+                    sampled[k] = phrase.getCorpus().get(ids[k]);
+                }
+            } else {
+                sampled = new String[] { phrase.getHiddenPhrase() };
+            }
+
+            phraseCount = sampled.length;
+            letterCounts = new int[phraseCount * ALPHABET_SIZE];
+            isGuess = new boolean[phraseCount];
+            int[] containing = new int[ALPHABET_SIZE];
+            for (int k = 0; k < phraseCount; k++) {
+                String s = sampled[k];
+                isGuess[k] = s.equalsIgnoreCase(sampled[0]);
+
+                int base = k * ALPHABET_SIZE;
+                for (int i = 0; i < s.length(); i++) {
+                    int letter = Character.toUpperCase(s.charAt(i)) - 'A';
+                    if (letter >= 0 && letter < ALPHABET_SIZE && (guessedLetters & (1 << letter)) == 0) {
+                        if (letterCounts[base + letter]++ == 0) containing[letter]++;
+                    }
+                }
+            }
+
+            consonants = lettersByLikelihood(containing, false);
+            vowels = lettersByLikelihood(containing, true);
+        }
+
+        /**
+         * Orders the unguessed consonants or vowels by how many sampled phrases contain them. Letters in none of
+         * them are left out, as guessing one could only lose the turn.
+         * @param containing number of sampled phrases containing each letter
+         * @param vowel true for vowels, false for consonants
+         * @return returns the letters from most to least likely
+         */
+        private int[] lettersByLikelihood(int[] containing, boolean vowel) {
+            List<Integer> letters = new ArrayList<>();
+            for (int letter = 0; letter < ALPHABET_SIZE; letter++) {
+                if (containing[letter] > 0 && Game.guessIsVowel((char) ('A' + letter)) == vowel) {
+                    letters.add(letter);
+                }
+            }
+            letters.sort((a, b) -> containing[b] - containing[a]);
+
+            int[] order = new int[letters.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = letters.get(i);
+            }
+            return order;
+        }
+
+        /**
+         * Checks whether a move can be made from the position
+         * @param move move to check
+         * @return returns true if the move is available
+         */
+        private boolean isAvailable(Move move) {
+            if (move == Move.BUY_VOWEL) {
+                return vowels.length > 0 && score >= Game.VOWEL_COST;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Plays a batch of rollouts of every available move
+     */
+    private static final class Rollouts extends RecursiveTask<MoveAdvice> {
+
+        //Declares class fields
+        private final Position position;
+        private final int batch;
+        private final long deadline;
+        private final SplittableRandom rand;
+
+        // State of the rollout being played
+        private int score;
+        private int guessedLetters;
+        private int missing;
+        private double angle;
+        private int phraseBase;
+        private boolean solved;
+
+        /**
+         * Initializes task
+         * @param position position to play from
+         * @param batch number of rollouts of each move
+         * @param deadline System.nanoTime() at which to stop, even part way through the batch
+         * @param rand randomness of this task's rollouts
+         */
+        private Rollouts(Position position, int batch, long deadline, SplittableRandom rand) {
+            this.position = position;
+            this.batch = batch;
+            this.deadline = deadline;
+            this.rand = rand;
+        }
+
+        @Override
+        protected MoveAdvice compute() {
+            MoveAdvice advice = new MoveAdvice();
+            for (int i = 0; i < batch; i++) {
+                if (i % DEADLINE_CHECK_INTERVAL == 0 && i > 0 && System.nanoTime() >= deadline) {
+                    break;
+                }
+                for (Move move : MOVES) {
+                    if (position.isAvailable(move)) {
+                        play(move);
+                        advice.record(move, score - position.score, solved);
+                    }
+                }
+            }
+            return advice;
+        }
+
+        /**
+         * Plays out the rest of the turn against a sampled phrase, starting with a move
+         * @param move first move of the turn
+         */
+        private void play(Move move) {
+            score = position.score;
+            guessedLetters = position.guessedLetters;
+            missing = position.missing;
+            angle = position.angle;
+            solved = false;
+            int phrase = rand.nextInt(position.phraseCount);
+            phraseBase = phrase * ALPHABET_SIZE;
+
+            boolean first = true;
+            for (int spins = 0; spins < MAX_SPINS; spins++) {
+                double velocity = Wheel.MIN_SPIN_VELOCITY + rand.nextDouble() * Wheel.SPIN_VELOCITY_RANGE;
+                angle = Wheel.stopAngle(angle, velocity);
+                int segment = Math.min((int) (angle / position.segmentAngle), position.types.length - 1);
+
+                switch (position.types[segment]) {
+                    case BANKRUPT:
+                        score = 0;
+                        return;
+                    case LOSE_A_TURN:
+                        return;
+                    case FREE_SPIN:
+                        continue;
+                    default:
+                        break;
+                }
+
+                int value = position.values[segment];
+                boolean keepTurn;
+                if (first && move == Move.SOLVE) {
+                    // Solving from the position guesses one of the fitting phrases, which may be wrong
+                    keepTurn = false;
+                    if (position.isGuess[phrase]) solve(value);
+                } else if (first && move == Move.BUY_VOWEL) {
+                    keepTurn = buyVowel(value);
+                } else if (first || missing > SOLVE_THRESHOLD) {
+                    keepTurn = guessConsonant(value);
+                } else {
+                    // Later in the turn the player is assumed to know the phrase once few letters are missing
+                    solve(value);
+                    keepTurn = false;
+                }
+                first = false;
+
+                if (!keepTurn) return;
+            }
+        }
+
+        /**
+         * Guesses the likeliest unguessed consonant, or buys a vowel or solves when no consonant could be in the phrase
+         * @param value value the wheel landed on
+         * @return returns true if the turn goes on
+         */
+        private boolean guessConsonant(int value) {
+            for (int letter : position.consonants) {
+                if ((guessedLetters & (1 << letter)) == 0) {
+                    return guess(letter, value);
+                }
+            }
+            if (score >= Game.VOWEL_COST) {
+                return buyVowel(value);
+            }
+            solve(value);
+            return false;
+        }
+
+        /**
+         * Buys the likeliest unguessed vowel, or solves when no vowel could be in the phrase
+         * @param value value the wheel landed on
+         * @return returns true if the turn goes on
+         */
+        private boolean buyVowel(int value) {
+            for (int letter : position.vowels) {
+                if ((guessedLetters & (1 << letter)) == 0) {
+                    score -= Game.VOWEL_COST;
+                    return guess(letter, value);
+                }
+            }
+            solve(value);
+            return false;
+        }
+
+        /**
+         * Guesses a letter against the sampled phrase
+         * @param letter letter index, 0 for A
+         * @param value value the wheel landed on
+         * @return returns true if the letter was found and letters are still missing
+         */
+        private boolean guess(int letter, int value) {
+            guessedLetters |= 1 << letter;
+            int count = position.letterCounts[phraseBase + letter];
+            score += count * value;
+            missing -= count;
+            return count > 0 && missing > 0;
+        }
+
+        /**
+         * Solves the sampled phrase, winning the wheel value for each missing letter as the game does
+         * @param value value the wheel landed on
+         */
+        private void solve(int value) {
+            score += missing * value;
+            missing = 0;
+            solved = true;
+        }
+    }
+
+    /**
+     * Advises on a sample position from the command line and prints the advice
+     *
+     * @param args optional budget in milliseconds, number of workers and game seed
+     */
+    public static void main(String[] args) {
+        long budgetMillis = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_BUDGET_NANOS / 1_000_000;
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+
+        Game game = new Game(seed);
+        game.addPlayer(new ComputerPlayer("Computer 1"));
+        game.newGame(seed);
+        game.setPlayerTurn(0);
+        game.getCurrentPlayer().setScore(1500);
+        for (char c : "RSTLN".toCharArray()) {
+            game.getPhrase().matchLetter(c);
+        }
+        System.out.println("Board: " + game.getPhrase().getCurrentPhrase());
+
+        ForkJoinPool pool = new ForkJoinPool(workers);
+        MoveAdvisor advisor = new MoveAdvisor(pool, budgetMillis * 1_000_000, DEFAULT_HALF_WIDTH);
+        try {
+            // Warms up the rollout code before the advice that is shown
+            for (int i = 0; i < 200; i++) {
+                advisor.advise(game, i);
+            }
+            System.out.print(advisor.advise(game, seed).report());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package sim;
+
+import game.Game;
+
+/**
+ * Strategy used to make decisions for a player seat when games are run without the UI.
+ * A new strategy is created for each seat on each simulation thread, so implementations may keep state.
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public interface PlayerStrategy {
+
+    /**
+     * Called when a new game starts, before the first spin
+     * @param game the game that is starting
+     */
+    default void newGame(Game game) {
+    }
+
+    /**
+     * Decides whether to guess the full phrase after landing on a money segment
+     * @param game the game being played, with the wheel stopped on a money segment
+     * @return returns true to guess the full phrase, false to guess a letter
+     */
+    boolean shouldSolve(Game game);
+
+    /**
+     * Picks the phrase to guess when solving
+     * @param game the game being played
+     * @return returns the full phrase guess
+     */
+    String solve(Game game);
+
+    /**
+     * Picks the letter to guess after landing on a money segment
+     * @param game the game being played
+     * @return returns the letter to guess
+     */
+    char chooseLetter(Game game);
+}
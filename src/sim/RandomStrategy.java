@@ -0,0 +1,94 @@
+package sim;
+
+import game.Game;
+import game.Phrase;
+
+import java.util.Random;
+
+/**
+ * Baseline strategy that guesses random letters it hasn't tried yet, buys vowels when it can afford them and
+ * solves once only a few letters are missing. Solving reads the hidden phrase, so it stands in for a player
+ * who always recognises the phrase at that point.
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class RandomStrategy implements PlayerStrategy {
+
+    //Declares class fields
+    private static final String CONSONANTS = "BCDFGHJKLMNPQRSTVWXYZ";
+    private static final String VOWELS = "AEIOU";
+    private final Random rand;
+    private final int solveThreshold;
+
+    /**
+     * Initializes strategy
+     * @param solveThreshold number of missing letters at or below which the strategy solves
+     * @param rand source of randomness for the letters guessed, seeded for repeatable games
+     */
+    public RandomStrategy(int solveThreshold, Random rand) {
+        this.solveThreshold = solveThreshold;
+        this.rand = rand;
+    }
+
+    /**
+     * Initializes strategy
+     * @param solveThreshold number of missing letters at or below which the strategy solves
+     */
+    public RandomStrategy(int solveThreshold) {
+        this(solveThreshold, new Random());
+    }
+
+    /**
+     * Initializes strategy that solves once 3 or fewer letters are missing
+     */
+    public RandomStrategy() {
+        this(3);
+    }
+
+    @Override
+    public boolean shouldSolve(Game game) {
+        // Also solves when only vowels are left to guess, since guessing a used consonant just passes play
+        return game.getPhrase().getNumOfMissingLetters() <= solveThreshold
+                || pickUnguessed(CONSONANTS, game.getPhrase()) == 0;
+    }
+
+    @Override
+    public String solve(Game game) {
+        return game.getPhrase().getHiddenPhrase();
+    }
+
+    @Override
+    public char chooseLetter(Game game) {
+        Phrase phrase = game.getPhrase();
+
+        if (game.playerCanAffordVowel(game.getCurrentPlayer()) && rand.nextInt(4) == 0) {
+            char vowel = pickUnguessed(VOWELS, phrase);
+            if (vowel != 0) {
+                return vowel;
+            }
+        }
+
+        char consonant = pickUnguessed(CONSONANTS, phrase);
+        return consonant != 0 ? consonant : CONSONANTS.charAt(rand.nextInt(CONSONANTS.length()));
+    }
+
+    /**
+     * Picks a random letter from a set that hasn't been guessed for the phrase yet
+     * @param letters letters to pick from
+     * @param phrase phrase being guessed
+     * @return returns an unguessed letter, or 0 if every letter in the set has been guessed
+     */
+    private char pickUnguessed(String letters, Phrase phrase) {
+        int start = rand.nextInt(letters.length());
+
+        for (int i = 0; i < letters.length(); i++) {
+            char c = letters.charAt((start + i) % letters.length());
+            if (!phrase.isLetterGuessed(c)) {
+                return c;
+            }
+        }
+
+        return 0;
+    }
+}
@@ -0,0 +1,180 @@
+package sim;
+
+/**
+ * Aggregated statistics from a batch of simulated games. Each simulation thread fills its own result, which
+ * are merged once all threads have finished.
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class SimulationResult {
+
+    //Declares class fields
+    public static final int BUCKET_WIDTH = 500;
+    public static final int BUCKET_COUNT = 40;
+
+    private long games;
+    private long unfinishedGames;
+    private long totalMoves;
+    private final long[] winsBySeat;
+    // Winning score histogram, last bucket also holds every score above the range.
+    private final long[] winningScoreBuckets = new long[BUCKET_COUNT];
+    private long winningScoreSum;
+    private int minWinningScore = Integer.MAX_VALUE;
+    private int maxWinningScore = Integer.MIN_VALUE;
+    private long elapsedNanos;
+
+    /**
+     * Initializes empty result
+     * @param seats number of player seats in the simulated games
+     */
+    public SimulationResult(int seats) {
+        winsBySeat = new long[seats];
+    }
+
+    /**
+     * Records a finished game
+     * @param winnerSeat seat index of the winning player
+     * @param winningScore final score of the winning player
+     * @param moves number of spins taken during the game
+     */
+    public void recordWin(int winnerSeat, int winningScore, int moves) {
+        games++;
+        totalMoves += moves;
+        winsBySeat[winnerSeat]++;
+        winningScoreSum += winningScore;
+        minWinningScore = Math.min(minWinningScore, winningScore);
+        maxWinningScore = Math.max(maxWinningScore, winningScore);
+
+        int bucket = Math.max(0, Math.min(BUCKET_COUNT - 1, winningScore / BUCKET_WIDTH));
+        winningScoreBuckets[bucket]++;
+    }
+
+    /**
+     * Records a game that hit the move limit without a winner
+     * @param moves number of spins taken during the game
+     */
+    public void recordUnfinished(int moves) {
+        games++;
+        unfinishedGames++;
+        totalMoves += moves;
+    }
+
+    /**
+     * Adds the statistics of another result to this result
+     * @param other result to add
+     */
+    public void merge(SimulationResult other) {
+        games += other.games;
+        unfinishedGames += other.unfinishedGames;
+        totalMoves += other.totalMoves;
+        winningScoreSum += other.winningScoreSum;
+        minWinningScore = Math.min(minWinningScore, other.minWinningScore);
+        maxWinningScore = Math.max(maxWinningScore, other.maxWinningScore);
+
+        for (int i = 0; i < winsBySeat.length; i++) {
+            winsBySeat[i] += other.winsBySeat[i];
+        }
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            winningScoreBuckets[i] += other.winningScoreBuckets[i];
+        }
+    }
+
+    /**
+     * Gets the number of games simulated per second of wall-clock time
+     * @return returns games per second, or 0 if no time has been recorded
+     */
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games / (elapsedNanos / 1e9);
+    }
+
+    /**
+     * Gets the mean score of winning players
+     * @return returns the mean winning score, or 0 if no game was won
+     */
+    public double getMeanWinningScore() {
+        long won = games - unfinishedGames;
+        return won == 0 ? 0 : (double) winningScoreSum / won;
+    }
+
+    /**
+     * Builds a readable report of the results
+     * @return returns multi-line report text
+     */
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Games: %d (%d unfinished) in %.2f s, %.0f games/s%n",
+                games, unfinishedGames, elapsedNanos / 1e9, getGamesPerSecond()));
+        sb.append(String.format("Spins per game: %.2f%n", games == 0 ? 0 : (double) totalMoves / games));
+
+        if (games > unfinishedGames) {
+            sb.append(String.format("Winning score: mean %.1f, min %d, max %d%n",
+                    getMeanWinningScore(), minWinningScore, maxWinningScore));
+        }
+
+        for (int i = 0; i < winsBySeat.length; i++) {
+            sb.append(String.format("Seat %d wins: %d (%.2f%%)%n", i + 1, winsBySeat[i],
+                    games == 0 ? 0 : 100.0 * winsBySeat[i] / games));
+        }
+
+        sb.append("Winning score distribution:").append(System.lineSeparator());
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (winningScoreBuckets[i] == 0) continue;
+            String upper = i == BUCKET_COUNT - 1 ? "" : String.valueOf((i + 1) * BUCKET_WIDTH - 1);
+            sb.append(String.format("  %6d-%-6s %d%n", i * BUCKET_WIDTH, upper, winningScoreBuckets[i]));
+        }
+
+        return sb.toString();
+    }
+
+    //------------------ GETTERS AND SETTERS ---------------------//
+
+    /**
+     * Gets the number of games simulated
+     * @return returns the number of games simulated
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the number of games that hit the move limit
+     * @return returns the number of unfinished games
+     */
+    public long getUnfinishedGames() {
+        return unfinishedGames;
+    }
+
+    /**
+     * Gets the number of wins for each seat
+     * @return returns array of wins indexed by seat
+     */
+    public long[] getWinsBySeat() {
+        return winsBySeat.clone();
+    }
+
+    /**
+     * Gets the winning score histogram
+     * @return returns counts of winning scores in buckets of BUCKET_WIDTH
+     */
+    public long[] getWinningScoreBuckets() {
+        return winningScoreBuckets.clone();
+    }
+
+    /**
+     * Gets the wall-clock time the simulation took
+     * @return returns elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Sets the wall-clock time the simulation took
+     * @param elapsedNanos elapsed time in nanoseconds
+     */
+    public void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+}
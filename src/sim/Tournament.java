@@ -0,0 +1,360 @@
+package sim;
+
+import game.Game;
+import game.Player;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongFunction;
+
+/**
+ * Round-robin tournament of player strategies. Every round seats each combination of three strategies at a
+ * table for a number of games, with the seats rotating from round to round. Tables are independent tasks on a
+ * fixed pool, each with its own Game and strategies, so the only shared state is the result's lock-free totals.
+ *
+ * <p>Everything random in a table is seeded from the tournament seed and the table's number, so the same seed
+ * plays the same games on any number of threads. Each finished table is streamed to a CSV or JSON Lines file.
+ * Rows are written in table order as each run of tables completes, so the file is the same for the same seed.
+ * Tables are submitted a few per thread ahead of the oldest unfinished one, so only that window is ever held.</p>
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class Tournament {
+
+    //Declares class fields
+    public static final int SEATS = 3;
+    // Tables written between flushes of the output file.
+    private static final int FLUSH_INTERVAL = 256;
+    // Tables submitted ahead of the one being written, per thread.
+    private static final int TABLES_IN_FLIGHT_PER_THREAD = 4;
+
+    private final List<String> names;
+    private final List<LongFunction<? extends PlayerStrategy>> entrants;
+    // Strategy indexes seated at each table of a round.
+    private final List<int[]> lineups = new ArrayList<>();
+
+    /**
+     * Initializes tournament
+     * @param entrants strategy factory for each entrant by name, in entry order, each given a seed for any
+     *                 randomness of its own
+     */
+    public Tournament(Map<String, LongFunction<? extends PlayerStrategy>> entrants) {
+        if (entrants.size() < SEATS) {
+            throw new IllegalArgumentException("At least " + SEATS + " strategies are needed");
+        }
+        this.names = new ArrayList<>(entrants.keySet());
+        this.entrants = new ArrayList<>(entrants.values());
+        addLineups(new int[SEATS], 0, 0);
+    }
+
+    /**
+     * Adds every combination of distinct strategies for the remaining seats
+     * @param lineup strategies chosen for the seats so far
+     * @param seat next seat to fill
+     * @param first lowest strategy index the seat can take
+     */
+    private void addLineups(int[] lineup, int seat, int first) {
+        if (seat == SEATS) {
+            lineups.add(lineup.clone());
+            return;
+        }
+        for (int s = first; s < entrants.size(); s++) {
+            lineup[seat] = s;
+            addLineups(lineup, seat + 1, s + 1);
+        }
+    }
+
+    /**
+     * Runs the tournament
+     * @param rounds number of times every combination of strategies meets
+     * @param gamesPerTable number of games played at each table
+     * @param seed seed of every table, the same seed always gives the same games
+     * @param threads number of threads to play tables on
+     * @param output CSV file, or JSON Lines if the name ends in .json or .jsonl, or null for no file
+     * @return returns the totals of every strategy
+     */
+    public TournamentResult run(int rounds, int gamesPerTable, long seed, int threads, Path output) {
+        TournamentResult result = new TournamentResult(seed, names);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        // Only a few tables per thread are in flight, so memory stays flat however long the tournament runs
+        int window = threads * TABLES_IN_FLIGHT_PER_THREAD;
+        Deque<Future<TableResult>> pending = new ArrayDeque<>(window);
+        long start = System.nanoTime();
+
+        boolean json = false;
+        if (output != null) {
+            String file = output.getFileName().toString();
+            json = file.endsWith(".json") || file.endsWith(".jsonl");
+        }
+
+        try (BufferedWriter writer = output == null ? null : Files.newBufferedWriter(output)) {
+            if (writer != null && !json) {
+                writeCsvHeader(writer);
+            }
+
+            SplittableRandom seeds = new SplittableRandom(seed);
+            int tables = rounds * lineups.size();
+            int submitted = 0;
+            for (int t = 0; t < tables; t++) {
+                while (submitted < tables && pending.size() < window) {
+                    int[] lineup = seatsFor(submitted);
+                    long tableSeed = seeds.nextLong();
+                    int table = submitted++;
+                    pending.add(executor.submit(() -> playTable(table, tableSeed, lineup, gamesPerTable, result)));
+                }
+
+                // Waits on the oldest table so rows are written in table order
+                TableResult table = pending.remove().get();
+                if (writer == null) {
+                    continue;
+                }
+                if (json) {
+                    writeJson(writer, table);
+                } else {
+                    writeCsv(writer, table);
+                }
+                if (t % FLUSH_INTERVAL == FLUSH_INTERVAL - 1) {
+                    writer.flush();
+                }
+            }
+
+            result.setElapsedNanos(System.nanoTime() - start);
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Gets the strategies at a table, rotating the seats each round so no strategy always sits first
+     * @param table number of the table
+     * @return returns the strategy index at each seat
+     */
+    private int[] seatsFor(int table) {
+        int[] lineup = lineups.get(table % lineups.size());
+        int rotation = (table / lineups.size()) % SEATS;
+
+        int[] seats = new int[SEATS];
+        for (int i = 0; i < SEATS; i++) {
+            seats[i] = lineup[(i + rotation) % SEATS];
+        }
+        return seats;
+    }
+
+    /**
+     * Plays every game at one table and adds them to the tournament totals
+     * @param table number of the table
+     * @param seed seed of the table's game and strategies
+     * @param lineup strategy index at each seat
+     * @param games number of games to play
+     * @param result tournament totals to add to
+     * @return returns the table's own totals
+     */
+    private TableResult playTable(int table, long seed, int[] lineup, int games, TournamentResult result) {
+        Random rand = new Random(seed);
+        Game game = new Game(rand.nextLong());
+        PlayerStrategy[] strategies = new PlayerStrategy[SEATS];
+        for (int i = 0; i < SEATS; i++) {
+            strategies[i] = entrants.get(lineup[i]).apply(rand.nextLong());
+            game.addPlayer(new Player(names.get(lineup[i])));
+        }
+
+        TableResult tableResult = new TableResult(table, seed, lineup);
+        SimulationResult simulation = new SimulationResult(SEATS);
+        for (int g = 0; g < games; g++) {
+            GameSimulator.playGame(game, strategies, simulation);
+
+            for (int i = 0; i < SEATS; i++) {
+                long score = game.getPlayerList().get(i).getScore();
+                tableResult.scoreSums[i] += score;
+                tableResult.scoreSquareSums[i] += score * score;
+                tableResult.maxScores[i] = Math.max(tableResult.maxScores[i], score);
+            }
+        }
+        tableResult.games = simulation.getGames();
+        tableResult.unfinishedGames = simulation.getUnfinishedGames();
+        System.arraycopy(simulation.getWinsBySeat(), 0, tableResult.wins, 0, SEATS);
+
+        // Totals are added once per table rather than per game, so the adders are rarely touched
+        result.recordTable(tableResult.games, tableResult.unfinishedGames);
+        for (int i = 0; i < SEATS; i++) {
+            result.recordSeat(lineup[i], tableResult.games, tableResult.wins[i], tableResult.scoreSums[i],
+                    tableResult.scoreSquareSums[i], tableResult.maxScores[i]);
+        }
+        return tableResult;
+    }
+
+    /**
+     * Totals of one table, kept by seat
+     */
+    private static final class TableResult {
+
+        //Declares class fields
+        private final int table;
+        private final long seed;
+        private final int[] lineup;
+        private final long[] wins = new long[SEATS];
+        private final long[] scoreSums = new long[SEATS];
+        private final long[] scoreSquareSums = new long[SEATS];
+        private final long[] maxScores = new long[SEATS];
+        private long games;
+        private long unfinishedGames;
+
+        /**
+         * Initializes empty table totals
+         * @param table number of the table
+         * @param seed seed the table was played from
+         * @param lineup strategy index at each seat
+         */
+        private TableResult(int table, long seed, int[] lineup) {
+            this.table = table;
+            this.seed = seed;
+            this.lineup = lineup;
+        }
+    }
+
+    /**
+     * Writes the column names of the CSV output
+     * @param writer output file
+     * @throws IOException if the file can't be written
+     */
+    private void writeCsvHeader(Writer writer) throws IOException {
+        StringBuilder sb = new StringBuilder("table,seed,games,unfinished");
+        for (int i = 1; i <= SEATS; i++) {
+            sb.append(",strategy").append(i).append(",wins").append(i).append(",meanScore").append(i);
+        }
+        writer.write(sb.append('\n').toString());
+    }
+
+    /**
+     * Writes one table as a CSV row
+     * @param writer output file
+     * @param table table to write
+     * @throws IOException if the file can't be written
+     */
+    private void writeCsv(Writer writer, TableResult table) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        sb.append(table.table).append(',').append(table.seed).append(',').append(table.games).append(',')
+                .append(table.unfinishedGames);
+        for (int i = 0; i < SEATS; i++) {
+            sb.append(',').append(csvField(names.get(table.lineup[i]))).append(',').append(table.wins[i]).append(',')
+                    .append(meanScore(table, i));
+        }
+        writer.write(sb.append('\n').toString());
+    }
+
+    /**
+     * Writes one table as a line of JSON
+     * @param writer output file
+     * @param table table to write
+     * @throws IOException if the file can't be written
+     */
+    private void writeJson(Writer writer, TableResult table) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"table\":").append(table.table).append(",\"seed\":").append(table.seed)
+                .append(",\"games\":").append(table.games).append(",\"unfinished\":").append(table.unfinishedGames)
+                .append(",\"seats\":[");
+        for (int i = 0; i < SEATS; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"strategy\":").append(jsonString(names.get(table.lineup[i])))
+                    .append(",\"wins\":").append(table.wins[i])
+                    .append(",\"meanScore\":").append(meanScore(table, i))
+                    .append(",\"maxScore\":").append(table.maxScores[i]).append('}');
+        }
+        writer.write(sb.append("]}\n").toString());
+    }
+
+    /**
+     * Gets the mean final score of a seat at a table
+     * @param table table to check
+     * @param seat seat to check
+     * @return returns the mean score, or 0 if no games were played
+     */
+    private static double meanScore(TableResult table, int seat) {
+        return table.games == 0 ? 0 : (double) table.scoreSums[seat] / table.games;
+    }
+
+    /**
+     * Quotes a CSV field if it holds a separator or quote
+     * @param s field text
+     * @return returns the field as it should be written
+     */
+    private static String csvField(String s) {
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0) {
+            return s;
+        }
+        return '"' + s.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Quotes a JSON string
+     * @param s string text
+     * @return returns the quoted and escaped string
+     */
+    private static String jsonString(String s) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    //------------------ GETTERS AND SETTERS ---------------------//
+
+    /**
+     * Gets the number of tables in each round
+     * @return returns the number of combinations of strategies
+     */
+    public int getTablesPerRound() {
+        return lineups.size();
+    }
+
+    /**
+     * Runs a tournament of the built-in strategies from the command line and prints the report
+     *
+     * @param args optional number of rounds, games per table, seed, number of threads and output file
+     */
+    public static void main(String[] args) {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int gamesPerTable = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : new Random().nextLong();
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        Path output = args.length > 4 ? Paths.get(args[4]) : null;
+
+        Map<String, LongFunction<? extends PlayerStrategy>> entrants = new LinkedHashMap<>();
+        entrants.put("random", s -> new RandomStrategy(3, new Random(s)));
+        entrants.put("random-eager", s -> new RandomStrategy(8, new Random(s)));
+        entrants.put("computer", s -> new ComputerStrategy());
+
+        TournamentResult result = new Tournament(entrants).run(rounds, gamesPerTable, seed, threads, output);
+        System.out.print(result.report());
+    }
+}
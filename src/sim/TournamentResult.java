@@ -0,0 +1,196 @@
+package sim;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running totals of a tournament, kept per strategy. Table tasks add to them concurrently as they finish, so
+ * every total is a LongAdder or LongAccumulator rather than a field behind a lock. Every total is a sum or a
+ * maximum of whole numbers, so the totals come out the same whatever order the tables finish in.
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class TournamentResult {
+
+    //Declares class fields
+    private final long seed;
+    private final List<String> names;
+    private final List<StrategyTotals> totals = new ArrayList<>();
+    private final LongAdder tables = new LongAdder();
+    private final LongAdder games = new LongAdder();
+    private final LongAdder unfinishedGames = new LongAdder();
+    private long elapsedNanos;
+
+    /**
+     * Totals of one strategy across every table it sat at
+     */
+    private static final class StrategyTotals {
+        private final LongAdder tables = new LongAdder();
+        private final LongAdder games = new LongAdder();
+        private final LongAdder wins = new LongAdder();
+        private final LongAdder scoreSum = new LongAdder();
+        private final LongAdder scoreSquareSum = new LongAdder();
+        private final LongAccumulator maxScore = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * Initializes empty result
+     * @param seed seed the tournament was played from
+     * @param names name of each strategy, in entry order
+     */
+    public TournamentResult(long seed, List<String> names) {
+        this.seed = seed;
+        this.names = new ArrayList<>(names);
+        for (int i = 0; i < names.size(); i++) {
+            totals.add(new StrategyTotals());
+        }
+    }
+
+    /**
+     * Records a finished table
+     * @param games number of games played at the table
+     * @param unfinishedGames number of those games that hit the move limit without a winner
+     */
+    public void recordTable(long games, long unfinishedGames) {
+        tables.increment();
+        this.games.add(games);
+        this.unfinishedGames.add(unfinishedGames);
+    }
+
+    /**
+     * Records one strategy's games at a finished table
+     * @param strategy index of the strategy in entry order
+     * @param games number of games it played
+     * @param wins number of games it won
+     * @param scoreSum sum of its final scores
+     * @param scoreSquareSum sum of the squares of its final scores
+     * @param maxScore highest final score it reached
+     */
+    public void recordSeat(int strategy, long games, long wins, long scoreSum, long scoreSquareSum, long maxScore) {
+        StrategyTotals t = totals.get(strategy);
+        t.tables.increment();
+        t.games.add(games);
+        t.wins.add(wins);
+        t.scoreSum.add(scoreSum);
+        t.scoreSquareSum.add(scoreSquareSum);
+        t.maxScore.accumulate(maxScore);
+    }
+
+    /**
+     * Gets the fraction of its games a strategy won
+     * @param strategy index of the strategy in entry order
+     * @return returns the win rate, or 0 before it has played
+     */
+    public double getWinRate(int strategy) {
+        StrategyTotals t = totals.get(strategy);
+        long played = t.games.sum();
+        return played == 0 ? 0 : (double) t.wins.sum() / played;
+    }
+
+    /**
+     * Gets the mean final score of a strategy, counting games it lost
+     * @param strategy index of the strategy in entry order
+     * @return returns the mean final score, or 0 before it has played
+     */
+    public double getMeanScore(int strategy) {
+        StrategyTotals t = totals.get(strategy);
+        long played = t.games.sum();
+        return played == 0 ? 0 : (double) t.scoreSum.sum() / played;
+    }
+
+    /**
+     * Gets the standard deviation of a strategy's final scores
+     * @param strategy index of the strategy in entry order
+     * @return returns the standard deviation, or 0 with fewer than two games
+     */
+    public double getScoreDeviation(int strategy) {
+        StrategyTotals t = totals.get(strategy);
+        long played = t.games.sum();
+        if (played < 2) return 0;
+
+        double mean = getMeanScore(strategy);
+        return Math.sqrt(Math.max(0, (t.scoreSquareSum.sum() - played * mean * mean) / (played - 1)));
+    }
+
+    /**
+     * Gets the number of games played per second of wall-clock time
+     * @return returns the tournament throughput
+     */
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games.sum() / (elapsedNanos / 1e9);
+    }
+
+    /**
+     * Builds a readable report of the tournament
+     * @return returns multi-line report text
+     */
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Seed: %d%n", seed));
+        sb.append(String.format("Tables: %d, games: %d (%d unfinished) in %.2f s, %.0f games/s%n", tables.sum(),
+                games.sum(), unfinishedGames.sum(), elapsedNanos / 1e9, getGamesPerSecond()));
+        sb.append(String.format("%n%-16s %8s %10s %9s %11s %10s %10s%n", "Strategy", "Tables", "Games", "Win rate",
+                "Mean score", "Std dev", "Best"));
+
+        for (int i = 0; i < names.size(); i++) {
+            StrategyTotals t = totals.get(i);
+            sb.append(String.format("%-16s %8d %10d %8.2f%% %11.1f %10.1f %10d%n", names.get(i), t.tables.sum(),
+                    t.games.sum(), 100 * getWinRate(i), getMeanScore(i), getScoreDeviation(i), t.maxScore.get()));
+        }
+
+        return sb.toString();
+    }
+
+    //------------------ GETTERS AND SETTERS ---------------------//
+
+    /**
+     * Gets the seed the tournament was played from, which replays it exactly
+     * @return returns the tournament seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the name of each strategy
+     * @return returns the names in entry order
+     */
+    public List<String> getNames() {
+        return names;
+    }
+
+    /**
+     * Gets the number of tables finished
+     * @return returns the number of tables
+     */
+    public long getTables() {
+        return tables.sum();
+    }
+
+    /**
+     * Gets the number of games played across every table
+     * @return returns the number of games
+     */
+    public long getGames() {
+        return games.sum();
+    }
+
+    /**
+     * Gets the wall-clock time of the tournament
+     * @return returns elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Sets the wall-clock time of the tournament
+     * @param elapsedNanos elapsed time in nanoseconds
+     */
+    public void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+}
@@ -0,0 +1,134 @@
+package sound;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Cache of decoded sound files. Each sound is read and decoded to PCM once, either when it is first played
+ * or ahead of time by {@link #preload(String...)}, and the raw samples are kept for every later play.
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class AudioCache {
+
+    //Declares class fields
+    private final Map<String, Sound> sounds = new ConcurrentHashMap<>();
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "audio-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Decoded PCM samples of a sound file
+     */
+    public static class Sound {
+
+        public final AudioFormat format;
+        public final byte[] data;
+
+        /**
+         * Initializes decoded sound
+         * @param format PCM format of the samples
+         * @param data raw samples
+         */
+        Sound(AudioFormat format, byte[] data) {
+            this.format = format;
+            this.data = data;
+        }
+
+        /**
+         * Gets the length of the sound
+         * @return returns the number of sample frames
+         */
+        public int getFrameLength() {
+            return data.length / format.getFrameSize();
+        }
+    }
+
+    /**
+     * Gets a decoded sound, decoding it on the calling thread if it hasn't been loaded yet
+     * @param filePath sound file path
+     * @return returns the decoded sound
+     */
+    public Sound get(String filePath) {
+        return sounds.computeIfAbsent(filePath, AudioCache::decode);
+    }
+
+    /**
+     * Decodes sounds on a background thread so the first play of each doesn't have to
+     * @param filePaths sound file paths
+     * @return returns a future completed once every sound is decoded
+     */
+    public CompletableFuture<Void> preload(String... filePaths) {
+        CompletableFuture<?>[] loads = new CompletableFuture<?>[filePaths.length];
+
+        for (int i = 0; i < filePaths.length; i++) {
+            String filePath = filePaths[i];
+            loads[i] = CompletableFuture.runAsync(() -> get(filePath), loader);
+        }
+
+        return CompletableFuture.allOf(loads);
+    }
+
+    /**
+     * Reads and decodes a sound file to PCM samples
+     * @param filePath sound file path
+     * @return returns the decoded sound
+     */
+    private static Sound decode(String filePath) {
+        try (AudioInputStream pcm = openPcmStream(filePath)) {
+            return new Sound(pcm.getFormat(), pcm.readAllBytes());
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Opens a sound file as a stream of PCM samples, without reading it into memory
+     * @param filePath sound file path
+     * @return returns a PCM stream, which the caller must close
+     */
+    public static AudioInputStream openPcmStream(String filePath) {
+        try {
+            InputStream file = AudioCache.class.getResourceAsStream(filePath);
+            assert file != null;
+
+            return toPcm(AudioSystem.getAudioInputStream(new BufferedInputStream(file)));
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Converts a stream to 16-bit signed PCM unless it is already 8-bit or 16-bit signed PCM, the only formats the
+     * mixer decodes
+     * @param sound stream to convert
+     * @return returns a PCM stream
+     */
+    private static AudioInputStream toPcm(AudioInputStream sound) {
+        AudioFormat format = sound.getFormat();
+        AudioFormat.Encoding encoding = format.getEncoding();
+        int bits = format.getSampleSizeInBits();
+
+        boolean pcm8 = bits == 8
+                && (encoding.equals(AudioFormat.Encoding.PCM_SIGNED) || encoding.equals(AudioFormat.Encoding.PCM_UNSIGNED));
+        boolean pcm16 = bits == 16 && encoding.equals(AudioFormat.Encoding.PCM_SIGNED);
+        if (pcm8 || pcm16) {
+            return sound;
+        }
+
+        AudioFormat pcm = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, format.getSampleRate(), 16,
+                format.getChannels(), format.getChannels() * 2, format.getSampleRate(), false);
+        return AudioSystem.getAudioInputStream(pcm, sound);
+    }
+}
@@ -0,0 +1,367 @@
+package sound;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.SourceDataLine;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Software mixer playing any number of sounds at once through a single audio line. A dedicated audio thread
+ * mixes every playing voice, each with its own gain, and writes the result to one SourceDataLine.
+ * Voices can play from decoded samples in the {@link AudioCache}, or stream from the sound file through a
+ * small buffer so long tracks never sit fully in memory.
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class AudioMixer implements AutoCloseable {
+
+    //Declares class fields
+    public static final AudioFormat OUTPUT_FORMAT = new AudioFormat(44100f, 16, 2, true, false);
+    // Frames mixed per write, about 12 ms, and frames buffered by the line, about 46 ms.
+    private static final int MIX_FRAMES = 512;
+    private static final int LINE_BUFFER_FRAMES = 2048;
+    // Frames read from a voice's source at a time.
+    private static final int SOURCE_CHUNK_FRAMES = 4096;
+
+    private final AudioCache cache;
+    private final Queue<Voice> added = new ConcurrentLinkedQueue<>();
+    private SourceDataLine line;
+    private Thread audioThread;
+    private volatile boolean closed;
+    private volatile boolean unavailable;
+    private volatile int activeVoices;
+
+    /**
+     * Initializes mixer, the audio line is opened by the audio thread when the first sound plays
+     * @param cache cache of decoded sounds for voices that don't stream
+     */
+    public AudioMixer(AudioCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Starts playing a sound
+     * @param filePath sound file path
+     * @param startFrame frame of the sound to start at
+     * @param stream true to stream the sound from its file, false to play it from the decoded cache
+     * @return returns the voice playing the sound, which is silent if there is no audio line
+     */
+    public Voice play(String filePath, int startFrame, boolean stream) {
+        start();
+
+        if (unavailable) {
+            return new Voice(new AudioInputStream(new ByteArrayInputStream(new byte[0]), OUTPUT_FORMAT, 0));
+        }
+
+        Voice voice;
+        if (stream) {
+            voice = new Voice(AudioCache.openPcmStream(filePath));
+        } else {
+            AudioCache.Sound sound = cache.get(filePath);
+            voice = new Voice(new AudioInputStream(new ByteArrayInputStream(sound.data), sound.format,
+                    sound.getFrameLength()));
+        }
+
+        voice.skip(startFrame);
+        added.add(voice);
+
+        // The line may have failed to open while the voice was being queued
+        if (unavailable && added.remove(voice)) {
+            voice.close();
+        }
+        return voice;
+    }
+
+    /**
+     * Starts the audio thread, which opens the audio line, if it isn't running yet. Opening the line can take a
+     * while, so it is kept off the calling thread.
+     */
+    private synchronized void start() {
+        if (closed) {
+            throw new IllegalStateException("Mixer has been closed");
+        }
+        if (audioThread != null) {
+            return;
+        }
+
+        audioThread = new Thread(this::mixLoop, "audio-mixer");
+        audioThread.setDaemon(true);
+        audioThread.setPriority(Thread.MAX_PRIORITY);
+        audioThread.start();
+    }
+
+    /**
+     * Mixes voices and writes them to the line until the mixer is closed. Writing blocks while the line's
+     * buffer is full, which paces the loop to the playback rate.
+     */
+    private void mixLoop() {
+        if (!openLine()) {
+            return;
+        }
+
+        List<Voice> voices = new ArrayList<>();
+        float[] mix = new float[MIX_FRAMES * 2];
+        byte[] out = new byte[MIX_FRAMES * OUTPUT_FORMAT.getFrameSize()];
+
+        while (!closed) {
+            for (Voice voice = added.poll(); voice != null; voice = added.poll()) {
+                voices.add(voice);
+            }
+
+            Arrays.fill(mix, 0f);
+
+            for (int i = voices.size() - 1; i >= 0; i--) {
+                Voice voice = voices.get(i);
+                if (!voice.mixInto(mix, MIX_FRAMES)) {
+                    voice.close();
+                    voices.remove(i);
+                }
+            }
+            activeVoices = voices.size();
+
+            for (int i = 0; i < mix.length; i++) {
+                int sample = Math.round(Math.max(-1f, Math.min(1f, mix[i])) * Short.MAX_VALUE);
+                out[2 * i] = (byte) sample;
+                out[2 * i + 1] = (byte) (sample >> 8);
+            }
+
+            line.write(out, 0, out.length);
+        }
+
+        for (Voice voice : voices) {
+            voice.close();
+        }
+        activeVoices = 0;
+        line.close();
+    }
+
+    /**
+     * Opens and starts the audio line. If there is no line, e.g. on a machine without a sound device, sounds
+     * are muted instead and any already queued are discarded.
+     * @return returns true if the line is open
+     */
+    private boolean openLine() {
+        try {
+            line = AudioSystem.getSourceDataLine(OUTPUT_FORMAT);
+            line.open(OUTPUT_FORMAT, LINE_BUFFER_FRAMES * OUTPUT_FORMAT.getFrameSize());
+            line.start();
+            return true;
+        } catch (Exception e) {
+            System.err.println("Audio unavailable, sounds are muted: " + e);
+            unavailable = true;
+            for (Voice voice = added.poll(); voice != null; voice = added.poll()) {
+                voice.close();
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Stops every voice, closes the line and stops the audio thread
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+
+        if (audioThread == null) {
+            return;
+        }
+
+        try {
+            audioThread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the number of voices being mixed
+     * @return returns the number of sounds playing
+     */
+    public int getActiveVoiceCount() {
+        return activeVoices;
+    }
+
+    /**
+     * A sound playing in the mixer. Samples are read from the source a chunk at a time, converted to floats
+     * and resampled to the mixer's rate by linear interpolation.
+     */
+    public static class Voice {
+
+        private final AudioInputStream source;
+        private final AudioFormat format;
+        private final int frameSize;
+        private final byte[] chunk;
+        private int chunkBytes;
+        private int chunkOffset;
+        // Source frames per output frame.
+        private final double step;
+        private double position;
+        private float previousLeft, previousRight, nextLeft, nextRight;
+        private final float[] frame = new float[2];
+        private volatile float gain = 1f;
+        private volatile boolean stopped;
+        private boolean primed;
+
+        /**
+         * Initializes voice
+         * @param source PCM stream to play
+         */
+        Voice(AudioInputStream source) {
+            this.source = source;
+            this.format = source.getFormat();
+            this.frameSize = format.getFrameSize();
+            this.chunk = new byte[SOURCE_CHUNK_FRAMES * frameSize];
+            this.step = format.getSampleRate() / OUTPUT_FORMAT.getSampleRate();
+        }
+
+        /**
+         * Skips frames at the start of the sound
+         * @param frames number of source frames to skip
+         */
+        void skip(long frames) {
+            try {
+                long bytes = frames * frameSize;
+                while (bytes > 0) {
+                    long skipped = source.skip(bytes);
+                    if (skipped <= 0) break;
+                    bytes -= skipped;
+                }
+            } catch (IOException e) {
+                stopped = true;
+            }
+        }
+
+        /**
+         * Adds this voice's next frames to a mix buffer
+         * @param mix interleaved stereo mix buffer
+         * @param frames number of frames to add
+         * @return returns false once the voice has finished or been stopped
+         */
+        boolean mixInto(float[] mix, int frames) {
+            if (stopped) return false;
+
+            if (!primed) {
+                if (!readFrame()) return false;
+                previousLeft = frame[0];
+                previousRight = frame[1];
+                if (!readFrame()) return false;
+                nextLeft = frame[0];
+                nextRight = frame[1];
+                primed = true;
+            }
+
+            float g = gain;
+            for (int i = 0; i < frames; i++) {
+                while (position >= 1) {
+                    if (!readFrame()) return false;
+                    previousLeft = nextLeft;
+                    previousRight = nextRight;
+                    nextLeft = frame[0];
+                    nextRight = frame[1];
+                    position -= 1;
+                }
+
+                float t = (float) position;
+                mix[2 * i] += g * (previousLeft + (nextLeft - previousLeft) * t);
+                mix[2 * i + 1] += g * (previousRight + (nextRight - previousRight) * t);
+                position += step;
+            }
+
+            return true;
+        }
+
+        /**
+         * Reads the next source frame into the frame array, as floats between -1 and 1
+         * @return returns false at the end of the sound
+         */
+        private boolean readFrame() {
+            if (chunkOffset + frameSize > chunkBytes && !fillChunk()) {
+                return false;
+            }
+
+            int channels = format.getChannels();
+            frame[0] = sample(chunkOffset);
+            frame[1] = channels > 1 ? sample(chunkOffset + frameSize / channels) : frame[0];
+            chunkOffset += frameSize;
+            return true;
+        }
+
+        /**
+         * Decodes one sample from the chunk
+         * @param offset byte offset of the sample
+         * @return returns the sample between -1 and 1
+         */
+        private float sample(int offset) {
+            if (format.getSampleSizeInBits() == 8) {
+                int value = chunk[offset];
+                if (format.getEncoding() == AudioFormat.Encoding.PCM_UNSIGNED) {
+                    value = (value & 0xFF) - 128;
+                }
+                return value / 128f;
+            }
+
+            int low = format.isBigEndian() ? chunk[offset + 1] : chunk[offset];
+            int high = format.isBigEndian() ? chunk[offset] : chunk[offset + 1];
+            return (short) ((high << 8) | (low & 0xFF)) / 32768f;
+        }
+
+        /**
+         * Reads the next chunk of whole frames from the source
+         * @return returns false if the source has no more frames
+         */
+        private boolean fillChunk() {
+            try {
+                // Keeps any partial frame left over from the last read
+                int leftover = chunkBytes - chunkOffset;
+                System.arraycopy(chunk, chunkOffset, chunk, 0, leftover);
+                chunkBytes = leftover;
+                chunkOffset = 0;
+
+                while (chunkBytes < frameSize) {
+                    int read = source.read(chunk, chunkBytes, chunk.length - chunkBytes);
+                    if (read < 0) return false;
+                    chunkBytes += read;
+                }
+
+                return true;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Closes the voice's source
+         */
+        void close() {
+            try {
+                source.close();
+            } catch (IOException ignored) {
+                // The voice is finished either way
+            }
+        }
+
+        /**
+         * Sets the volume of the voice
+         * @param gain linear volume between 0 and 1
+         */
+        public void setGain(float gain) {
+            this.gain = gain;
+        }
+
+        /**
+         * Stops the voice, it is removed from the mixer on the next mix
+         */
+        public void stop() {
+            stopped = true;
+        }
+    }
+}
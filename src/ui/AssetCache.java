@@ -0,0 +1,129 @@
+package ui;
+
+import sound.AudioCache;
+import sound.SoundEffectPlayer;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Central cache of the game's images and sounds. Everything is read and decoded once, in parallel on
+ * background threads from startup, and the same instances are handed to every screen, so showing a screen
+ * again never touches the disk. Images are converted to the screen's format as they load so drawing them
+ * needs no conversion.
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class AssetCache {
+
+    //Declares class fields
+    public static final String ICON_IMAGE = "/resources/images/icon.png";
+    public static final String MENU_IMAGE = "/resources/images/menu-image.png";
+    public static final String[] ALL_IMAGES = {ICON_IMAGE, MENU_IMAGE};
+    private static final int LOADER_THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    private final Map<String, CompletableFuture<BufferedImage>> images = new ConcurrentHashMap<>();
+    private final AudioCache sounds = new AudioCache();
+    private final ExecutorService loader = Executors.newFixedThreadPool(LOADER_THREADS, r -> {
+        Thread thread = new Thread(r, "asset-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Starts loading every image and decoding the short sound effects in the background
+     * @return returns a future completed once every asset is loaded
+     */
+    public CompletableFuture<Void> preloadAll() {
+        CompletableFuture<?>[] loads = new CompletableFuture<?>[ALL_IMAGES.length + SoundEffectPlayer.EFFECT_SOUNDS.length];
+        int i = 0;
+
+        for (String image : ALL_IMAGES) {
+            loads[i++] = loadImage(image);
+        }
+        for (String sound : SoundEffectPlayer.EFFECT_SOUNDS) {
+            loads[i++] = CompletableFuture.runAsync(() -> sounds.get(sound), loader);
+        }
+
+        return CompletableFuture.allOf(loads);
+    }
+
+    /**
+     * Gets an image, waiting for it if it is still loading
+     * @param filePath image file path
+     * @return returns the image, in the screen's format
+     */
+    public BufferedImage getImage(String filePath) {
+        return loadImage(filePath).join();
+    }
+
+    /**
+     * Starts loading an image unless it is already loaded or loading
+     * @param filePath image file path
+     * @return returns a future completed with the image
+     */
+    private CompletableFuture<BufferedImage> loadImage(String filePath) {
+        return images.computeIfAbsent(filePath, path -> CompletableFuture.supplyAsync(() -> readImage(path), loader));
+    }
+
+    /**
+     * Reads an image and converts it to the screen's format
+     * @param filePath image file path
+     * @return returns the converted image
+     */
+    private static BufferedImage readImage(String filePath) {
+        try (InputStream imageStream = AssetCache.class.getResourceAsStream(filePath)) {
+            assert imageStream != null;
+            return toCompatible(ImageIO.read(imageStream));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Copies an image into the screen's format, keeping its transparency, so it is drawn without per-pixel
+     * conversion. Without a screen, images are kept in premultiplied ARGB, the fastest format to draw from.
+     * @param image image as decoded
+     * @return returns a compatible copy of the image
+     */
+    private static BufferedImage toCompatible(BufferedImage image) {
+        int transparency = image.getColorModel().getTransparency();
+        BufferedImage compatible;
+
+        if (GraphicsEnvironment.isHeadless()) {
+            compatible = new BufferedImage(image.getWidth(), image.getHeight(), transparency == Transparency.OPAQUE
+                    ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB_PRE);
+        } else {
+            compatible = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration()
+                    .createCompatibleImage(image.getWidth(), image.getHeight(), transparency);
+        }
+
+        if (image.getType() != BufferedImage.TYPE_CUSTOM && image.getType() == compatible.getType()) {
+            return image;
+        }
+
+        Graphics2D g2d = compatible.createGraphics();
+        g2d.drawImage(image, 0, 0, null);
+        g2d.dispose();
+        return compatible;
+    }
+
+    //------------------ GETTERS AND SETTERS ---------------------//
+
+    /**
+     * Gets the cache of decoded sounds
+     * @return returns the sound cache
+     */
+    public AudioCache getSounds() {
+        return sounds;
+    }
+}
@@ -1,35 +1,71 @@
-package ui;
-
-import game.Game;
-
-import javax.swing.*;
-
-/**
- * Class representing the abstract implementation of an individual game screen in the Wof game.
- *
- * @author Matthew Ritchie
- * @version 1.0
- */
-public abstract class Card extends JPanel {
-
-    //Declares class fields
-    protected UIPanel ui;
-    protected Game game;
-
-    /**
-     * Initializes card components
-     * @param ui UI object attached to Card
-     * @param game Game object attached to Card
-     */
-    public Card(UIPanel ui, Game game) {
-        this.ui = ui;
-        this.game = game;
-    }
-
-    /**
-     * Resets and initializes the card, and adds necessary components.
-     */
-    public void initialize() {
-        removeAll();
-    }
-}
+package ui;
+
+import game.Game;
+
+import javax.swing.*;
+
+/**
+ * Class representing the abstract implementation of an individual game screen in the Wof game. A card builds
+ * its components once, the first time it is shown, and after that only binds them to the game's current
+ * values each time it is shown, and stops anything it runs each time it is hidden.
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public abstract class Card extends JPanel {
+
+    //Declares class fields
+    protected UIPanel ui;
+    protected Game game;
+    private boolean built;
+
+    /**
+     * Initializes card components
+     * @param ui UI object attached to Card
+     * @param game Game object attached to Card
+     */
+    public Card(UIPanel ui, Game game) {
+        this.ui = ui;
+        this.game = game;
+    }
+
+    /**
+     * Prepares the card to be shown, building its components the first time and binding them to the game.
+     */
+    public void initialize() {
+        if (!built) {
+            build();
+            built = true;
+        }
+        bind(game);
+    }
+
+    /**
+     * Creates and adds the card's components. Called once, before the card is first bound.
+     */
+    protected abstract void build();
+
+    /**
+     * Updates the card's components to show a game, and starts anything the card runs while it is shown
+     * @param game game to show
+     */
+    public void bind(Game game) {
+        this.game = game;
+    }
+
+    /**
+     * Stops the card's timers, animations and sounds as it is hidden. The components are kept for next time.
+     */
+    public void reset() {
+    }
+
+    //------------------ GETTERS AND SETTERS ---------------------//
+
+    /**
+     * Checks whether the card's components have been created
+     * @return returns true once the card has been built
+     */
+    public boolean isBuilt() {
+        return built;
+    }
+}
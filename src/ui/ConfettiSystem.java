@@ -0,0 +1,249 @@
+package ui;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Confetti animated on the congratulations/end screen. Every piece's position, velocity, angle, size and color
+ * is kept in primitive arrays, updated in one loop (split into parallel chunks for large counts) and drawn by
+ * filling each rotated rectangle straight into the pixels of an opaque layer image, so a frame allocates
+ * nothing however many pieces there are. The layer includes the background, so it is copied to the screen
+ * without blending.
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class ConfettiSystem {
+
+    //Declares class fields
+    // Piece counts from which updates are split into parallel chunks, and the size of each chunk.
+    public static final int PARALLEL_THRESHOLD = 20_000;
+    private static final int CHUNK_SIZE = 8_192;
+    // Sine and cosine of every whole degree, so pieces aren't rotated with trigonometry each frame.
+    private static final float[] SIN = new float[360];
+    private static final float[] COS = new float[360];
+
+    static {
+        for (int i = 0; i < 360; i++) {
+            SIN[i] = (float) Math.sin(Math.toRadians(i));
+            COS[i] = (float) Math.cos(Math.toRadians(i));
+        }
+    }
+
+    private final int count;
+    private final int width;
+    private final int height;
+    private final int background;
+    private final float[] x;
+    private final float[] y;
+    private final float[] xVelocity;
+    private final float[] yVelocity;
+    private final float[] angle;
+    private final float[] spinVelocity;
+    private final byte[] pieceWidth;
+    private final byte[] pieceHeight;
+    private final int[] color;
+    private final BufferedImage layer;
+    private final int[] pixels;
+    // Scratch space for the corners of the piece being filled.
+    private final float[] cornerX = new float[4];
+    private final float[] cornerY = new float[4];
+
+    /**
+     * Initializes confetti with randomized pieces spread above the screen
+     * @param count number of confetti pieces
+     * @param width width of the screen
+     * @param height height of the screen
+     * @param background color behind the confetti
+     * @param rand source of randomness for the pieces
+     */
+    public ConfettiSystem(int count, int width, int height, Color background, Random rand) {
+        this.count = count;
+        this.width = width;
+        this.height = height;
+        this.background = background.getRGB();
+
+        x = new float[count];
+        y = new float[count];
+        xVelocity = new float[count];
+        yVelocity = new float[count];
+        angle = new float[count];
+        spinVelocity = new float[count];
+        pieceWidth = new byte[count];
+        pieceHeight = new byte[count];
+        color = new int[count];
+        scatter(rand);
+
+        layer = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        pixels = ((DataBufferInt) layer.getRaster().getDataBuffer()).getData();
+    }
+
+    /**
+     * Randomizes every piece again and spreads them above the screen, reusing the existing arrays
+     * @param rand source of randomness for the pieces
+     */
+    public void scatter(Random rand) {
+        for (int i = 0; i < count; i++) {
+            angle[i] = rand.nextFloat() * 360;
+            spinVelocity[i] = (3 + rand.nextFloat() * 5) * (rand.nextBoolean() ? 1 : -1);
+            pieceHeight[i] = (byte) rand.nextInt(15);
+            pieceWidth[i] = (byte) rand.nextInt(15);
+            color[i] = rand.nextInt(255) << 16 | rand.nextInt(255) << 8 | rand.nextInt(255);
+            xVelocity[i] = (2 + rand.nextFloat() * 4) * (rand.nextBoolean() ? 1 : -1);
+            yVelocity[i] = 6 + rand.nextFloat() * 4;
+            x[i] = rand.nextInt(width);
+            y[i] = -rand.nextFloat() * height;
+        }
+    }
+
+    /**
+     * Updates the position and angle of every piece according to its velocities.
+     */
+    public void update() {
+        if (count < PARALLEL_THRESHOLD) {
+            update(0, count);
+            return;
+        }
+
+        int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(chunk ->
+                update(chunk * CHUNK_SIZE, Math.min(count, (chunk + 1) * CHUNK_SIZE)));
+    }
+
+    /**
+     * Updates a range of pieces, wrapping them around the edges of the screen
+     * @param from index of the first piece
+     * @param to index after the last piece
+     */
+    private void update(int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (y[i] <= height + 20) {
+                y[i] += yVelocity[i];
+            } else {
+                y[i] = -20;
+            }
+
+            if (x[i] > width + 20) {
+                x[i] = -20;
+            } else if (x[i] < -20) {
+                x[i] = width + 20;
+            } else {
+                x[i] += xVelocity[i];
+            }
+
+            float a = angle[i] + spinVelocity[i];
+            angle[i] = a >= 360 ? a - 360 : a < 0 ? a + 360 : a;
+        }
+    }
+
+    /**
+     * Draws the background and every piece into the layer image and draws the layer on the screen
+     * @param g2d Graphics2D object from paintComponent
+     */
+    public void draw(Graphics2D g2d) {
+        rasterize();
+        g2d.drawImage(layer, 0, 0, null);
+    }
+
+    /**
+     * Fills the layer image with the background and fills every piece into its pixels
+     */
+    public void rasterize() {
+        Arrays.fill(pixels, background);
+
+        for (int i = 0; i < count; i++) {
+            fillPiece(i);
+        }
+    }
+
+    /**
+     * Fills a piece, rotated about its top left corner, one row of pixels at a time between its two sides
+     * @param i index of the piece
+     */
+    private void fillPiece(int i) {
+        int w = pieceWidth[i];
+        int h = pieceHeight[i];
+        if (w == 0 || h == 0) return;
+
+        int degrees = (int) angle[i] % 360;
+        float sin = SIN[degrees];
+        float cos = COS[degrees];
+
+        // Corners in order around the piece: top left, top right, bottom right, bottom left
+        float[] cx = cornerX, cy = cornerY;
+        cx[0] = x[i];
+        cy[0] = y[i];
+        cx[1] = cx[0] + w * cos;
+        cy[1] = cy[0] + w * sin;
+        cx[2] = cx[1] - h * sin;
+        cy[2] = cy[1] + h * cos;
+        cx[3] = cx[0] - h * sin;
+        cy[3] = cy[0] + h * cos;
+
+        // The highest corner, the corners either side of it, and the lowest corner opposite it
+        int first = 0;
+        for (int corner = 1; corner < 4; corner++) {
+            if (cy[corner] < cy[first]) first = corner;
+        }
+        int next = (first + 1) & 3, last = (first + 2) & 3, previous = (first + 3) & 3;
+
+        int top = Math.max(0, (int) Math.ceil(cy[first] - 0.5f));
+        int bottom = Math.min(height - 1, (int) Math.ceil(cy[last] - 0.5f) - 1);
+        if (top > bottom) return;
+
+        // Each side runs from the highest corner to the lowest through one of the middle corners
+        float topX = cx[first], topY = cy[first];
+        float nextX = cx[next], nextY = cy[next];
+        float previousX = cx[previous], previousY = cy[previous];
+        float nextSlope1 = (nextX - topX) / (nextY - topY);
+        float nextSlope2 = (cx[last] - nextX) / (cy[last] - nextY);
+        float previousSlope1 = (previousX - topX) / (previousY - topY);
+        float previousSlope2 = (cx[last] - previousX) / (cy[last] - previousY);
+        int rgb = color[i];
+
+        for (int row = top; row <= bottom; row++) {
+            float centre = row + 0.5f;
+            float sideA = centre < nextY ? topX + (centre - topY) * nextSlope1 : nextX + (centre - nextY) * nextSlope2;
+            float sideB = centre < previousY ? topX + (centre - topY) * previousSlope1
+                    : previousX + (centre - previousY) * previousSlope2;
+
+            int start = Math.max(0, (int) Math.ceil(Math.min(sideA, sideB) - 0.5f));
+            int end = Math.min(width, (int) Math.ceil(Math.max(sideA, sideB) - 0.5f));
+            int offset = row * width;
+            for (int pixel = offset + start; pixel < offset + end; pixel++) {
+                pixels[pixel] = rgb;
+            }
+        }
+    }
+
+    //------------------ GETTERS AND SETTERS ---------------------//
+
+    /**
+     * Gets the number of confetti pieces
+     * @return returns the number of pieces
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the x position of a piece
+     * @param i index of the piece
+     * @return returns the x position of the piece's top left corner
+     */
+    public float getX(int i) {
+        return x[i];
+    }
+
+    /**
+     * Gets the image the confetti is drawn into
+     * @return returns the layer image
+     */
+    public BufferedImage getLayer() {
+        return layer;
+    }
+}
@@ -0,0 +1,71 @@
+package ui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.Objects;
+
+/**
+ * The area of a component taken up by one drawn element, such as a label or the wheel. The element reports
+ * the inputs it is drawn from each time they might have changed, and only the area it covered and now covers
+ * is repainted, and only if those inputs actually changed.
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class DirtyRegion {
+
+    //Declares class fields
+    private final JComponent owner;
+    private final Rectangle bounds = new Rectangle();
+    private Object lastInput;
+    private boolean drawn;
+
+    /**
+     * Initializes region
+     * @param owner component the element is drawn on
+     */
+    public DirtyRegion(JComponent owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Repaints the region if the element's input has changed since it was last drawn
+     * @param input value the element is drawn from, compared with equals
+     * @param x x position the element now covers
+     * @param y y position the element now covers
+     * @param width width the element now covers
+     * @param height height the element now covers
+     */
+    public void update(Object input, int x, int y, int width, int height) {
+        if (drawn && Objects.equals(input, lastInput) && bounds.x == x && bounds.y == y
+                && bounds.width == width && bounds.height == height) {
+            return;
+        }
+
+        // Clears the area the element used to cover, then paints the area it covers now
+        if (drawn) owner.repaint(bounds);
+        lastInput = input;
+        bounds.setBounds(x, y, width, height);
+        drawn = true;
+        owner.repaint(bounds);
+    }
+
+    /**
+     * Checks whether the region needs drawing in the current paint
+     * @param clip clip bounds of the paint, or null if the whole component is being painted
+     * @return returns true if the region overlaps the clip
+     */
+    public boolean needsPaint(Rectangle clip) {
+        return clip == null || clip.intersects(bounds);
+    }
+
+    //------------------ GETTERS AND SETTERS ---------------------//
+
+    /**
+     * Gets the area the element covers
+     * @return returns the bounds of the region
+     */
+    public Rectangle getBounds() {
+        return bounds;
+    }
+}
@@ -1,157 +1,159 @@
-package ui;
-
-import game.Game;
-import sound.SoundEffectPlayer;
-
-import javax.swing.*;
-import java.awt.*;
-
-/**
- * This class represents the game end screen as a card in a CardLayout
- *
- * @author Matthew Ritchie
- * @version 1.0
- */
-public class EndCard extends Card {
-
-    //Declares class fields
-    private JLabel winnerNameLabel;
-    private JLabel winnerScoreLabel;
-    private JButton endGameButton;
-    private JPanel congratulationsPanel;
-    private Timer animationTimer;
-    private ConfettiPiece[] confetti;
-    private JPanel endGameButtonPanel;
-    private JLabel phraseRevealLabel;
-    private JLabel phraseLabel;
-
-    /**
-     * Initializes EndCard
-     * @param ui ui object attached to EndCard
-     * @param game game object attached to EndCard
-     */
-    public EndCard(UIPanel ui, Game game) {
-        super(ui, game);
-    }
-
-    /**
-     * Initializes End screen JPanel and adds necessary components
-     */
-    public void initialize() {
-        super.initialize();
-
-        ui.getSE().play(SoundEffectPlayer.CONGRATS);
-        setLayout(new BorderLayout());
-        setBackground(Color.BLACK);
-
-        // Initializes main congratulations panel
-        congratulationsPanel = new JPanel();
-        congratulationsPanel.setOpaque(false);
-        congratulationsPanel.setLayout(new GridLayout(5, 1));
-
-        // Initializes label declaring name of winner
-        winnerNameLabel = new JLabel();
-        winnerNameLabel.setText("Congratulations: " + game.getWinner().getName() + "!");
-        winnerNameLabel.setFont(new Font("Arial", Font.PLAIN, 40));
-        winnerNameLabel.setForeground(Color.WHITE);
-        winnerNameLabel.setHorizontalAlignment(SwingConstants.CENTER);
-        congratulationsPanel.add(winnerNameLabel);
-
-        // Initializes label declaring score of player
-        winnerScoreLabel = new JLabel();
-        winnerScoreLabel.setText("You won £" + game.getWinner().getScore());
-        winnerScoreLabel.setFont(new Font("Arial", Font.PLAIN, 40));
-        winnerScoreLabel.setForeground(Color.WHITE);
-        winnerScoreLabel.setHorizontalAlignment(SwingConstants.CENTER);
-        congratulationsPanel.add(winnerScoreLabel);
-
-        // Initializes label introducing hidden phrase
-        phraseRevealLabel = new JLabel();
-        phraseRevealLabel.setText("The hidden phrase was:");
-        phraseRevealLabel.setFont(new Font("Arial", Font.PLAIN, 40));
-        phraseRevealLabel.setForeground(Color.WHITE);
-        phraseRevealLabel.setHorizontalAlignment(SwingConstants.CENTER);
-        congratulationsPanel.add(phraseRevealLabel);
-
-        // Initializes label revealing hidden phrase
-        phraseLabel = new JLabel();
-        phraseLabel.setText(game.getPhrase().getHiddenPhrase());
-        phraseLabel.setFont(new Font("Arial", Font.PLAIN, 30));
-        phraseLabel.setForeground(Color.WHITE);
-        phraseLabel.setHorizontalAlignment(SwingConstants.CENTER);
-        congratulationsPanel.add(phraseLabel);
-
-        // Initializes panel containing button to end game
-        endGameButtonPanel = new JPanel(new FlowLayout());
-        endGameButtonPanel.setOpaque(false);
-        endGameButton = new JButton("END GAME");
-        endGameButton.setFont(new Font("Arial", Font.BOLD, 50));
-        endGameButton.setBackground(Color.WHITE);
-        endGameButton.setFocusPainted(false);
-
-        endGameButton.addActionListener(e -> {
-            // Stops confetti animation timer
-            animationTimer.stop();
-            ui.getMenuCard().initialize();
-            ui.switchToCard(UIPanel.MENU);
-        });
-        endGameButtonPanel.add(endGameButton);
-        congratulationsPanel.add(endGameButtonPanel);
-
-        add(congratulationsPanel, BorderLayout.CENTER);
-
-        // Initializes new randomized confetti pieces
-        createNewConfetti();
-
-        // Starts confetti animation timer
-        animationTimer = new Timer(16, e -> {
-            updateAllConfetti();
-            repaint();
-        });
-        animationTimer.start();
-
-    }
-
-    /**
-     * Creates an array of new, randomized confetti pieces.
-     */
-    private void createNewConfetti() {
-        confetti = new ConfettiPiece[200];
-
-        for(int i = 0; i < confetti.length; i++) {
-            confetti[i] = new ConfettiPiece();
-            System.out.println("Confetti added: " + confetti[i].x);
-        }
-    }
-
-    /**
-     * Updates position and angle of all confetti on the screen.
-     */
-    private void updateAllConfetti() {
-        for(ConfettiPiece piece : confetti) {
-            piece.update();
-        }
-    }
-
-    /**
-     * Paints to screen
-     * @param g the <code>Graphics</code> object to protect
-     */
-    public void paintComponent(Graphics g) {
-        super.paintComponent(g);
-
-        Graphics2D g2d = (Graphics2D) g;
-
-        drawConfetti(g2d);
-    }
-
-    /**
-     * Paints all confetti pieces to screen
-     * @param g2d Graphics2D object passed in from paintComponent
-     */
-    public void drawConfetti(Graphics2D g2d) {
-        for(ConfettiPiece piece : confetti) {
-            piece.draw(g2d);
-        }
-    }
-}
+package ui;
+
+import game.Game;
+import game.PlayerStatsStore;
+import sound.SoundEffectPlayer;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.Random;
+
+/**
+ * This class represents the game end screen as a card in a CardLayout
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class EndCard extends Card {
+
+    //Declares class fields
+    // Number of confetti pieces, set with -Dwheeloffortune.confetti=count
+    public static final int CONFETTI_COUNT = Integer.getInteger("wheeloffortune.confetti", 200);
+
+    private JLabel winnerNameLabel;
+    private JLabel winnerScoreLabel;
+    private JButton endGameButton;
+    private JPanel congratulationsPanel;
+    private RenderLoop.Animation confettiAnimation;
+    private ConfettiSystem confetti;
+    private JPanel endGameButtonPanel;
+    private JLabel phraseRevealLabel;
+    private JLabel phraseLabel;
+    private final Random rand = new Random();
+
+    /**
+     * Initializes EndCard
+     * @param ui ui object attached to EndCard
+     * @param game game object attached to EndCard
+     */
+    public EndCard(UIPanel ui, Game game) {
+        super(ui, game);
+    }
+
+    /**
+     * Builds End screen JPanel and adds necessary components
+     */
+    protected void build() {
+        setLayout(new BorderLayout());
+        setBackground(Color.BLACK);
+
+        // Initializes main congratulations panel
+        congratulationsPanel = new JPanel();
+        congratulationsPanel.setOpaque(false);
+        congratulationsPanel.setLayout(new GridLayout(5, 1));
+
+        // Initializes label declaring name of winner
+        winnerNameLabel = new JLabel();
+        winnerNameLabel.setFont(new Font("Arial", Font.PLAIN, 40));
+        winnerNameLabel.setForeground(Color.WHITE);
+        winnerNameLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        congratulationsPanel.add(winnerNameLabel);
+
+        // Initializes label declaring score of player
+        winnerScoreLabel = new JLabel();
+        winnerScoreLabel.setFont(new Font("Arial", Font.PLAIN, 40));
+        winnerScoreLabel.setForeground(Color.WHITE);
+        winnerScoreLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        congratulationsPanel.add(winnerScoreLabel);
+
+        // Initializes label introducing hidden phrase
+        phraseRevealLabel = new JLabel();
+        phraseRevealLabel.setText("The hidden phrase was:");
+        phraseRevealLabel.setFont(new Font("Arial", Font.PLAIN, 40));
+        phraseRevealLabel.setForeground(Color.WHITE);
+        phraseRevealLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        congratulationsPanel.add(phraseRevealLabel);
+
+        // Initializes label revealing hidden phrase
+        phraseLabel = new JLabel();
+        phraseLabel.setFont(new Font("Arial", Font.PLAIN, 30));
+        phraseLabel.setForeground(Color.WHITE);
+        phraseLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        congratulationsPanel.add(phraseLabel);
+
+        // Initializes panel containing button to end game
+        endGameButtonPanel = new JPanel(new FlowLayout());
+        endGameButtonPanel.setOpaque(false);
+        endGameButton = new JButton("END GAME");
+        endGameButton.setFont(new Font("Arial", Font.BOLD, 50));
+        endGameButton.setBackground(Color.WHITE);
+        endGameButton.setFocusPainted(false);
+        endGameButton.addActionListener(e -> ui.switchToCard(UIPanel.MENU));
+        endGameButtonPanel.add(endGameButton);
+        congratulationsPanel.add(endGameButtonPanel);
+
+        add(congratulationsPanel, BorderLayout.CENTER);
+
+        // Initializes confetti pieces, scattered again each time the card is shown
+        confetti = new ConfettiSystem(CONFETTI_COUNT, GameFrame.FRAME_WIDTH, GameFrame.FRAME_HEIGHT, Color.BLACK, rand);
+        confettiAnimation = () -> {
+            updateAllConfetti();
+            return true;
+        };
+    }
+
+    /**
+     * Shows the winner and hidden phrase, and starts the music and confetti
+     * @param game game that has been won
+     */
+    public void bind(Game game) {
+        super.bind(game);
+
+        ui.getSE().play(SoundEffectPlayer.CONGRATS);
+
+        // Adds the game to every player's lifetime statistics, written in the background, or skipped if they can't be saved
+        PlayerStatsStore.getDefault().recordGame(game);
+
+        winnerNameLabel.setText("Congratulations: " + game.getWinner().getName() + "!");
+        winnerScoreLabel.setText("You won £" + game.getWinner().getScore());
+        phraseLabel.setText(game.getPhrase().getHiddenPhrase());
+
+        // Starts confetti animation with new randomized confetti pieces
+        confetti.scatter(rand);
+        ui.getRenderLoop().play(confettiAnimation, this);
+    }
+
+    /**
+     * Stops the confetti animation as the card is hidden
+     */
+    public void reset() {
+        ui.getRenderLoop().stop(confettiAnimation);
+    }
+
+    /**
+     * Updates position and angle of all confetti on the screen.
+     */
+    private void updateAllConfetti() {
+        confetti.update();
+    }
+
+    /**
+     * Paints to screen
+     * @param g the <code>Graphics</code> object to protect
+     */
+    public void paintComponent(Graphics g) {
+        super.paintComponent(g);
+
+        Graphics2D g2d = (Graphics2D) g;
+
+        drawConfetti(g2d);
+    }
+
+    /**
+     * Paints all confetti pieces to screen
+     * @param g2d Graphics2D object passed in from paintComponent
+     */
+    public void drawConfetti(Graphics2D g2d) {
+        confetti.draw(g2d);
+    }
+}
@@ -0,0 +1,95 @@
+package ui;
+
+import java.util.Arrays;
+
+/**
+ * Rolling statistics over the most recent frame times, used to check how evenly frames are paced.
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class FrameStats {
+
+    //Declares class fields
+    private final long[] frameNanos;
+    private int next;
+    private int size;
+    private long frameCount;
+    private long lateFrames;
+
+    /**
+     * Initializes frame statistics
+     * @param window number of most recent frames the statistics cover
+     */
+    public FrameStats(int window) {
+        frameNanos = new long[window];
+    }
+
+    /**
+     * Records the time a frame took
+     * @param nanos time since the previous frame in nanoseconds
+     * @param late true if the frame missed its deadline
+     */
+    public synchronized void record(long nanos, boolean late) {
+        frameNanos[next] = nanos;
+        next = (next + 1) % frameNanos.length;
+        size = Math.min(size + 1, frameNanos.length);
+        frameCount++;
+        if (late) lateFrames++;
+    }
+
+    /**
+     * Gets a percentile of recent frame times
+     * @param percentile percentile between 0 and 100
+     * @return returns the frame time at the percentile in milliseconds, or 0 if no frames have been recorded
+     */
+    public synchronized double getPercentileMillis(double percentile) {
+        if (size == 0) return 0;
+
+        long[] sorted = Arrays.copyOf(frameNanos, size);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * size) - 1;
+        return sorted[Math.max(0, Math.min(size - 1, index))] / 1e6;
+    }
+
+    /**
+     * Gets the mean of recent frame times
+     * @return returns the mean frame time in milliseconds, or 0 if no frames have been recorded
+     */
+    public synchronized double getMeanMillis() {
+        if (size == 0) return 0;
+
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += frameNanos[i];
+        }
+        return total / 1e6 / size;
+    }
+
+    /**
+     * Gets the number of frames recorded
+     * @return returns the number of frames recorded since the statistics were created
+     */
+    public synchronized long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Gets the number of frames that missed their deadline
+     * @return returns the number of late frames since the statistics were created
+     */
+    public synchronized long getLateFrames() {
+        return lateFrames;
+    }
+
+    /**
+     * Gets the statistics as a single line of text
+     * @return returns the frame count, mean and percentile frame times
+     */
+    @Override
+    public String toString() {
+        return String.format("frames %d  late %d  mean %.1f ms  p50 %.1f ms  p95 %.1f ms  p99 %.1f ms",
+                getFrameCount(), getLateFrames(), getMeanMillis(), getPercentileMillis(50),
+                getPercentileMillis(95), getPercentileMillis(99));
+    }
+}
@@ -1,77 +1,135 @@
-package ui;
-
-import game.Game;
-
-import javax.imageio.ImageIO;
-import javax.swing.*;
-import java.awt.*;
-import java.io.IOException;
-import java.util.Objects;
-
-/**
- * This class represents the main JFrame
- *
- * @author Matthew Ritchie
- * @version 1.0
- */
-public class GameFrame extends JFrame {
-
-    //Declares class fields
-    public static final int FRAME_WIDTH = 1000;
-    public static final int FRAME_HEIGHT = 900;
-    private final String FRAME_TITLE = "Wheel of Fortune";
-    private final String ICON_PATH = "/resources/images/icon.png";
-    private Game game;
-    private UIPanel ui;
-
-    /**
-     * Initializes GameFrame
-     */
-    public GameFrame() {
-        initialize();
-    }
-
-    /**
-     * Main method of entry to program, instantiates GameFrame, uses Swing worker thread.
-     *
-     * @param args main method arguments, not relevant to this program
-     */
-    public static void main(String[] args) {
-        EventQueue.invokeLater(() -> {
-            GameFrame gameFrame = new GameFrame();
-            gameFrame.setVisible(true);
-        });
-    }
-
-    /**
-     * This method initializes JFrame attributes and adds UIPanel.
-     */
-    private void initialize() {
-        game = new Game();
-
-        ui = new UIPanel(game);
-
-        setIcon();
-        ui.getMenuCard().initialize();
-        add(ui);
-
-        setSize(FRAME_WIDTH, FRAME_HEIGHT);
-        setTitle(FRAME_TITLE);
-        setDefaultCloseOperation(EXIT_ON_CLOSE);
-        setResizable(false);
-        setLocationRelativeTo(null);
-    }
-
-    /**
-     * Loads icon from resources and sets this as icon image for JFrame
-     */
-    private void setIcon() {
-        try {
-            ImageIcon img = new ImageIcon(ImageIO.read(Objects.requireNonNull(getClass().getResourceAsStream(ICON_PATH))));
-            setIconImage(img.getImage());
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
-}
+package ui;
+
+import game.Game;
+import game.PhraseCorpus;
+import game.PlayerStatsStore;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * This class represents the main JFrame
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class GameFrame extends JFrame {
+
+    //Declares class fields
+    public static final int FRAME_WIDTH = 1000;
+    public static final int FRAME_HEIGHT = 900;
+    private final String FRAME_TITLE = "Wheel of Fortune";
+    // Active rendering: animations paced by a clock thread and painted every frame, enabled with -Dwheeloffortune.activeRendering=true
+    public static final boolean ACTIVE_RENDERING = Boolean.getBoolean("wheeloffortune.activeRendering");
+    private final AssetCache assets;
+    private UIPanel ui;
+
+    /**
+     * Initializes GameFrame
+     */
+    public GameFrame() {
+        this(startLoading());
+    }
+
+    /**
+     * Initializes GameFrame with assets that are already loading
+     * @param assets cache of images and sounds, from {@link #startLoading()}
+     */
+    public GameFrame(AssetCache assets) {
+        this.assets = assets;
+        initialize();
+    }
+
+    /**
+     * Main method of entry to program, instantiates GameFrame, uses Swing worker thread.
+     *
+     * @param args main method arguments, not relevant to this program
+     */
+    public static void main(String[] args) {
+        // Loading starts before the EDT does, so it overlaps with Swing starting up
+        AssetCache assets = startLoading();
+
+        EventQueue.invokeLater(() -> {
+            GameFrame gameFrame = new GameFrame(assets);
+            StartupTrace.Phase phase = StartupTrace.begin("show frame");
+            gameFrame.setVisible(true);
+            phase.end();
+
+            if (ACTIVE_RENDERING) {
+                gameFrame.ui.getRenderLoop().startActive();
+            }
+        });
+    }
+
+    /**
+     * Starts loading the phrase corpus, player statistics, images and sounds on background threads, none of which
+     * the first frame has to wait for except the menu image
+     * @return returns the cache the images and sounds are loading into
+     */
+    public static AssetCache startLoading() {
+        CompletableFuture.runAsync(() -> {
+            StartupTrace.Phase phase = StartupTrace.begin("phrase corpus");
+            PhraseCorpus.getDefault();
+            phase.end();
+        });
+        CompletableFuture.runAsync(() -> {
+            StartupTrace.Phase phase = StartupTrace.begin("player stats");
+            PlayerStatsStore.getDefault();
+            phase.end();
+        });
+
+        StartupTrace.Phase phase = StartupTrace.begin("assets");
+        AssetCache assets = new AssetCache();
+        assets.preloadAll().whenComplete((loaded, e) -> phase.end());
+        return assets;
+    }
+
+    /**
+     * Creates the game and the UI showing the menu. Only the menu card is built; the other cards are built
+     * the first time they are shown. The game picks no phrase until it starts, so the phrase corpus keeps loading
+     * in the background.
+     * @param assets cache of images and sounds
+     * @return returns the UI
+     */
+    public static UIPanel createUI(AssetCache assets) {
+        StartupTrace.Phase phase = StartupTrace.begin("game");
+        Game game = new Game();
+        phase.end();
+
+        phase = StartupTrace.begin("ui");
+        UIPanel ui = new UIPanel(game, assets);
+        phase.end();
+
+        phase = StartupTrace.begin("menu card");
+        ui.switchToCard(UIPanel.MENU);
+        phase.end();
+        return ui;
+    }
+
+    /**
+     * This method initializes JFrame attributes and adds UIPanel.
+     */
+    private void initialize() {
+        ui = createUI(assets);
+
+        setIcon();
+        add(ui);
+        setGlassPane(ui.getHud());
+        ui.getHud().setVisible(PerformanceHud.SHOW_ON_START);
+
+        setSize(FRAME_WIDTH, FRAME_HEIGHT);
+        setTitle(FRAME_TITLE);
+        setDefaultCloseOperation(EXIT_ON_CLOSE);
+        setResizable(false);
+        setLocationRelativeTo(null);
+    }
+
+    /**
+     * Sets the icon image for JFrame from the asset cache
+     */
+    private void setIcon() {
+        setIconImage(assets.getImage(AssetCache.ICON_IMAGE));
+    }
+
+}
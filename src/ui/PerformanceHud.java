@@ -0,0 +1,292 @@
+package ui;
+
+import game.Game;
+import game.Player;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Diagnostics overlay shown over every screen, toggled at runtime with F3. It shows frame times, how busy the
+ * EDT is, the allocation rate, GC pauses, the number of sounds playing and the game's state. Its text is only
+ * sampled and redrawn a few times a second, into an image that is copied on each paint, so showing it costs
+ * the frames it measures next to nothing.
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class PerformanceHud extends JComponent {
+
+    //Declares class fields
+    // Shows the overlay from startup, enabled with -Dwheeloffortune.hud=true
+    public static final boolean SHOW_ON_START = Boolean.getBoolean("wheeloffortune.hud");
+    public static final KeyStroke TOGGLE_KEY = KeyStroke.getKeyStroke("F3");
+    public static final int UPDATE_MILLIS = 250;
+    private static final Font FONT = new Font("Monospaced", Font.PLAIN, 13);
+    private static final Color BACKGROUND = new Color(0, 0, 0, 190);
+    private static final int LINE_HEIGHT = 15;
+    private static final int PADDING = 8;
+    private static final int MARGIN = 10;
+
+    private final UIPanel ui;
+    private final Game game;
+    private final Timer updateTimer;
+    private final DirtyRegion region = new DirtyRegion(this);
+    // Management beans, looked up the first time the overlay is shown as loading them slows startup.
+    private ThreadMXBean threads;
+    private List<GarbageCollectorMXBean> collectors;
+    private EdtMonitor edtMonitor;
+    private List<String> lines = List.of();
+    private BufferedImage textImage;
+
+    // Totals at the previous sample, which rates are worked out from
+    private long lastSample;
+    private long lastEdtBusy;
+    private long lastAllocated;
+    private long lastGcCount;
+    private long lastGcMillis;
+
+    /**
+     * Event queue timing how long the EDT spends dispatching events. Time a modal dialog's nested loop spends
+     * waiting for events is left out, so an open dialog doesn't count as busy.
+     */
+    private static class EdtMonitor extends EventQueue {
+
+        private int depth;
+        private long segmentStart;
+        private volatile long busyNanos;
+
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            if (depth++ == 0) segmentStart = System.nanoTime();
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                if (--depth == 0) busyNanos += System.nanoTime() - segmentStart;
+            }
+        }
+
+        @Override
+        public AWTEvent getNextEvent() throws InterruptedException {
+            if (depth > 0) busyNanos += System.nanoTime() - segmentStart;
+            try {
+                return super.getNextEvent();
+            } finally {
+                if (depth > 0) segmentStart = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Initializes the overlay, hidden until it is made visible
+     * @param ui UI the overlay is shown over
+     * @param game game whose state is shown
+     */
+    public PerformanceHud(UIPanel ui, Game game) {
+        this.ui = ui;
+        this.game = game;
+        setOpaque(false);
+
+        updateTimer = new Timer(UPDATE_MILLIS, e -> update());
+        setVisible(false);
+    }
+
+    /**
+     * Shows or hides the overlay, sampling only while it is shown
+     * @param visible true to show the overlay
+     */
+    @Override
+    public void setVisible(boolean visible) {
+        super.setVisible(visible);
+        if (updateTimer == null) return;
+
+        if (visible) {
+            startSampling();
+            updateTimer.start();
+        } else {
+            updateTimer.stop();
+        }
+    }
+
+    /**
+     * Shows the overlay if it is hidden, or hides it if it is shown
+     */
+    public void toggle() {
+        setVisible(!isVisible());
+    }
+
+    /**
+     * Takes the totals rates are measured from, installing the EDT monitor and looking up the management
+     * beans the first time
+     */
+    private void startSampling() {
+        if (edtMonitor == null) {
+            edtMonitor = new EdtMonitor();
+            Toolkit.getDefaultToolkit().getSystemEventQueue().push(edtMonitor);
+            threads = ManagementFactory.getThreadMXBean();
+            collectors = ManagementFactory.getGarbageCollectorMXBeans();
+        }
+
+        if (threads instanceof com.sun.management.ThreadMXBean sunThreads
+                && sunThreads.isThreadAllocatedMemorySupported()) {
+            sunThreads.setThreadAllocatedMemoryEnabled(true);
+        }
+
+        lastSample = System.nanoTime();
+        lastEdtBusy = edtMonitor.busyNanos;
+        lastAllocated = getAllocatedBytes();
+        lastGcCount = getGcCount();
+        lastGcMillis = getGcMillis();
+    }
+
+    /**
+     * Samples every statistic and redraws the overlay's text if it changed
+     */
+    private void update() {
+        long now = System.nanoTime();
+        double seconds = Math.max(1e-9, (now - lastSample) / 1e9);
+        long edtBusy = edtMonitor.busyNanos;
+        long allocated = getAllocatedBytes();
+        long gcCount = getGcCount();
+        long gcMillis = getGcMillis();
+
+        List<String> next = new ArrayList<>();
+        FrameStats frames = ui.getRenderLoop().getFrameStats();
+        next.add("PERFORMANCE (F3 to hide)");
+        next.add(String.format("Frame p50/p95/p99: %.1f / %.1f / %.1f ms", frames.getPercentileMillis(50),
+                frames.getPercentileMillis(95), frames.getPercentileMillis(99)));
+        next.add(String.format("Frames: %d, late: %d, %s", frames.getFrameCount(), frames.getLateFrames(),
+                ui.getRenderLoop().isActive() ? "active" : "passive"));
+        next.add(String.format("EDT busy: %.1f%%", 100.0 * (edtBusy - lastEdtBusy) / (now - lastSample)));
+        next.add(allocated < 0 ? "Allocation: unavailable"
+                : String.format("Allocation: %.1f MB/s", Math.max(0, allocated - lastAllocated) / seconds / 1e6));
+        next.add(String.format("GC: %d collections, %d ms (total %d, %d ms)", gcCount - lastGcCount,
+                gcMillis - lastGcMillis, gcCount, gcMillis));
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        next.add(String.format("Heap: %d / %d MB", heap.getUsed() >> 20, heap.getMax() >> 20));
+        next.add("Sounds playing: " + ui.getSE().getActiveSoundCount());
+        addGameState(next);
+
+        lastSample = now;
+        lastEdtBusy = edtBusy;
+        lastAllocated = allocated;
+        lastGcCount = gcCount;
+        lastGcMillis = gcMillis;
+
+        if (!next.equals(lines) || textImage == null) {
+            lines = next;
+            textImage = drawLines(lines);
+        }
+        region.update(lines, getWidth() - textImage.getWidth() - MARGIN, MARGIN, textImage.getWidth(), textImage.getHeight());
+    }
+
+    /**
+     * Adds lines describing the game's state
+     * @param lines lines to add to
+     */
+    private void addGameState(List<String> lines) {
+        lines.add("GAME");
+        lines.add("Players: " + game.getPlayerList().size());
+        if (!game.getPlayerList().isEmpty()) {
+            Player player = game.getCurrentPlayer();
+            lines.add("Turn: " + game.getPlayerTurn() + " (" + player.getName() + ", £" + player.getScore() + ")");
+        }
+        lines.add("Hidden phrase: " + game.getPhrase().getHiddenPhrase());
+        lines.add("Current phrase: " + game.getPhrase().getCurrentPhrase());
+        lines.add("Missing letters: " + game.getPhrase().getNumOfMissingLetters());
+        lines.add("Segment: " + game.getWheel().getSelectedSegment().getTypeAsString() + " "
+                + game.getWheel().getSelectedSegment().getValue());
+        lines.add(String.format("Wheel: %.1f deg at %.2f deg/tick", game.getWheel().getCurrentAngle(),
+                game.getWheel().getSpinVelocity()));
+    }
+
+    /**
+     * Draws lines of text onto a translucent panel
+     * @param lines lines to draw
+     * @return returns an image of the lines
+     */
+    private BufferedImage drawLines(List<String> lines) {
+        FontMetrics fm = getFontMetrics(FONT);
+        int width = 0;
+        for (String line : lines) {
+            width = Math.max(width, fm.stringWidth(line));
+        }
+
+        BufferedImage image = new BufferedImage(width + 2 * PADDING, LINE_HEIGHT * (lines.size() - 1) + fm.getHeight() + 2 * PADDING,
+                BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setColor(BACKGROUND);
+        g2d.fillRect(0, 0, image.getWidth(), image.getHeight());
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.setFont(FONT);
+        g2d.setColor(Color.WHITE);
+        for (int i = 0; i < lines.size(); i++) {
+            g2d.drawString(lines.get(i), PADDING, PADDING + fm.getAscent() + i * LINE_HEIGHT);
+        }
+        g2d.dispose();
+        return image;
+    }
+
+    /**
+     * Paints the overlay's last sampled text
+     *
+     * @param g the <code>Graphics</code> object to protect
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle bounds = region.getBounds();
+        if (textImage != null && region.needsPaint(g.getClipBounds())) {
+            g.drawImage(textImage, bounds.x, bounds.y, null);
+        }
+    }
+
+    //------------------ GETTERS AND SETTERS ---------------------//
+
+    /**
+     * Gets the bytes allocated by every live thread so far
+     * @return returns the allocated bytes, or -1 if the JVM can't measure allocation
+     */
+    private long getAllocatedBytes() {
+        if (!(threads instanceof com.sun.management.ThreadMXBean sunThreads)
+                || !sunThreads.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+
+        long total = 0;
+        for (long bytes : sunThreads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if (bytes > 0) total += bytes;
+        }
+        return total;
+    }
+
+    /**
+     * Gets the number of collections run by every garbage collector so far
+     * @return returns the total collection count
+     */
+    private long getGcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            total += Math.max(0, collector.getCollectionCount());
+        }
+        return total;
+    }
+
+    /**
+     * Gets the time every garbage collector has spent collecting so far
+     * @return returns the total collection time in milliseconds
+     */
+    private long getGcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            total += Math.max(0, collector.getCollectionTime());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,206 @@
+package ui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the game's animations at a fixed frame rate. In passive mode each animation is ticked by a Swing
+ * Timer and repainted by Swing, as the game always has. In active mode a dedicated clock thread keeps a fixed
+ * 60 Hz cadence and hands each frame to the EDT, which ticks every animation and paints what they changed
+ * straight away instead of waiting for Swing to get round to it. The clock thread never touches a component,
+ * so animations and painting only ever run on the EDT. A frame the EDT is still too busy to start when the
+ * next one is due is dropped rather than queued behind it.
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class RenderLoop {
+
+    /**
+     * An animation advanced once per frame, always on the EDT
+     */
+    public interface Animation {
+
+        /**
+         * Advances the animation by one frame
+         * @return returns false once the animation has finished
+         */
+        boolean tick();
+
+        /**
+         * Runs on the EDT once the animation has finished by itself
+         */
+        default void finished() {
+        }
+    }
+
+    //Declares class fields
+    public static final int FRAME_MILLIS = 16;
+    private static final long FRAME_NANOS = 1_000_000_000L / 60;
+
+    private final UIPanel ui;
+    private final FrameStats stats = new FrameStats(600);
+    // Read by the clock thread to know when to sleep, changed only on the EDT
+    private final List<Animation> activeAnimations = new CopyOnWriteArrayList<>();
+    // Component each active animation draws on, only used on the EDT
+    private final Map<Animation, JComponent> activeComponents = new HashMap<>();
+    private final Map<Animation, Timer> passiveAnimations = new ConcurrentHashMap<>();
+    // Set while a frame is waiting for the EDT, so a busy EDT never has more than one frame queued
+    private final AtomicBoolean framePending = new AtomicBoolean();
+    private volatile Thread clockThread;
+    private long lastFrame;
+
+    /**
+     * Initializes render loop, in passive mode until {@link #startActive()} is called
+     * @param ui UI painted by the loop in active mode
+     */
+    public RenderLoop(UIPanel ui) {
+        this.ui = ui;
+    }
+
+    /**
+     * Switches to active rendering. Animations already playing carry on in passive mode.
+     */
+    public synchronized void startActive() {
+        if (clockThread != null) return;
+
+        clockThread = new Thread(this::run, "render-loop");
+        clockThread.setDaemon(true);
+        clockThread.start();
+    }
+
+    /**
+     * Starts playing an animation, must be called on the EDT
+     * @param animation animation to play
+     * @param component component the animation draws on, repainted after each tick, or null if the animation
+     *                  repaints what it changes itself
+     */
+    public void play(Animation animation, JComponent component) {
+        if (isActive()) {
+            if (activeAnimations.isEmpty()) {
+                lastFrame = System.nanoTime();
+            }
+            activeAnimations.add(animation);
+            if (component != null) {
+                activeComponents.put(animation, component);
+            }
+            LockSupport.unpark(clockThread);
+            return;
+        }
+
+        long[] last = {System.nanoTime()};
+        Timer timer = new Timer(FRAME_MILLIS, e -> {
+            long now = System.nanoTime();
+            stats.record(now - last[0], now - last[0] > 2 * FRAME_NANOS);
+            last[0] = now;
+
+            if (!animation.tick()) {
+                stop(animation);
+                animation.finished();
+                return;
+            }
+            if (component != null) {
+                component.repaint();
+            }
+        });
+        passiveAnimations.put(animation, timer);
+        timer.start();
+    }
+
+    /**
+     * Stops an animation without calling its finished method, must be called on the EDT
+     * @param animation animation to stop
+     */
+    public void stop(Animation animation) {
+        activeAnimations.remove(animation);
+        activeComponents.remove(animation);
+
+        Timer timer = passiveAnimations.remove(animation);
+        if (timer != null) {
+            timer.stop();
+        }
+    }
+
+    /**
+     * Clock thread loop, handing a frame to the EDT at a fixed cadence while any animation is playing
+     */
+    private void run() {
+        long deadline = System.nanoTime();
+
+        while (true) {
+            // Sleeps while nothing is animating, leaving painting to Swing
+            if (activeAnimations.isEmpty()) {
+                LockSupport.park(this);
+                deadline = System.nanoTime();
+                continue;
+            }
+
+            // Drops the frame if the EDT hasn't started the last one yet
+            if (framePending.compareAndSet(false, true)) {
+                EventQueue.invokeLater(this::frame);
+            }
+
+            long now = System.nanoTime();
+            // Drops missed frames rather than rushing to catch up with them
+            deadline = now - deadline > FRAME_NANOS ? now + FRAME_NANOS : deadline + FRAME_NANOS;
+            while ((now = System.nanoTime()) < deadline) {
+                LockSupport.parkNanos(deadline - now);
+            }
+        }
+    }
+
+    /**
+     * Ticks every active animation and paints everything they changed, on the EDT
+     */
+    private void frame() {
+        framePending.set(false);
+        if (activeAnimations.isEmpty()) return;
+
+        long now = System.nanoTime();
+        stats.record(now - lastFrame, now - lastFrame > 2 * FRAME_NANOS);
+        lastFrame = now;
+
+        for (Animation animation : activeAnimations) {
+            if (!animation.tick()) {
+                stop(animation);
+                animation.finished();
+                continue;
+            }
+            JComponent component = activeComponents.get(animation);
+            if (component != null) {
+                component.repaint();
+            }
+        }
+
+        // Paints this frame now rather than whenever Swing next gets to its repaint requests
+        if (ui.isShowing()) {
+            RepaintManager.currentManager(ui).paintDirtyRegions();
+            Toolkit.getDefaultToolkit().sync();
+        }
+    }
+
+    //------------------ GETTERS AND SETTERS ---------------------//
+
+    /**
+     * Checks whether animations are paced by the clock thread
+     * @return returns true in active mode, false in passive mode
+     */
+    public boolean isActive() {
+        return clockThread != null;
+    }
+
+    /**
+     * Gets statistics of recent frame times
+     * @return returns the frame statistics
+     */
+    public FrameStats getFrameStats() {
+        return stats;
+    }
+}
@@ -0,0 +1,151 @@
+package ui;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Timestamps of each phase of startup, measured from when the JVM started, up to the first frame being
+ * painted. Each phase is also committed as a JFR event, so it shows up in flight recordings. The report is
+ * printed once the first frame is painted if enabled with -Dwheeloffortune.startupTrace=true.
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public final class StartupTrace {
+
+    //Declares class fields
+    public static final boolean PRINT_REPORT = Boolean.getBoolean("wheeloffortune.startupTrace");
+    // Exits once the first frame is painted, so startup can be timed from the command line.
+    public static final boolean EXIT_AFTER_FIRST_FRAME = Boolean.getBoolean("wheeloffortune.exitAfterFirstFrame");
+    public static final String FIRST_FRAME = "first frame";
+
+    // nanoTime at which the JVM process started
+    private static final long ORIGIN_NANOS = System.nanoTime() - 1_000_000L * (System.currentTimeMillis()
+            - ProcessHandle.current().info().startInstant().orElse(Instant.now()).toEpochMilli());
+    private static final List<Phase> PHASES = new ArrayList<>();
+    private static long firstFrameNanos;
+
+    /**
+     * A startup phase, from when it began to when it ended
+     */
+    public static final class Phase {
+
+        private final String name;
+        private final String thread = Thread.currentThread().getName();
+        private final long startNanos = System.nanoTime();
+        private final StartupPhaseEvent event = new StartupPhaseEvent();
+        private long endNanos;
+
+        /**
+         * Initializes phase, starting now
+         * @param name name of the phase
+         */
+        private Phase(String name) {
+            this.name = name;
+            event.phase = name;
+            event.begin();
+        }
+
+        /**
+         * Ends the phase
+         */
+        public void end() {
+            synchronized (StartupTrace.class) {
+                if (endNanos != 0) return;
+                endNanos = System.nanoTime();
+            }
+            event.end();
+            event.commit();
+        }
+    }
+
+    /**
+     * JFR event recording a startup phase
+     */
+    @Name("wheeloffortune.StartupPhase")
+    @Label("Startup Phase")
+    @Category("Wheel of Fortune")
+    static class StartupPhaseEvent extends Event {
+        @Label("Phase")
+        String phase;
+    }
+
+    private StartupTrace() {
+    }
+
+    /**
+     * Starts timing a phase
+     * @param name name of the phase
+     * @return returns the phase, which must be ended when it finishes
+     */
+    public static Phase begin(String name) {
+        Phase phase = new Phase(name);
+        synchronized (StartupTrace.class) {
+            PHASES.add(phase);
+        }
+        return phase;
+    }
+
+    /**
+     * Records the first frame being painted, printing the report and exiting if enabled. Later frames are ignored.
+     */
+    public static void firstFramePainted() {
+        synchronized (StartupTrace.class) {
+            if (firstFrameNanos != 0) return;
+            firstFrameNanos = System.nanoTime();
+        }
+
+        if (PRINT_REPORT || EXIT_AFTER_FIRST_FRAME) {
+            System.out.print(report());
+        }
+        if (EXIT_AFTER_FIRST_FRAME) {
+            System.exit(0);
+        }
+    }
+
+    /**
+     * Formats every phase recorded so far, in the order they began
+     * @return returns the startup report
+     */
+    public static synchronized String report() {
+        StringBuilder report = new StringBuilder("Startup (ms since JVM start)\n");
+        report.append(String.format("  %-22s %9s %9s %9s  %s%n", "phase", "start", "end", "duration", "thread"));
+
+        for (Phase phase : PHASES) {
+            report.append(String.format("  %-22s %9.1f %9s %9s  %s%n", phase.name, toMillis(phase.startNanos),
+                    phase.endNanos == 0 ? "-" : String.format("%.1f", toMillis(phase.endNanos)),
+                    phase.endNanos == 0 ? "running" : String.format("%.1f", (phase.endNanos - phase.startNanos) / 1e6),
+                    phase.thread));
+        }
+
+        if (firstFrameNanos != 0) {
+            report.append(String.format("Time to %s: %.1f ms%n", FIRST_FRAME, toMillis(firstFrameNanos)));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Converts a nanoTime to milliseconds since the JVM started
+     * @param nanos value of System.nanoTime()
+     * @return returns milliseconds since the JVM started
+     */
+    private static double toMillis(long nanos) {
+        return (nanos - ORIGIN_NANOS) / 1e6;
+    }
+
+    //------------------ GETTERS AND SETTERS ---------------------//
+
+    /**
+     * Gets the time from the JVM starting to the first frame being painted
+     * @return returns the time to first frame in milliseconds, or -1 if no frame has been painted yet
+     */
+    public static synchronized double getTimeToFirstFrame() {
+        return firstFrameNanos == 0 ? -1 : toMillis(firstFrameNanos);
+    }
+}
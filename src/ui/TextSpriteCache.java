@@ -0,0 +1,291 @@
+package ui;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of pre-rasterized text. Each label is drawn once, for a given font and color, into an image that
+ * knows its own size and baseline, so painting it again is a single blit with no font measuring or glyph
+ * rendering. Suited to the small, fixed set of labels the game shows, such as segment values and turns.
+ *
+ * <p>On a HiDPI display a label is rasterized at the display's scale and drawn back down to its size in the
+ * layout, so it is as sharp as text drawn directly. A sprite's measurements are always in layout pixels, the
+ * same whatever scale it was rasterized at.</p>
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class TextSpriteCache {
+
+    //Declares class fields
+    // Blank pixels around the text, so glyphs reaching past their advance or line height aren't cut off.
+    private static final int PADDING = 4;
+
+    private final int maxSprites;
+    // Sprites by text, font and color, in least to most recently used order.
+    private final LinkedHashMap<Key, TextSprite> sprites;
+
+    /**
+     * A label rasterized into an image
+     */
+    public static class TextSprite {
+
+        private final Image image;
+        // Image pixels per layout pixel.
+        private final double scale;
+        private final int width;
+        private final int ascent;
+        private final int height;
+
+        /**
+         * Initializes text sprite
+         * @param image image of the text, with padding around it
+         * @param scale image pixels per layout pixel
+         * @param width advance width of the text
+         * @param ascent distance from the top of the text to its baseline
+         * @param height line height of the text
+         */
+        TextSprite(Image image, double scale, int width, int ascent, int height) {
+            this.image = image;
+            this.scale = scale;
+            this.width = width;
+            this.ascent = ascent;
+            this.height = height;
+        }
+
+        /**
+         * Draws the text with its baseline starting at a point, as drawString does
+         * @param g2d Graphics2D object to draw to
+         * @param x x position of the start of the baseline
+         * @param y y position of the baseline
+         */
+        public void draw(Graphics2D g2d, int x, int y) {
+            if (scale == 1) {
+                g2d.drawImage(image, getImageX(x), getImageY(y), null);
+            } else {
+                g2d.drawImage(image, getImageX(x), getImageY(y), getImageWidth(), getImageHeight(), null);
+            }
+        }
+
+        /**
+         * Draws the text centered horizontally about a point
+         * @param g2d Graphics2D object to draw to
+         * @param centerX x position to center the text on
+         * @param y y position of the baseline
+         */
+        public void drawCentered(Graphics2D g2d, int centerX, int y) {
+            draw(g2d, getCenteredX(centerX), y);
+        }
+
+        /**
+         * Gets where the text starts when centered on a point
+         * @param centerX x position to center the text on
+         * @return returns the x position of the start of the baseline
+         */
+        public int getCenteredX(int centerX) {
+            return centerX - width / 2;
+        }
+
+        /**
+         * Gets the left edge of the sprite's image when the text is drawn at a point
+         * @param x x position of the start of the baseline
+         * @return returns the x position of the image's left edge
+         */
+        public int getImageX(int x) {
+            return x - PADDING;
+        }
+
+        /**
+         * Gets the top edge of the sprite's image when the text is drawn at a point
+         * @param y y position of the baseline
+         * @return returns the y position of the image's top edge
+         */
+        public int getImageY(int y) {
+            return y - ascent - PADDING;
+        }
+
+        /**
+         * Gets the width of the sprite's image in layout pixels, including padding
+         * @return returns the image width in pixels
+         */
+        public int getImageWidth() {
+            return width + 2 * PADDING;
+        }
+
+        /**
+         * Gets the height of the sprite's image in layout pixels, including padding
+         * @return returns the image height in pixels
+         */
+        public int getImageHeight() {
+            return height + 2 * PADDING;
+        }
+
+        /**
+         * Gets the advance width of the text
+         * @return returns the width of the text in pixels
+         */
+        public int getWidth() {
+            return width;
+        }
+
+        /**
+         * Gets the distance from the top of the text to its baseline
+         * @return returns the ascent of the text in pixels
+         */
+        public int getAscent() {
+            return ascent;
+        }
+
+        /**
+         * Gets the line height of the text
+         * @return returns the height of the text in pixels
+         */
+        public int getHeight() {
+            return height;
+        }
+    }
+
+    /**
+     * Text, font, color and scale a sprite was drawn with
+     */
+    private static class Key {
+
+        private final String text;
+        private final Font font;
+        private final int rgb;
+        private final double scale;
+
+        Key(String text, Font font, Color color, double scale) {
+            this.text = text;
+            this.font = font;
+            this.rgb = color.getRGB();
+            this.scale = scale;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return rgb == key.rgb && scale == key.scale && text.equals(key.text) && font.equals(key.font);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * (31 * text.hashCode() + font.hashCode()) + rgb) + Double.hashCode(scale);
+        }
+    }
+
+    /**
+     * Initializes text sprite cache
+     * @param maxSprites most sprites kept at once, least recently used are dropped beyond this
+     */
+    public TextSpriteCache(int maxSprites) {
+        this.maxSprites = maxSprites;
+        this.sprites = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, TextSprite> eldest) {
+                return size() > TextSpriteCache.this.maxSprites;
+            }
+        };
+    }
+
+    /**
+     * Gets the sprite of a label rasterized at 1x, rasterizing it if it isn't cached
+     * @param text text of the label
+     * @param font font to draw the text in
+     * @param color color to draw the text in
+     * @return returns the label's sprite
+     */
+    public TextSprite get(String text, Font font, Color color) {
+        return get(text, font, color, 1);
+    }
+
+    /**
+     * Gets the sprite of a label, rasterizing it if it isn't cached
+     * @param text text of the label
+     * @param font font to draw the text in
+     * @param color color to draw the text in
+     * @param scale display scale to rasterize at, from {@link #scaleOf(Graphics2D)} when drawing
+     * @return returns the label's sprite
+     */
+    public synchronized TextSprite get(String text, Font font, Color color, double scale) {
+        return sprites.computeIfAbsent(new Key(text, font, color, scale), key -> rasterize(text, font, color, scale));
+    }
+
+    /**
+     * Rasterizes labels ahead of time, so they are ready the first time they are painted
+     * @param texts texts of the labels
+     * @param font font to draw the text in
+     * @param color color to draw the text in
+     * @param scale display scale to rasterize at
+     */
+    public void preload(Iterable<String> texts, Font font, Color color, double scale) {
+        for (String text : texts) {
+            get(text, font, color, scale);
+        }
+    }
+
+    /**
+     * Gets the display scale a Graphics2D object draws at, so sprites drawn to it can match it
+     * @param g2d Graphics2D object to be drawn to
+     * @return returns the device pixels per layout pixel, 1 unless drawing to a HiDPI display
+     */
+    public static double scaleOf(Graphics2D g2d) {
+        double scale = g2d.getTransform().getScaleX();
+        return scale > 0 ? scale : 1;
+    }
+
+    /**
+     * Draws text into a new sprite, antialiased as the game's panels draw text
+     * @param text text to draw
+     * @param font font to draw the text in
+     * @param color color to draw the text in
+     * @param scale display scale to rasterize at
+     * @return returns the new sprite
+     */
+    private static TextSprite rasterize(String text, Font font, Color color, double scale) {
+        // Measures with a scratch image, as the sprite's size depends on the measurements
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D measure = scratch.createGraphics();
+        applyHints(measure);
+        FontMetrics fm = measure.getFontMetrics(font);
+        int width = fm.stringWidth(text);
+        int ascent = fm.getAscent();
+        int height = fm.getHeight();
+        measure.dispose();
+
+        int imageWidth = (int) Math.ceil((width + 2 * PADDING) * scale);
+        int imageHeight = (int) Math.ceil((height + 2 * PADDING) * scale);
+        BufferedImage image = new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g2d = image.createGraphics();
+        applyHints(g2d);
+        g2d.scale(scale, scale);
+        g2d.setFont(font);
+        g2d.setColor(color);
+        g2d.drawString(text, PADDING, PADDING + ascent);
+        g2d.dispose();
+
+        return new TextSprite(image, scale, width, ascent, height);
+    }
+
+    /**
+     * Sets the rendering hints the game's panels draw text with
+     * @param g2d Graphics2D object to set the hints on
+     */
+    private static void applyHints(Graphics2D g2d) {
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+    }
+
+    //------------------ GETTERS AND SETTERS ---------------------//
+
+    /**
+     * Gets the number of labels cached
+     * @return returns the number of cached sprites
+     */
+    public synchronized int size() {
+        return sprites.size();
+    }
+}
@@ -1,120 +1,213 @@
-package ui;
-
-import game.Game;
-import sound.SoundEffectPlayer;
-
-import javax.swing.*;
-import java.awt.*;
-/**
- * This class represents the main UI interface using a CardLayout for easy screen switching
- *
- * @author Matthew Ritchie
- * @version 1.0
- */
-public class UIPanel extends JPanel {
-
-    //Declares class fields
-    public final static String MENU = "MenuCard";
-    public final static String SETUP = "SetupCard";
-    public final static String GAME = "GameCard";
-    public final static String END = "EndCard";
-
-    private MenuCard menuCard;
-    private SetupCard setupCard;
-    private GameCard gameCard;
-    private EndCard endCard;
-    private final Game game;
-    private final SoundEffectPlayer se;
-
-    // Theme music enabled or not
-    public final boolean THEME_MUSIC_ON = true;
-
-    // Testing mode: Enables testing area on game screen displaying some relevant variables
-    public final boolean TESTING_MODE = true;
-
-    /**
-     * Initializes UIPanel components
-     * @param game Game object attached to UIPanel
-     */
-    public UIPanel(Game game) {
-        this.game = game;
-        this.se = new SoundEffectPlayer();
-        initialize();
-    }
-
-    /**
-     * Gets the JPanel representing the menu screen
-     *
-     * @return returns the JPanel representing the menu screen
-     */
-    public MenuCard getMenuCard() {
-        return menuCard;
-    }
-
-
-    /**
-     * Gets the JPanel representing the setup screen
-     *
-     * @return returns the JPanel representing the setup screen
-     */
-    public SetupCard getSetupCard() {
-        return setupCard;
-    }
-
-    /**
-     * Gets the JPanel representing the main game screen.
-     *
-     * @return return main game screen JPanel.
-     */
-    public GameCard getGameCard() {
-        return gameCard;
-    }
-
-    /**
-     * Gets the JPanel representing the end game screen.
-     *
-     * @return return the end game screen JPanel
-     */
-    public EndCard getEndCard() {
-        return endCard;
-    }
-
-    /**
-     * Gets the sound effect player
-     * @return returns the sound effect player
-     */
-    public SoundEffectPlayer getSE() {
-        return se;
-    }
-
-    /**
-     * Initializes the main UIPanel with CardLayout and necessary cards/screens/JPanels.
-     */
-    private void initialize() {
-        CardLayout cl = new CardLayout();
-        setLayout(cl);
-
-        menuCard = new MenuCard(this, game);
-        setupCard = new SetupCard(this, game);
-        gameCard = new GameCard(this, game);
-        endCard = new EndCard(this, game);
-
-        add(menuCard, MENU);
-        add(setupCard, SETUP);
-        add(gameCard, GAME);
-        add(endCard, END);
-
-        cl.show(this, MENU);
-    }
-
-    /**
-     * Switches to new card
-     *
-     * @param cardName Name of the card to switch to
-     */
-    public void switchToCard(String cardName) {
-        CardLayout cl = (CardLayout) getLayout();
-        cl.show(this, cardName);
-    }
-
-}
+package ui;
+
+import game.Game;
+import sound.SoundEffectPlayer;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.HashMap;
+import java.util.Map;
+/**
+ * This class represents the main UI interface using a CardLayout for easy screen switching
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class UIPanel extends JPanel {
+
+    //Declares class fields
+    public final static String MENU = "MenuCard";
+    public final static String SETUP = "SetupCard";
+    public final static String GAME = "GameCard";
+    public final static String END = "EndCard";
+
+    private MenuCard menuCard;
+    private SetupCard setupCard;
+    private GameCard gameCard;
+    private EndCard endCard;
+    // Cards by name, and the card being shown.
+    private final Map<String, Card> cards = new HashMap<>();
+    private Card currentCard;
+    private boolean painted;
+    private final Game game;
+    private final AssetCache assets;
+    private final SoundEffectPlayer se;
+    private final RenderLoop renderLoop;
+    private final TextSpriteCache textSprites = new TextSpriteCache(256);
+    private final PerformanceHud hud;
+
+    // Theme music enabled or not
+    public final boolean THEME_MUSIC_ON = true;
+
+    /**
+     * Initializes UIPanel components, loading its own assets
+     * @param game Game object attached to UIPanel
+     */
+    public UIPanel(Game game) {
+        this(game, new AssetCache());
+        assets.preloadAll();
+    }
+
+    /**
+     * Initializes UIPanel components
+     * @param game Game object attached to UIPanel
+     * @param assets cache of images and sounds shared by every card
+     */
+    public UIPanel(Game game, AssetCache assets) {
+        this.game = game;
+        this.assets = assets;
+        this.se = new SoundEffectPlayer(assets.getSounds());
+        this.renderLoop = new RenderLoop(this);
+        this.hud = new PerformanceHud(this, game);
+        initialize();
+    }
+
+    /**
+     * Gets the JPanel representing the menu screen
+     *
+     * @return returns the JPanel representing the menu screen
+     */
+    public MenuCard getMenuCard() {
+        return menuCard;
+    }
+
+
+    /**
+     * Gets the JPanel representing the setup screen
+     *
+     * @return returns the JPanel representing the setup screen
+     */
+    public SetupCard getSetupCard() {
+        return setupCard;
+    }
+
+    /**
+     * Gets the JPanel representing the main game screen.
+     *
+     * @return return main game screen JPanel.
+     */
+    public GameCard getGameCard() {
+        return gameCard;
+    }
+
+    /**
+     * Gets the JPanel representing the end game screen.
+     *
+     * @return return the end game screen JPanel
+     */
+    public EndCard getEndCard() {
+        return endCard;
+    }
+
+    /**
+     * Gets the sound effect player
+     * @return returns the sound effect player
+     */
+    public SoundEffectPlayer getSE() {
+        return se;
+    }
+
+    /**
+     * Gets the cache of images and sounds
+     * @return returns the asset cache
+     */
+    public AssetCache getAssets() {
+        return assets;
+    }
+
+    /**
+     * Gets the loop driving animations
+     * @return returns the render loop
+     */
+    public RenderLoop getRenderLoop() {
+        return renderLoop;
+    }
+
+    /**
+     * Gets the cache of pre-rasterized labels
+     * @return returns the text sprite cache
+     */
+    public TextSpriteCache getTextSprites() {
+        return textSprites;
+    }
+
+    /**
+     * Gets the diagnostics overlay, which the frame shows over the UI
+     * @return returns the performance overlay
+     */
+    public PerformanceHud getHud() {
+        return hud;
+    }
+
+    /**
+     * Initializes the main UIPanel with CardLayout and necessary cards/screens/JPanels.
+     */
+    private void initialize() {
+        CardLayout cl = new CardLayout();
+        setLayout(cl);
+
+        menuCard = new MenuCard(this, game);
+        setupCard = new SetupCard(this, game);
+        gameCard = new GameCard(this, game);
+        endCard = new EndCard(this, game);
+
+        addCard(menuCard, MENU);
+        addCard(setupCard, SETUP);
+        addCard(gameCard, GAME);
+        addCard(endCard, END);
+
+        // Toggles the diagnostics overlay from any screen
+        getInputMap(WHEN_IN_FOCUSED_WINDOW).put(PerformanceHud.TOGGLE_KEY, "toggleHud");
+        getActionMap().put("toggleHud", new AbstractAction() {
+            @Override
+            public void actionPerformed(java.awt.event.ActionEvent e) {
+                hud.toggle();
+            }
+        });
+    }
+
+    /**
+     * Paints the UI, recording the first time it is painted as the end of startup
+     *
+     * @param g the <code>Graphics</code> object to protect
+     */
+    @Override
+    public void paint(Graphics g) {
+        super.paint(g);
+
+        if (!painted) {
+            painted = true;
+            StartupTrace.firstFramePainted();
+        }
+    }
+
+    /**
+     * Adds a card to the layout under a name
+     *
+     * @param card card to add
+     * @param cardName name to switch to the card by
+     */
+    private void addCard(Card card, String cardName) {
+        cards.put(cardName, card);
+        add(card, cardName);
+    }
+
+    /**
+     * Switches to new card, resetting the card being hidden and binding the new card to the game
+     *
+     * @param cardName Name of the card to switch to
+     */
+    public void switchToCard(String cardName) {
+        Card card = cards.get(cardName);
+
+        if (currentCard != null && currentCard != card) {
+            currentCard.reset();
+        }
+        card.initialize();
+        currentCard = card;
+
+        CardLayout cl = (CardLayout) getLayout();
+        cl.show(this, cardName);
+    }
+
+}
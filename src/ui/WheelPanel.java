@@ -1,264 +1,425 @@
-package ui;
-
-import game.Game;
-import game.Player;
-import game.SegmentType;
-import game.WheelSegment;
-import sound.SoundEffectPlayer;
-
-import javax.imageio.ImageIO;
-import javax.swing.*;
-import java.awt.*;
-import java.awt.geom.AffineTransform;
-import java.awt.image.BufferedImage;
-import java.io.IOException;
-import java.io.InputStream;
-
-/**
- * This class represents the JPanel containing Wheel related components
- *
- * @author Matthew Ritchie
- * @version 1.0
- */
-public class WheelPanel extends JPanel {
-
-    //Declare fields
-    private BufferedImage wheelImage;
-    private Timer wheelSpinTimer;
-    private final JButton spinButton;
-    private final GameCard gameCard;
-    private final Game game;
-
-    Timer guessingMusicTimer;
-
-    /**
-     * Initializes WheelPanel components
-     * @param gameCard GameCard object attached to WheelPanel
-     * @param game Game object attached to WheelPanel
-     */
-    public WheelPanel(GameCard gameCard, Game game) {
-        setBackground(Color.BLACK);
-        setLayout(null);
-
-        this.gameCard = gameCard;
-        this.game = game;
-
-        loadImage();
-
-        // Initializes button to spin wheel
-        spinButton = new JButton("SPIN");
-        spinButton.setBounds(100, 350, 140, 70);
-        spinButton.setFont(new Font("Arial", Font.BOLD, 35));
-        spinButton.setBackground(Color.WHITE);
-        spinButton.setFocusPainted(false);
-        spinButton.addActionListener(e -> {
-            spinButton.setVisible(false);
-            startSpin();
-        });
-        add(spinButton);
-
-        // Initializes timer for starting guessing mode
-        guessingMusicTimer = new Timer(1000, e -> {
-            gameCard.getGuessArea().setVisible(true);
-            gameCard.getGuessField().requestFocus();
-            gameCard.ui.getSE().play(SoundEffectPlayer.GUESSING_TIME);
-            gameCard.ui.getSE().setVolume(0.7f);
-            guessingMusicTimer.stop();
-        });
-    }
-
-    /**
-     * Gets the spin button
-     *
-     * @return returns the spin button
-     */
-    public JButton getSpinButton() {
-        return spinButton;
-    }
-
-    /**
-     * Loads the image for the WoF wheel.
-     */
-    private void loadImage() {
-        try {
-            InputStream imageStream = getClass().getResourceAsStream("/resources/images/wheel.png");
-            assert imageStream != null;
-            wheelImage = ImageIO.read(imageStream);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
-    /**
-     * Starts spinning the Wheel of Fortune wheel using Java Timer
-     */
-    public void startSpin() {
-        game.getWheel().startSpin();
-        gameCard.ui.getSE().play(SoundEffectPlayer.WHEEL_SPIN, (int)game.getWheel().getSpinVelocity()*1000);
-        gameCard.ui.getSE().setVolume(0.7f);
-
-        wheelSpinTimer = new Timer(16, (ev) -> {
-            if (game.getWheel().getSpinVelocity() <= 0) {
-                wheelStopped();
-                return;
-            }
-
-            game.getWheel().spin();
-            repaint();
-        });
-
-        wheelSpinTimer.start();
-    }
-
-    /**
-     * Runs when wheel velocity hits 0 (the wheel has stopped). Handles what should be done depending on the type of the selected segment.
-     */
-    private void wheelStopped() {
-        WheelSegment segment = game.getWheel().getSelectedSegment();
-        Player currentPlayer = game.getPlayerList().get(game.getPlayerTurn());
-
-        gameCard.ui.getSE().stop();
-
-        // Handles what should be done depending on segment whel stopped on
-        switch (segment.getType()) {
-            case BANKRUPT:
-                gameCard.ui.getSE().play(SoundEffectPlayer.BAD_SPIN);
-                currentPlayer.setScore(0);
-                gameCard.getScoreLabels().get(game.getPlayerTurn()).setText(currentPlayer.getName() + ": £" + currentPlayer.getScore());
-                JOptionPane.showMessageDialog(gameCard, "Oh no! You're bankrupt! Your score has been reset to 0 and you lose your turn!");
-                game.nextTurn();
-                repaint();
-                spinButton.setVisible(true);
-                break;
-            case LOSE_A_TURN:
-                gameCard.ui.getSE().play(SoundEffectPlayer.BAD_SPIN);
-                game.nextTurn();
-                JOptionPane.showMessageDialog(gameCard, "Oh no! You've lost your turn!");
-                repaint();
-                spinButton.setVisible(true);
-                break;
-            case FREE_SPIN:
-                gameCard.ui.getSE().play(SoundEffectPlayer.GOOD_SPIN);
-                JOptionPane.showMessageDialog(gameCard, "You get another spin for free!");
-                spinButton.setVisible(true);
-                break;
-            default:
-                gameCard.ui.getSE().play(SoundEffectPlayer.GOOD_SPIN);
-                guessingMusicTimer.start();
-
-        }
-
-        wheelSpinTimer.stop();
-    }
-
-    /**
-     * Paints custom graphics to WheelPanel
-     *
-     * @param g the <code>Graphics</code> object to protect
-     */
-    public void paintComponent(Graphics g) {
-        super.paintComponent(g);
-
-        Graphics2D g2d = (Graphics2D) g;
-
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-
-        drawWheel(g2d);
-        drawTick(g2d);
-        drawSelectedSegment(g2d);
-
-        drawPlayerTurn(g2d);
-
-        if(gameCard.ui.TESTING_MODE) {
-            drawTestingArea(g2d);
-        }
-    }
-
-    /**
-     * Draws a tick above the wheel
-     *
-     * @param g2d Graphics2D object from paintComponent
-     */
-    private void drawTick(Graphics2D g2d) {
-        g2d.setFont(new Font("Arial", Font.BOLD, 35));
-        g2d.setColor(Color.WHITE);
-        g2d.drawString("↓", (300 + wheelImage.getWidth(null) / 2) - 8, 140);
-    }
-
-    /**
-     * Draws the wheel of fortune wheel.
-     *
-     * @param g2d Graphics2D object from paintComponent
-     */
-    private void drawWheel(Graphics2D g2d) {
-        AffineTransform ar = new AffineTransform();
-        ar.translate(300, 150);
-        ar.rotate(Math.toRadians(game.getWheel().getCurrentAngle()), wheelImage.getWidth(null) / 2d, wheelImage.getHeight(null) / 2d);
-        g2d.drawImage(wheelImage, ar, null);
-    }
-
-    /**
-     * Draws the selected segment of the wheel of fortune
-     *
-     * @param g2d Graphics2D object from paintComponent
-     */
-    private void drawSelectedSegment(Graphics2D g2d) {
-        g2d.setFont(new Font("Arial", Font.PLAIN, 40));
-        g2d.setColor(Color.WHITE);
-
-        if (game.getWheel().getSelectedSegment().getType() == SegmentType.MONEY) {
-            drawStringAtCenterHorizontally("£" + game.getWheel().getSelectedSegment().getValue(), g2d, 600);
-        } else {
-            drawStringAtCenterHorizontally(game.getWheel().getSelectedSegment().getTypeAsString(), g2d, 600);
-        }
-    }
-
-    /**
-     * Draws area for game testing
-     *
-     * @param g2d Graphics2D object from paintComponent
-     */
-    private void drawTestingArea(Graphics2D g2d) {
-        g2d.setFont(new Font("Arial", Font.PLAIN, 13));
-        g2d.setColor(Color.WHITE);
-
-        int xOffset = 335;
-        int yOffset = 40;
-
-        g2d.drawString("TESTING AREA", gameCard.ui.getWidth() - xOffset, yOffset);
-        g2d.drawString("Players: " + game.getPlayerList().size(), gameCard.ui.getWidth() - xOffset, yOffset + 15);
-        g2d.drawString("Player turn index: " + game.getPlayerTurn(), gameCard.ui.getWidth() - xOffset, yOffset + 30);
-        g2d.drawString("Player turn name: " + game.getCurrentPlayer().getName(), gameCard.ui.getWidth() - xOffset, yOffset + 45);
-        g2d.drawString("Hidden phrase: " + game.getPhrase().getHiddenPhrase(), gameCard.ui.getWidth() - xOffset, yOffset + 60);
-        g2d.drawString("Current phrase: " + game.getPhrase().getCurrentPhrase(), gameCard.ui.getWidth() - xOffset, yOffset + 75);
-        g2d.drawString("Phrase missing letters: " + game.getPhrase().getNumOfMissingLetters(), gameCard.ui.getWidth() - xOffset, yOffset + 90);
-        g2d.drawString("Selected segment type: " + game.getWheel().getSelectedSegment().getTypeAsString(), gameCard.ui.getWidth() - xOffset, yOffset + 105);
-        g2d.drawString("Selected segment value: " + game.getWheel().getSelectedSegment().getValue(), gameCard.ui.getWidth() - xOffset, yOffset + 120);
-        g2d.drawString("Wheel angle: " + game.getWheel().getCurrentAngle(), gameCard.ui.getWidth() - xOffset, yOffset + 135);
-        g2d.drawString("Wheel velocity: " + game.getWheel().getSpinVelocity(), gameCard.ui.getWidth() - xOffset, yOffset + 150);
-    }
-
-    /**
-     * Draws the player whose turn it is
-     *
-     * @param g2d Graphics2D object from paintComponent
-     */
-    private void drawPlayerTurn(Graphics2D g2d) {
-        g2d.setFont(new Font("Arial", Font.BOLD, 35));
-        g2d.drawString("Turn: " + game.getPlayerList().get(game.getPlayerTurn()).getName(), 40, 330);
-    }
-
-    /**
-     * Draws a string to screen centered horizontally
-     *
-     * @param string String to draw
-     * @param g2d    Graphics2D object from paintComponent
-     * @param y      y position of string to draw
-     */
-    private void drawStringAtCenterHorizontally(String string, Graphics2D g2d, int y) {
-        FontMetrics fm = g2d.getFontMetrics();
-        int x = (gameCard.getWidth() - fm.stringWidth(string)) / 2;
-        g2d.drawString(string, x, y);
-    }
-}
+package ui;
+
+import game.Game;
+import game.Player;
+import game.SegmentType;
+import game.WheelSegment;
+import sim.ComputerPlayer;
+import sound.SoundEffectPlayer;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class represents the JPanel containing Wheel related components
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class WheelPanel extends JPanel {
+
+    //Declare fields
+    // Finest degrees between pre-rendered wheel sprites, and the most memory the sprites may take up.
+    public static final double WHEEL_SPRITE_RESOLUTION = 4;
+    public static final long WHEEL_SPRITE_MAX_BYTES = 64L * 1024 * 1024;
+    private static final String TICK = "↓";
+    private static final Font TICK_FONT = new Font("Arial", Font.BOLD, 35);
+    private static final Font SEGMENT_FONT = new Font("Arial", Font.PLAIN, 40);
+    private static final Font TURN_FONT = new Font("Arial", Font.BOLD, 35);
+    private static final int WHEEL_X = 300;
+    private static final int WHEEL_Y = 150;
+    public static final int WHEEL_SIZE = 378;
+    private static final int SEGMENT_Y = 600;
+    private static final int TURN_X = 40;
+    private static final int TURN_Y = 330;
+    // Pause before a computer player spins or makes its move, so people can follow along.
+    private static final int COMPUTER_DELAY_MILLIS = 1000;
+
+    private final WheelRenderer wheelRenderer = new WheelRenderer(WHEEL_SIZE);
+    private WheelSpriteCache wheelSprites;
+    private final JButton spinButton;
+    private final GameCard gameCard;
+    private Game game;
+    // Areas of the elements that change, repainted only when what they show changes.
+    private final DirtyRegion wheelRegion = new DirtyRegion(this);
+    private final DirtyRegion segmentRegion = new DirtyRegion(this);
+    private final DirtyRegion turnRegion = new DirtyRegion(this);
+    // Background and tick, which never change, drawn once and copied into each paint.
+    private Image staticLayer;
+    private RenderLoop.Animation spinAnimation;
+
+    Timer guessingMusicTimer;
+    private final Timer computerSpinTimer;
+    private final Timer computerMoveTimer;
+
+    /**
+     * Initializes WheelPanel components
+     * @param gameCard GameCard object attached to WheelPanel
+     * @param game Game object attached to WheelPanel
+     */
+    public WheelPanel(GameCard gameCard, Game game) {
+        setBackground(Color.BLACK);
+        setLayout(null);
+
+        this.gameCard = gameCard;
+        this.game = game;
+
+        preloadText();
+
+        // Initializes button to spin wheel
+        spinButton = new JButton("SPIN");
+        spinButton.setBounds(100, 350, 140, 70);
+        spinButton.setFont(new Font("Arial", Font.BOLD, 35));
+        spinButton.setBackground(Color.WHITE);
+        spinButton.setFocusPainted(false);
+        spinButton.addActionListener(e -> {
+            spinButton.setVisible(false);
+            startSpin();
+        });
+        add(spinButton);
+
+        // Initializes timer for starting guessing mode
+        guessingMusicTimer = new Timer(1000, e -> {
+            gameCard.getGuessArea().setVisible(true);
+            gameCard.getGuessField().requestFocus();
+            gameCard.ui.getSE().play(SoundEffectPlayer.GUESSING_TIME);
+            gameCard.ui.getSE().setVolume(0.7f);
+            guessingMusicTimer.stop();
+        });
+
+        // Initializes timers for computer players' spins and moves
+        computerSpinTimer = new Timer(COMPUTER_DELAY_MILLIS, e -> startSpin());
+        computerSpinTimer.setRepeats(false);
+        computerMoveTimer = new Timer(COMPUTER_DELAY_MILLIS, e -> gameCard.playComputerMove());
+        computerMoveTimer.setRepeats(false);
+    }
+
+    /**
+     * Gets the spin button
+     *
+     * @return returns the spin button
+     */
+    public JButton getSpinButton() {
+        return spinButton;
+    }
+
+    /**
+     * Gets the cache of pre-rendered wheel sprites, drawing the wheel again if its segments or the display
+     * scale have changed since the sprites were rendered
+     *
+     * @return returns the wheel sprite cache
+     */
+    public WheelSpriteCache getWheelSprites() {
+        double scale = getDisplayScale();
+        BufferedImage wheelImage = wheelRenderer.render(game.getWheel().getSegments(), scale);
+
+        if (wheelSprites == null || wheelSprites.getWheelImage() != wheelImage) {
+            if (wheelSprites != null) wheelSprites.close();
+            wheelSprites = new WheelSpriteCache(wheelImage, scale, WHEEL_SPRITE_RESOLUTION, WHEEL_SPRITE_MAX_BYTES);
+            wheelSprites.prerenderAll();
+        }
+        return wheelSprites;
+    }
+
+    /**
+     * Gets the scale of the display the panel is on
+     *
+     * @return returns the device pixels per layout pixel, 1 before the panel is on a display
+     */
+    private double getDisplayScale() {
+        GraphicsConfiguration config = getGraphicsConfiguration();
+        return config != null ? config.getDefaultTransform().getScaleX() : 1;
+    }
+
+    /**
+     * Readies the panel for a new game, with the wheel ready to spin
+     * @param game game to show
+     */
+    public void bind(Game game) {
+        this.game = game;
+        preloadText();
+        getWheelSprites();
+        refresh();
+        startTurn();
+    }
+
+    /**
+     * Readies the wheel for the current player's turn: shows the spin button to a person, or spins for a
+     * computer player after a pause
+     */
+    public void startTurn() {
+        if (game.getCurrentPlayer() instanceof ComputerPlayer) {
+            spinButton.setVisible(false);
+            computerSpinTimer.restart();
+        } else {
+            spinButton.setVisible(true);
+        }
+    }
+
+    /**
+     * Stops the wheel's animation and the guessing and computer timers, without running what they would do when finished
+     */
+    public void reset() {
+        guessingMusicTimer.stop();
+        computerSpinTimer.stop();
+        computerMoveTimer.stop();
+
+        if (spinAnimation != null) {
+            gameCard.ui.getRenderLoop().stop(spinAnimation);
+            spinAnimation = null;
+        }
+    }
+
+    /**
+     * Rasterizes every label the panel can show ahead of time: each segment, each player's turn and the tick
+     */
+    private void preloadText() {
+        TextSpriteCache textSprites = gameCard.ui.getTextSprites();
+        List<String> segmentTexts = new ArrayList<>();
+        List<String> turnTexts = new ArrayList<>();
+
+        for (WheelSegment segment : game.getWheel().getSegments()) {
+            segmentTexts.add(getSegmentText(segment));
+        }
+        for (Player player : game.getPlayerList()) {
+            turnTexts.add(getTurnText(player));
+        }
+
+        double scale = getDisplayScale();
+        textSprites.preload(segmentTexts, SEGMENT_FONT, Color.WHITE, scale);
+        textSprites.preload(turnTexts, TURN_FONT, Color.WHITE, scale);
+        textSprites.get(TICK, TICK_FONT, Color.WHITE, scale);
+    }
+
+    /**
+     * Starts spinning the Wheel of Fortune wheel, animated by the render loop
+     */
+    public void startSpin() {
+        game.startSpin();
+        gameCard.ui.getSE().play(SoundEffectPlayer.WHEEL_SPIN, (int)game.getWheel().getSpinVelocity()*1000);
+        gameCard.ui.getSE().setVolume(0.7f);
+
+        spinAnimation = new RenderLoop.Animation() {
+            @Override
+            public boolean tick() {
+                if (!game.getWheel().isSpinning()) {
+                    return false;
+                }
+
+                game.getWheel().spin();
+                refresh();
+                return true;
+            }
+
+            @Override
+            public void finished() {
+                spinAnimation = null;
+                wheelStopped();
+            }
+        };
+        gameCard.ui.getRenderLoop().play(spinAnimation, null);
+    }
+
+    /**
+     * Runs when wheel velocity hits 0 (the wheel has stopped). Handles what should be done depending on the type of the selected segment.
+     */
+    private void wheelStopped() {
+        int playerIndex = game.getPlayerTurn();
+        Player currentPlayer = game.getCurrentPlayer();
+        WheelSegment segment = game.applySpinResult();
+
+        gameCard.ui.getSE().stop();
+
+        // Handles what should be done depending on segment whel stopped on
+        switch (segment.getType()) {
+            case BANKRUPT:
+                gameCard.ui.getSE().play(SoundEffectPlayer.BAD_SPIN);
+                gameCard.getScoreLabels().get(playerIndex).setText(currentPlayer.getName() + ": £" + currentPlayer.getScore());
+                JOptionPane.showMessageDialog(gameCard, "Oh no! You're bankrupt! Your score has been reset to 0 and you lose your turn!");
+                refresh();
+                startTurn();
+                break;
+            case LOSE_A_TURN:
+                gameCard.ui.getSE().play(SoundEffectPlayer.BAD_SPIN);
+                JOptionPane.showMessageDialog(gameCard, "Oh no! You've lost your turn!");
+                refresh();
+                startTurn();
+                break;
+            case FREE_SPIN:
+                gameCard.ui.getSE().play(SoundEffectPlayer.GOOD_SPIN);
+                JOptionPane.showMessageDialog(gameCard, "You get another spin for free!");
+                startTurn();
+                break;
+            default:
+                gameCard.ui.getSE().play(SoundEffectPlayer.GOOD_SPIN);
+                if (currentPlayer instanceof ComputerPlayer) {
+                    computerMoveTimer.start();
+                } else {
+                    guessingMusicTimer.start();
+                }
+
+        }
+    }
+
+    /**
+     * Repaints the parts of the panel whose content has changed since they were last drawn
+     */
+    public void refresh() {
+        wheelRegion.update(game.getWheel().getCurrentAngle(), WHEEL_X, WHEEL_Y, WHEEL_SIZE, WHEEL_SIZE);
+
+        // Sprites at the display's scale are the ones painted, so their identity tells when a region changed
+        double scale = getDisplayScale();
+        TextSpriteCache.TextSprite segment = getSegmentSprite(scale);
+        int segmentX = segment.getCenteredX(gameCard.getWidth() / 2);
+        segmentRegion.update(segment, segment.getImageX(segmentX), segment.getImageY(SEGMENT_Y),
+                segment.getImageWidth(), segment.getImageHeight());
+
+        TextSpriteCache.TextSprite turn = getTurnSprite(scale);
+        turnRegion.update(turn, turn.getImageX(TURN_X), turn.getImageY(TURN_Y), turn.getImageWidth(), turn.getImageHeight());
+    }
+
+    /**
+     * Paints custom graphics to WheelPanel, drawing only the elements inside the area being repainted
+     *
+     * @param g the <code>Graphics</code> object to protect
+     */
+    public void paintComponent(Graphics g) {
+        Graphics2D g2d = (Graphics2D) g;
+
+        // Makes sure every region's bounds are current, repainting any that changed without a refresh
+        refresh();
+        Rectangle clip = g2d.getClipBounds();
+
+        g2d.drawImage(getStaticLayer(), 0, 0, getWidth(), getHeight(), null);
+
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.setColor(Color.WHITE);
+
+        if (wheelRegion.needsPaint(clip)) {
+            drawWheel(g2d);
+        }
+
+        if (segmentRegion.needsPaint(clip)) {
+            drawSelectedSegment(g2d);
+        }
+
+        if (turnRegion.needsPaint(clip)) {
+            drawPlayerTurn(g2d);
+        }
+    }
+
+    /**
+     * Gets the layer of elements that never change, drawing it again if the panel has been resized or moved to
+     * a display of another scale. The layer is drawn at the display's scale, so it is as sharp as the wheel.
+     *
+     * @return returns an image of the background and tick, to be drawn at the panel's size
+     */
+    private Image getStaticLayer() {
+        int width = Math.max(1, getWidth());
+        int height = Math.max(1, getHeight());
+        double scale = getDisplayScale();
+        int layerWidth = (int) Math.ceil(width * scale);
+        int layerHeight = (int) Math.ceil(height * scale);
+
+        if (staticLayer == null || staticLayer.getWidth(null) != layerWidth || staticLayer.getHeight(null) != layerHeight) {
+            GraphicsConfiguration config = getGraphicsConfiguration();
+            staticLayer = config != null ? config.createCompatibleImage(layerWidth, layerHeight)
+                    : new BufferedImage(layerWidth, layerHeight, BufferedImage.TYPE_INT_RGB);
+
+            Graphics2D g2d = (Graphics2D) staticLayer.getGraphics();
+            g2d.scale(scale, scale);
+            g2d.setColor(getBackground());
+            g2d.fillRect(0, 0, width, height);
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            drawTick(g2d);
+            g2d.dispose();
+        }
+
+        return staticLayer;
+    }
+
+    /**
+     * Draws a tick above the wheel
+     *
+     * @param g2d Graphics2D object from paintComponent
+     */
+    private void drawTick(Graphics2D g2d) {
+        gameCard.ui.getTextSprites().get(TICK, TICK_FONT, Color.WHITE, TextSpriteCache.scaleOf(g2d))
+                .draw(g2d, (WHEEL_X + WHEEL_SIZE / 2) - 8, 140);
+    }
+
+    /**
+     * Draws the wheel of fortune wheel.
+     *
+     * @param g2d Graphics2D object from paintComponent
+     */
+    private void drawWheel(Graphics2D g2d) {
+        // Once the wheel turns less than a sprite step per tick, sprites would stutter, so it is drawn exactly
+        WheelSpriteCache sprites = getWheelSprites();
+        boolean exact = game.getWheel().getSpinVelocity() < sprites.getResolution();
+        sprites.draw(g2d, game.getWheel().getCurrentAngle(), WHEEL_X, WHEEL_Y, exact);
+    }
+
+    /**
+     * Gets the text shown for a segment
+     *
+     * @param segment segment to get the text of
+     * @return returns the segment's value in pounds, or its type if it isn't a money segment
+     */
+    private static String getSegmentText(WheelSegment segment) {
+        return segment.getType() == SegmentType.MONEY ? "£" + segment.getValue() : segment.getTypeAsString();
+    }
+
+    /**
+     * Gets the text shown for a player's turn
+     *
+     * @param player player whose turn it is
+     * @return returns the player's turn text
+     */
+    private static String getTurnText(Player player) {
+        return "Turn: " + player.getName();
+    }
+
+    /**
+     * Gets the sprite of the selected segment's label
+     *
+     * @param scale display scale the sprite is drawn at
+     * @return returns the selected segment's text sprite
+     */
+    private TextSpriteCache.TextSprite getSegmentSprite(double scale) {
+        return gameCard.ui.getTextSprites().get(getSegmentText(game.getWheel().getSelectedSegment()), SEGMENT_FONT, Color.WHITE, scale);
+    }
+
+    /**
+     * Gets the sprite of the current player's turn label
+     *
+     * @param scale display scale the sprite is drawn at
+     * @return returns the turn text sprite
+     */
+    private TextSpriteCache.TextSprite getTurnSprite(double scale) {
+        return gameCard.ui.getTextSprites().get(getTurnText(game.getPlayerList().get(game.getPlayerTurn())), TURN_FONT, Color.WHITE, scale);
+    }
+
+    /**
+     * Draws the selected segment of the wheel of fortune
+     *
+     * @param g2d Graphics2D object from paintComponent
+     */
+    private void drawSelectedSegment(Graphics2D g2d) {
+        getSegmentSprite(TextSpriteCache.scaleOf(g2d)).drawCentered(g2d, gameCard.getWidth() / 2, SEGMENT_Y);
+    }
+
+    /**
+     * Draws the player whose turn it is
+     *
+     * @param g2d Graphics2D object from paintComponent
+     */
+    private void drawPlayerTurn(Graphics2D g2d) {
+        getTurnSprite(TextSpriteCache.scaleOf(g2d)).draw(g2d, TURN_X, TURN_Y);
+    }
+}
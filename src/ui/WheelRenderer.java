@@ -0,0 +1,229 @@
+package ui;
+
+import game.SegmentType;
+import game.WheelSegment;
+
+import java.awt.*;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Draws the wheel from its segments, so the picture always matches the wheel the game spins, rather than
+ * from a fixed image. Each segment is a colored wedge labelled with its value or type. The drawing is cached
+ * and only redrawn when the segments or the display scale change, and it is drawn at the display's scale so
+ * it stays sharp on HiDPI screens.
+ *
+ * <p>Segment i sits at the pointer while the wheel's angle is between i and i + 1 segment widths, matching
+ * {@link game.Wheel#segmentAt(double)}. The wheel turns clockwise as its angle grows, so segments follow one
+ * another anticlockwise from the top.</p>
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class WheelRenderer {
+
+    //Declares class fields
+    // Colors of money segments, taken in turn around the wheel.
+    private static final Color[] MONEY_COLORS = {
+            new Color(0xE5, 0x39, 0x35), new Color(0xFB, 0x8C, 0x00), new Color(0xFD, 0xD8, 0x35),
+            new Color(0x43, 0xA0, 0x47), new Color(0x00, 0xAC, 0xC1), new Color(0x5C, 0x9D, 0xF5),
+            new Color(0xAB, 0x47, 0xBC), new Color(0xEC, 0x40, 0x7A)};
+    private static final Color FREE_SPIN_COLOR = new Color(0xC0, 0xCA, 0x33);
+    private static final Color RIM_COLOR = new Color(0xB0, 0xB0, 0xB0);
+    private static final String LABEL_FONT = "Serif";
+    // Gap between the rim and the start of a label, and the sizes of the hub and its centre, as fractions of the radius.
+    private static final double LABEL_INSET = 0.05;
+    private static final double HUB_RADIUS = 0.17;
+    private static final double HUB_CENTRE_RADIUS = 0.11;
+
+    private final int diameter;
+    private List<WheelSegment> renderedSegments = List.of();
+    private double renderedScale;
+    private BufferedImage image;
+
+    /**
+     * Initializes wheel renderer
+     * @param diameter diameter of the wheel on screen, in logical pixels
+     */
+    public WheelRenderer(int diameter) {
+        this.diameter = diameter;
+    }
+
+    /**
+     * Gets the wheel drawn at a display scale, drawing it again only if the segments or scale have changed
+     * @param segments segments of the wheel, in order
+     * @param scale display scale, the number of device pixels per logical pixel
+     * @return returns an image of the wheel at angle 0, scale times the diameter across
+     */
+    public BufferedImage render(List<WheelSegment> segments, double scale) {
+        if (image == null || scale != renderedScale || !sameSegments(segments)) {
+            image = draw(segments, scale);
+            renderedSegments = new ArrayList<>(segments);
+            renderedScale = scale;
+        }
+        return image;
+    }
+
+    /**
+     * Checks whether segments are the ones last drawn
+     * @param segments segments of the wheel
+     * @return returns true if every segment has the same type and value as last drawn
+     */
+    private boolean sameSegments(List<WheelSegment> segments) {
+        if (segments.size() != renderedSegments.size()) return false;
+
+        for (int i = 0; i < segments.size(); i++) {
+            WheelSegment segment = segments.get(i);
+            WheelSegment rendered = renderedSegments.get(i);
+            if (segment != rendered && (segment.getType() != rendered.getType() || segment.getValue() != rendered.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Draws the wheel into a new image
+     * @param segments segments of the wheel
+     * @param scale display scale
+     * @return returns the image of the wheel
+     */
+    private BufferedImage draw(List<WheelSegment> segments, double scale) {
+        int size = (int) Math.ceil(diameter * scale);
+        BufferedImage wheel = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g2d = wheel.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+        g2d.scale(scale, scale);
+
+        double radius = diameter / 2d;
+        double span = 360d / segments.size();
+        double rim = radius - 2;
+
+        // Wedges, anticlockwise from the top
+        for (int i = 0; i < segments.size(); i++) {
+            g2d.setColor(getSegmentColor(segments.get(i), i));
+            g2d.fill(new Arc2D.Double(radius - rim, radius - rim, 2 * rim, 2 * rim, 90 + i * span, span, Arc2D.PIE));
+        }
+
+        // Lines between wedges
+        g2d.setColor(Color.DARK_GRAY);
+        g2d.setStroke(new BasicStroke(1f));
+        for (int i = 0; i < segments.size(); i++) {
+            double theta = Math.toRadians(90 + i * span);
+            g2d.draw(new Line2D.Double(radius, radius, radius + rim * Math.cos(theta), radius - rim * Math.sin(theta)));
+        }
+
+        for (int i = 0; i < segments.size(); i++) {
+            drawLabel(g2d, segments.get(i), radius, rim, -(i + 0.5) * span, span);
+        }
+
+        // Rim and hub
+        g2d.setColor(RIM_COLOR);
+        g2d.setStroke(new BasicStroke(4f));
+        g2d.draw(new Ellipse2D.Double(radius - rim, radius - rim, 2 * rim, 2 * rim));
+        double hub = radius * HUB_RADIUS;
+        g2d.fill(new Ellipse2D.Double(radius - hub, radius - hub, 2 * hub, 2 * hub));
+        double centre = radius * HUB_CENTRE_RADIUS;
+        g2d.setColor(Color.BLACK);
+        g2d.fill(new Ellipse2D.Double(radius - centre, radius - centre, 2 * centre, 2 * centre));
+
+        g2d.dispose();
+        return wheel;
+    }
+
+    /**
+     * Draws a segment's label along the middle of its wedge, reading from the rim inwards. Money values are
+     * stacked a digit at a time, as on the show; words are written along the radius.
+     * @param g2d Graphics2D object of the wheel image
+     * @param segment segment to label
+     * @param radius radius of the wheel
+     * @param rim radius of the wedges
+     * @param angle clockwise angle of the middle of the wedge from the top, in degrees
+     * @param span angle of the wedge in degrees
+     */
+    private void drawLabel(Graphics2D g2d, WheelSegment segment, double radius, double rim, double angle, double span) {
+        Graphics2D label = (Graphics2D) g2d.create();
+        label.translate(radius, radius);
+        label.rotate(Math.toRadians(angle));
+        label.setColor(getLabelColor(segment));
+
+        double top = rim * (1 - LABEL_INSET);
+        double chord = 2 * top * Math.sin(Math.toRadians(span / 2));
+
+        if (segment.getType() == SegmentType.MONEY) {
+            String digits = String.valueOf(segment.getValue());
+            Font font = new Font(LABEL_FONT, Font.BOLD, (int) Math.max(8, chord * 0.6));
+            label.setFont(font);
+            FontMetrics fm = label.getFontMetrics();
+            double lineHeight = fm.getAscent() * 0.95;
+
+            for (int i = 0; i < digits.length(); i++) {
+                String digit = digits.substring(i, i + 1);
+                label.drawString(digit, (float) (-fm.stringWidth(digit) / 2d), (float) (-top + fm.getAscent() + i * lineHeight));
+            }
+        } else {
+            String text = segment.getTypeAsString().toUpperCase();
+            double length = top - radius * HUB_RADIUS - 6;
+            int fontSize = (int) Math.max(6, chord * 0.45);
+            Font font = new Font(LABEL_FONT, Font.BOLD, fontSize);
+            FontMetrics fm = label.getFontMetrics(font);
+
+            // Shrinks the words until they fit between the rim and the hub
+            while (fontSize > 6 && fm.stringWidth(text) > length) {
+                font = new Font(LABEL_FONT, Font.BOLD, --fontSize);
+                fm = label.getFontMetrics(font);
+            }
+
+            label.setFont(font);
+            label.rotate(Math.PI / 2);
+            label.drawString(text, (float) -top, (float) ((fm.getAscent() - fm.getDescent()) / 2d));
+        }
+
+        label.dispose();
+    }
+
+    /**
+     * Gets the color of a segment's wedge
+     * @param segment segment to color
+     * @param index position of the segment on the wheel
+     * @return returns the wedge color
+     */
+    private static Color getSegmentColor(WheelSegment segment, int index) {
+        switch (segment.getType()) {
+            case BANKRUPT:
+                return Color.BLACK;
+            case LOSE_A_TURN:
+                return Color.WHITE;
+            case FREE_SPIN:
+                return FREE_SPIN_COLOR;
+            default:
+                return MONEY_COLORS[index % MONEY_COLORS.length];
+        }
+    }
+
+    /**
+     * Gets the color of a segment's label
+     * @param segment segment to label
+     * @return returns white on black wedges, black otherwise
+     */
+    private static Color getLabelColor(WheelSegment segment) {
+        return segment.getType() == SegmentType.BANKRUPT ? Color.WHITE : Color.BLACK;
+    }
+
+    //------------------ GETTERS AND SETTERS ---------------------//
+
+    /**
+     * Gets the diameter of the wheel on screen
+     * @return returns the diameter in logical pixels
+     */
+    public int getDiameter() {
+        return diameter;
+    }
+}
@@ -0,0 +1,243 @@
+package ui;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Cache of the wheel image pre-rendered at evenly spaced angles, so drawing a spinning wheel is a plain blit
+ * instead of resampling the whole image through a rotation every frame. Sprites are rendered on a background
+ * thread, either when an angle is first drawn or all at once by {@link #prerenderAll()}. Angles without a
+ * sprite yet are drawn with live rotation.
+ *
+ * <p>A spinning wheel passes through every angle in turn, so any sprite evicted to make room would be one of the
+ * next needed. Rather than evicting, the angles are spaced out until a sprite for every one of them fits under the
+ * memory cap, which at a high display scale means fewer, wider-spaced angles. If not even one sprite fits, the
+ * wheel is always rotated live.</p>
+ *
+ * @author Matthew Ritchie
+ * @version 1.0
+ */
+public class WheelSpriteCache {
+
+    //Declares class fields
+    private final BufferedImage wheelImage;
+    // Image pixels per pixel drawn, above 1 for images drawn at a HiDPI display's scale.
+    private final double scale;
+    // Size the wheel is drawn at.
+    private final int drawWidth;
+    private final int drawHeight;
+    private final double resolution;
+    private final int steps;
+    private final long spriteBytes;
+    // Sprites by step index, null until rendered.
+    private final Image[] sprites;
+    private int spriteCount;
+    private final Set<Integer> pending = new HashSet<>();
+    private final ExecutorService renderer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "wheel-sprites");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    /**
+     * Initializes sprite cache
+     * @param wheelImage image of the wheel at angle 0
+     * @param resolution finest degrees between pre-rendered angles, made coarser if the sprites wouldn't fit
+     * @param maxBytes most memory sprites may take up
+     */
+    public WheelSpriteCache(BufferedImage wheelImage, double resolution, long maxBytes) {
+        this(wheelImage, 1, resolution, maxBytes);
+    }
+
+    /**
+     * Initializes sprite cache for a wheel image drawn at a display scale
+     * @param wheelImage image of the wheel at angle 0
+     * @param scale image pixels per pixel drawn, so the wheel is drawn scale times smaller than the image
+     * @param resolution finest degrees between pre-rendered angles, made coarser if the sprites wouldn't fit
+     * @param maxBytes most memory sprites may take up
+     */
+    public WheelSpriteCache(BufferedImage wheelImage, double scale, double resolution, long maxBytes) {
+        this.wheelImage = wheelImage;
+        this.scale = scale;
+        this.drawWidth = (int) Math.round(wheelImage.getWidth() / scale);
+        this.drawHeight = (int) Math.round(wheelImage.getHeight() / scale);
+        this.spriteBytes = 4L * wheelImage.getWidth() * wheelImage.getHeight();
+        this.steps = (int) Math.min(Math.max(1, Math.round(360 / resolution)), maxBytes / spriteBytes);
+        this.resolution = steps > 0 ? 360d / steps : 360;
+        this.sprites = new Image[steps];
+    }
+
+    /**
+     * Draws the wheel rotated to an angle. Blits the sprite for the nearest pre-rendered angle if there is one,
+     * otherwise rotates the wheel image live and queues the sprite to be rendered.
+     * @param g2d Graphics2D object to draw to
+     * @param angle angle of the wheel in degrees
+     * @param x x position of the wheel's top left corner
+     * @param y y position of the wheel's top left corner
+     * @param exact true to always rotate live to the exact angle
+     */
+    public void draw(Graphics2D g2d, double angle, int x, int y, boolean exact) {
+        if (!exact && steps > 0) {
+            int step = stepOf(angle);
+            Image sprite;
+
+            synchronized (this) {
+                sprite = sprites[step];
+                if (sprite == null) queue(step);
+            }
+
+            if (sprite != null) {
+                if (scale == 1) {
+                    g2d.drawImage(sprite, x, y, null);
+                } else {
+                    g2d.drawImage(sprite, x, y, drawWidth, drawHeight, null);
+                }
+                return;
+            }
+        }
+
+        drawRotated(g2d, angle, x, y);
+    }
+
+    /**
+     * Queues every angle to be rendered in the background
+     */
+    public synchronized void prerenderAll() {
+        for (int step = 0; step < steps; step++) {
+            if (sprites[step] == null) queue(step);
+        }
+    }
+
+    /**
+     * Queues a sprite to be rendered, unless it already is
+     * @param step step index of the sprite
+     */
+    private void queue(int step) {
+        if (!renderer.isShutdown() && pending.add(step)) {
+            renderer.execute(() -> render(step));
+        }
+    }
+
+    /**
+     * Renders a sprite and adds it to the cache
+     * @param step step index of the sprite
+     */
+    private void render(int step) {
+        BufferedImage sprite = createSprite();
+        Graphics2D g2d = sprite.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.scale(scale, scale);
+        drawRotated(g2d, step * resolution, 0, 0);
+        g2d.dispose();
+
+        synchronized (this) {
+            // Dropped if the cache was closed while it rendered
+            if (pending.remove(step) && sprites[step] == null) {
+                sprites[step] = sprite;
+                spriteCount++;
+            }
+        }
+    }
+
+    /**
+     * Creates an empty sprite, in the screen's format if there is a screen so blits need no conversion
+     * @return returns the empty sprite
+     */
+    private BufferedImage createSprite() {
+        int width = wheelImage.getWidth();
+        int height = wheelImage.getHeight();
+
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration()
+                .createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+    }
+
+    /**
+     * Draws the wheel image rotated about its centre
+     * @param g2d Graphics2D object to draw to
+     * @param angle angle of the wheel in degrees
+     * @param x x position of the wheel's top left corner
+     * @param y y position of the wheel's top left corner
+     */
+    private void drawRotated(Graphics2D g2d, double angle, int x, int y) {
+        AffineTransform ar = new AffineTransform();
+        ar.translate(x, y);
+        ar.scale(1 / scale, 1 / scale);
+        ar.rotate(Math.toRadians(angle), wheelImage.getWidth() / 2d, wheelImage.getHeight() / 2d);
+        g2d.drawImage(wheelImage, ar, null);
+    }
+
+    /**
+     * Gets the step index of the pre-rendered angle nearest an angle
+     * @param angle angle in degrees
+     * @return returns the step index
+     */
+    private int stepOf(double angle) {
+        int step = (int) Math.round(angle / resolution) % steps;
+        return step < 0 ? step + steps : step;
+    }
+
+    /**
+     * Stops rendering sprites and drops every cached sprite
+     */
+    public synchronized void close() {
+        renderer.shutdownNow();
+        Arrays.fill(sprites, null);
+        spriteCount = 0;
+        pending.clear();
+    }
+
+    //------------------ GETTERS AND SETTERS ---------------------//
+
+    /**
+     * Gets the image the sprites are rendered from
+     * @return returns the wheel image
+     */
+    public BufferedImage getWheelImage() {
+        return wheelImage;
+    }
+
+    /**
+     * Gets the degrees between pre-rendered angles, coarser than asked for if the sprites wouldn't otherwise fit
+     * @return returns the angular resolution in degrees
+     */
+    public double getResolution() {
+        return resolution;
+    }
+
+    /**
+     * Gets the number of sprites rendered so far
+     * @return returns the number of cached sprites
+     */
+    public synchronized int getSpriteCount() {
+        return spriteCount;
+    }
+
+    /**
+     * Gets the number of pre-rendered angles
+     * @return returns the number of sprites the cache holds once every angle is rendered
+     */
+    public int getSteps() {
+        return steps;
+    }
+
+    /**
+     * Gets the memory taken up by cached sprites
+     * @return returns the approximate size of the cached sprites in bytes
+     */
+    public synchronized long getSpriteBytes() {
+        return spriteCount * spriteBytes;
+    }
+}